@@ -15,7 +15,6 @@
  */
 package org.wso2.integrationstudio.artifact.dataservice.model;
 
-import java.sql.DatabaseMetaData;
 import java.util.EnumSet;
 import java.util.Map;
 
@@ -27,7 +26,7 @@ public class GenerateDataServiceModel extends ProjectDataModel{
     private String datasource;
     private Map<String, EnumSet<Methods>> tables;
     private boolean isGenerateSingleService = true;
-    private DatabaseMetaData metadata;
+    private SchemaSnapshot schemaSnapshot;
     private String serviceName;
     
     public String getDatasource() {
@@ -48,11 +47,11 @@ public class GenerateDataServiceModel extends ProjectDataModel{
     public void setGenerateSingleService(boolean isGenerateSingleService) {
         this.isGenerateSingleService = isGenerateSingleService;
     }
-    public DatabaseMetaData getMetadata() {
-        return metadata;
+    public SchemaSnapshot getSchemaSnapshot() {
+        return schemaSnapshot;
     }
-    public void setMetadata(DatabaseMetaData metadata) {
-        this.metadata = metadata;
+    public void setSchemaSnapshot(SchemaSnapshot schemaSnapshot) {
+        this.schemaSnapshot = schemaSnapshot;
     }
     public String getServiceName() {
         return serviceName;
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.artifact.dataservice.model;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tables, columns and primary keys of a database schema, read once when tables are fetched in the generate data
+ * services wizard and used both to list the tables and to generate their queries.
+ *
+ * Columns are read with a single wildcard query for the whole schema and grouped by table in memory. Primary keys
+ * are read the same way when the driver supports it, otherwise one table at a time.
+ */
+public class SchemaSnapshot {
+
+    private static final String TABLE_NAME = "TABLE_NAME";
+    private static final String COLUMN_NAME = "COLUMN_NAME";
+    private static final String DATA_TYPE = "DATA_TYPE";
+    private static final String AUTOINCREMENT_COLUMN = "IS_AUTOINCREMENT";
+    private static final String IDENTITY_COLUMN = "Identity";
+    private static final String IS_AUTOINCREMENT = "YES";
+    private static final String ORACLE = "Oracle";
+    private static final String ORACLE_PRIMARY_KEYS_QUERY = "SELECT cols.table_name, cols.column_name "
+            + "FROM all_constraints cons, all_cons_columns cols "
+            + "WHERE cons.constraint_type = 'P' AND cons.owner = ? AND cols.owner = cons.owner "
+            + "AND cols.constraint_name = cons.constraint_name "
+            + "ORDER BY cols.table_name, cols.position";
+
+    private final Map<String, List<Column>> columns = new LinkedHashMap<String, List<Column>>();
+    private final Map<String, List<String>> primaryKeys = new LinkedHashMap<String, List<String>>();
+    private boolean readOnly;
+
+    private SchemaSnapshot() {
+    }
+
+    /**
+     * Reads the tables of a schema along with their columns and primary keys.
+     *
+     * @param connection connection to the database
+     * @param catalog catalog of the tables, null for any
+     * @param schema schema of the tables, null for any
+     * @return snapshot of the schema
+     * @throws SQLException if the metadata of the database cannot be read
+     */
+    public static SchemaSnapshot read(Connection connection, String catalog, String schema) throws SQLException {
+        SchemaSnapshot snapshot = new SchemaSnapshot();
+        DatabaseMetaData metadata = connection.getMetaData();
+        snapshot.readOnly = metadata.isReadOnly();
+        try (ResultSet rs = metadata.getTables(catalog, schema, "%", new String[] { "TABLE" })) {
+            while (rs.next()) {
+                String tableName = rs.getString(TABLE_NAME);
+                snapshot.columns.put(tableName, new ArrayList<Column>());
+                snapshot.primaryKeys.put(tableName, new ArrayList<String>());
+            }
+        }
+        snapshot.readColumns(metadata, catalog, schema);
+        if (!snapshot.columns.isEmpty()) {
+            snapshot.readPrimaryKeys(connection, metadata, catalog, schema);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return names of the tables, in the order the database lists them
+     */
+    public Set<String> getTables() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * @param table name of a table
+     * @return columns of the table in their declared order, empty if the table is unknown
+     */
+    public List<Column> getColumns(String table) {
+        List<Column> tableColumns = columns.get(table);
+        return tableColumns == null ? Collections.<Column> emptyList() : Collections.unmodifiableList(tableColumns);
+    }
+
+    /**
+     * @param table name of a table
+     * @return names of the primary key columns of the table, empty if it has none
+     */
+    public List<String> getPrimaryKeys(String table) {
+        List<String> tableKeys = primaryKeys.get(table);
+        return tableKeys == null ? Collections.<String> emptyList() : Collections.unmodifiableList(tableKeys);
+    }
+
+    public boolean hasPrimaryKey(String table) {
+        return !getPrimaryKeys(table).isEmpty();
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void readColumns(DatabaseMetaData metadata, String catalog, String schema) throws SQLException {
+        try (ResultSet rs = metadata.getColumns(catalog, schema, "%", "%")) {
+            boolean hasAutoIncrement = hasColumn(rs, AUTOINCREMENT_COLUMN);
+            boolean hasIdentity = hasColumn(rs, IDENTITY_COLUMN);
+            while (rs.next()) {
+                List<Column> tableColumns = columns.get(rs.getString(TABLE_NAME));
+                if (tableColumns == null) {
+                    // Views and system tables are listed as well
+                    continue;
+                }
+                boolean autoIncrement = false;
+                if (hasAutoIncrement) {
+                    autoIncrement = IS_AUTOINCREMENT.equalsIgnoreCase(rs.getString(AUTOINCREMENT_COLUMN));
+                }
+                if (!autoIncrement && hasIdentity) {
+                    autoIncrement = rs.getBoolean(IDENTITY_COLUMN);
+                }
+                tableColumns.add(new Column(rs.getString(COLUMN_NAME), rs.getInt(DATA_TYPE), autoIncrement));
+            }
+        }
+    }
+
+    private void readPrimaryKeys(Connection connection, DatabaseMetaData metadata, String catalog, String schema) {
+        // The table name of getPrimaryKeys is not a pattern and some drivers do not accept null for it
+        try {
+            if (ORACLE.equalsIgnoreCase(metadata.getDatabaseProductName()) && schema != null) {
+                if (readOraclePrimaryKeys(connection, schema)) {
+                    return;
+                }
+            } else if (readPrimaryKeys(metadata, catalog, schema, null)) {
+                return;
+            }
+        } catch (SQLException e) {
+            // Read them one table at a time below
+        }
+        for (Map.Entry<String, List<String>> tableKeys : primaryKeys.entrySet()) {
+            tableKeys.getValue().clear();
+            try {
+                readPrimaryKeys(metadata, catalog, schema, tableKeys.getKey());
+            } catch (SQLException e) {
+                // The table is listed without primary key, as when it has none
+            }
+        }
+    }
+
+    private boolean readPrimaryKeys(DatabaseMetaData metadata, String catalog, String schema, String table)
+            throws SQLException {
+        boolean found = false;
+        try (ResultSet rs = metadata.getPrimaryKeys(catalog, schema, table)) {
+            while (rs.next()) {
+                found |= addPrimaryKey(rs.getString(TABLE_NAME), rs.getString(COLUMN_NAME));
+            }
+        }
+        return found;
+    }
+
+    private boolean readOraclePrimaryKeys(Connection connection, String schema) throws SQLException {
+        boolean found = false;
+        try (PreparedStatement statement = connection.prepareStatement(ORACLE_PRIMARY_KEYS_QUERY)) {
+            statement.setString(1, schema);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    found |= addPrimaryKey(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean addPrimaryKey(String table, String column) {
+        List<String> tableKeys = primaryKeys.get(table);
+        if (tableKeys == null) {
+            return false;
+        }
+        tableKeys.add(column);
+        return true;
+    }
+
+    private static boolean hasColumn(ResultSet rs, String name) throws SQLException {
+        ResultSetMetaData rsMetadata = rs.getMetaData();
+        for (int i = 1; i <= rsMetadata.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(rsMetadata.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Column of a table.
+     */
+    public static class Column {
+
+        private final String name;
+        private final int type;
+        private final boolean autoIncrement;
+
+        Column(String name, int type, boolean autoIncrement) {
+            this.name = name;
+            this.type = type;
+            this.autoIncrement = autoIncrement;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return SQL type of the column, from {@link java.sql.Types}
+         */
+        public int getType() {
+            return type;
+        }
+
+        public boolean isAutoIncrement() {
+            return autoIncrement;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.integrationstudio.artifact.dataservice.ui.wizard;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.wso2.integrationstudio.artifact.dataservice.model.SchemaSnapshot;
+import org.wso2.integrationstudio.artifact.dataservice.model.SchemaSnapshot.Column;
+import org.wso2.integrationstudio.artifact.dataservice.ui.wizard.GenerateDataServicesUtils.Methods;
+
+/**
+ * Writes the .dbs file of a data service generated from the tables of a database.
+ *
+ * The file is written with a StAX writer as the queries and resources of each table are generated, rather than
+ * built as a whole in memory first. When there are many tables, the queries and resources of each table are
+ * generated in parallel and written in the order of the given tables, so the file is the same either way.
+ */
+public class DataServiceGenerator {
+
+    private static final String WSO2_DS_NAMESPACE = "http://ws.wso2.org/dataservice";
+    private static final String INDENT = "    ";
+    private static final int PARALLEL_THRESHOLD = 32;
+
+    private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+    private final SchemaSnapshot snapshot;
+    private final String datasource;
+
+    /**
+     * @param snapshot columns and primary keys of the tables
+     * @param datasource name of the carbon datasource the service uses
+     */
+    public DataServiceGenerator(SchemaSnapshot snapshot, String datasource) {
+        this.snapshot = snapshot;
+        this.datasource = datasource;
+    }
+
+    /**
+     * Writes a data service exposing the given tables. The service is written to a temporary file first, which
+     * then replaces the given file, so that a failed generation does not leave a partial file behind.
+     *
+     * @param file .dbs file to write
+     * @param serviceName name of the service
+     * @param description description of the service
+     * @param tables tables to expose along with the methods to generate for each of them
+     * @throws IOException if the file cannot be written
+     * @throws XMLStreamException if the service cannot be generated
+     */
+    public void write(File file, String serviceName, String description, Map<String, EnumSet<Methods>> tables)
+            throws IOException, XMLStreamException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        File tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            writeService(tempFile, serviceName, description, tables);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private void writeService(File file, String serviceName, String description,
+            Map<String, EnumSet<Methods>> tables) throws IOException, XMLStreamException {
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            IndentingWriter writer = new IndentingWriter(createWriter(out), 0);
+            writer.startElement("data");
+            writer.attribute("disableLegacyBoxcarringMode", "false");
+            writer.attribute("enableBatchRequests", "false");
+            writer.attribute("enableBoxcarring", "false");
+            writer.attribute("name", serviceName);
+            writer.attribute("serviceNamespace", WSO2_DS_NAMESPACE);
+            writer.attribute("serviceStatus", "active");
+            writer.attribute("transports", "http https");
+            writer.textElement("description", description);
+            writer.startElement("config");
+            writer.attribute("id", "default");
+            writer.startElement("property");
+            writer.attribute("name", "carbon_datasource_name");
+            writer.characters(datasource);
+            writer.endElement();
+            writer.endElement();
+            writer.flush();
+            if (tables.size() < PARALLEL_THRESHOLD) {
+                for (Map.Entry<String, EnumSet<Methods>> entry : tables.entrySet()) {
+                    out.write(generateTable(entry.getKey(), entry.getValue()));
+                }
+            } else {
+                writeInParallel(out, tables);
+            }
+            writer.endElement();
+            writer.flush();
+            out.write(System.lineSeparator());
+        }
+    }
+
+    private void writeInParallel(Writer out, Map<String, EnumSet<Methods>> tables)
+            throws IOException, XMLStreamException {
+        int threads = Math.max(1, Math.min(tables.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> fragments = new ArrayList<Future<String>>();
+            for (final Map.Entry<String, EnumSet<Methods>> entry : tables.entrySet()) {
+                fragments.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws XMLStreamException {
+                        return generateTable(entry.getKey(), entry.getValue());
+                    }
+                }));
+            }
+            // Fragments are written as soon as they and all the ones before them are ready
+            for (Future<String> fragment : fragments) {
+                out.write(fragment.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating the data service", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof XMLStreamException) {
+                throw (XMLStreamException) e.getCause();
+            }
+            throw new XMLStreamException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the queries and resources of a table, indented to be written as children of the data element.
+     */
+    private String generateTable(String table, EnumSet<Methods> methods) throws XMLStreamException {
+        Map<String, String> columnsList = new HashMap<String, String>();
+        Map<String, String> primaryKeys = new HashMap<String, String>();
+        Map<String, String> autoIncrementFeilds = new HashMap<String, String>();
+        StringBuilder columnNames = new StringBuilder();
+        for (Column column : snapshot.getColumns(table)) {
+            String name = column.getName();
+            String sqlType = getSQLType(column.getType());
+            if (column.isAutoIncrement()) {
+                autoIncrementFeilds.put(name, sqlType);
+                continue;
+            }
+            columnsList.put(name, sqlType);
+            columnNames.append(columnNames.length() == 0 ? " " : ", ").append(name);
+        }
+        for (String name : snapshot.getPrimaryKeys(table)) {
+            String sqlType = columnsList.get(name);
+            if (sqlType == null) {
+                sqlType = autoIncrementFeilds.get(name);
+            }
+            primaryKeys.put(name, sqlType);
+        }
+
+        StringWriter fragment = new StringWriter();
+        IndentingWriter writer = new IndentingWriter(createWriter(fragment), 1);
+        if (methods.contains(Methods.GET)) {
+            writeSelectAllDefinition(writer, table, columnNames.toString(), columnsList);
+        }
+        if (methods.contains(Methods.POST)) {
+            writeInsertDefinition(writer, table, columnsList);
+        }
+        if (methods.contains(Methods.PUT)) {
+            writeUpdateDefinition(writer, table, columnsList, primaryKeys);
+        }
+        if (methods.contains(Methods.DELETE)) {
+            writeDeleteDefinition(writer, table, primaryKeys);
+        }
+        writer.flush();
+        return fragment.toString();
+    }
+
+    private void writeSelectAllDefinition(IndentingWriter writer, String table, String columnNameString,
+            Map<String, String> columnsList) throws XMLStreamException {
+        writer.startElement("query");
+        writer.attribute("id", "select_all_" + table + "_query");
+        writer.attribute("useConfig", "default");
+        writer.textElement("sql", GenerateDataServicesUtils.getSelectAll(table, "", columnNameString));
+        writer.startElement("result", columnsList.isEmpty());
+        writer.attribute("element", table + "Collection");
+        writer.attribute("rowName", table);
+        for (Map.Entry<String, String> column : columnsList.entrySet()) {
+            writer.startElement("element", true);
+            writer.attribute("column", column.getKey());
+            writer.attribute("name", column.getKey());
+            writer.attribute("xsdType", "xs:" + column.getValue().toLowerCase(Locale.ENGLISH));
+        }
+        if (!columnsList.isEmpty()) {
+            writer.endElement();
+        }
+        writer.endElement();
+
+        writer.startElement("resource");
+        writer.attribute("method", "GET");
+        writer.attribute("path", table);
+        writer.startElement("call-query", true);
+        writer.attribute("href", "select_all_" + table + "_query");
+        writer.endElement();
+    }
+
+    private void writeInsertDefinition(IndentingWriter writer, String table, Map<String, String> columnsList)
+            throws XMLStreamException {
+        List<String> columns = new ArrayList<String>(columnsList.keySet());
+        writer.startElement("query");
+        writer.attribute("id", "insert_" + table + "_query");
+        writer.attribute("useConfig", "default");
+        writer.textElement("sql", GenerateDataServicesUtils.getInsertStatement(table, "", columns));
+        writeParams(writer, columns, columnsList, 1);
+        writer.endElement();
+
+        writer.startElement("resource");
+        writer.attribute("method", "POST");
+        writer.attribute("path", table);
+        writeCallQuery(writer, "insert_" + table + "_query", columns);
+        writer.endElement();
+    }
+
+    private void writeUpdateDefinition(IndentingWriter writer, String table, Map<String, String> columnsList,
+            Map<String, String> primaryKeys) throws XMLStreamException {
+        List<String> columns = new ArrayList<String>(columnsList.keySet());
+        List<String> keys = new ArrayList<String>(primaryKeys.keySet());
+        List<String> params = new ArrayList<String>();
+        for (String column : columns) {
+            if (!primaryKeys.containsKey(column)) {
+                params.add(column);
+            }
+        }
+        writer.startElement("query");
+        writer.attribute("id", "update_" + table + "_query");
+        writer.attribute("useConfig", "default");
+        writer.textElement("sql", GenerateDataServicesUtils.getUpdateStatement(table, "", columns, keys));
+        writeParams(writer, params, columnsList, 1);
+        writeParams(writer, keys, primaryKeys, params.size() + 1);
+        writer.endElement();
+
+        params.addAll(keys);
+        writer.startElement("resource");
+        writer.attribute("method", "PUT");
+        writer.attribute("path", table);
+        writeCallQuery(writer, "update_" + table + "_query", params);
+        writer.endElement();
+    }
+
+    private void writeDeleteDefinition(IndentingWriter writer, String table, Map<String, String> primaryKeys)
+            throws XMLStreamException {
+        List<String> keys = new ArrayList<String>(primaryKeys.keySet());
+        writer.startElement("query");
+        writer.attribute("id", "delete_" + table + "_query");
+        writer.attribute("useConfig", "default");
+        writer.textElement("sql", GenerateDataServicesUtils.getDeleteStatement(table, "", keys));
+        writeParams(writer, keys, primaryKeys, 1);
+        writer.endElement();
+
+        writer.startElement("resource");
+        writer.attribute("method", "DELETE");
+        writer.attribute("path", table);
+        writeCallQuery(writer, "delete_" + table + "_query", keys);
+        writer.endElement();
+    }
+
+    private void writeParams(IndentingWriter writer, List<String> names, Map<String, String> sqlTypes, int ordinal)
+            throws XMLStreamException {
+        for (String name : names) {
+            writer.startElement("param", true);
+            writer.attribute("name", name);
+            writer.attribute("ordinal", Integer.toString(ordinal++));
+            writer.attribute("paramType", "SCALAR");
+            writer.attribute("sqlType", sqlTypes.get(name));
+            writer.attribute("type", "IN");
+        }
+    }
+
+    private void writeCallQuery(IndentingWriter writer, String query, List<String> params)
+            throws XMLStreamException {
+        writer.startElement("call-query", params.isEmpty());
+        writer.attribute("href", query);
+        for (String param : params) {
+            writer.startElement("with-param", true);
+            writer.attribute("name", param);
+            writer.attribute("query-param", param);
+        }
+        if (!params.isEmpty()) {
+            writer.endElement();
+        }
+    }
+
+    private static String getSQLType(int type) {
+        if ((-1 == type) || (-16 == type) || (-15 == type)
+                || (2009 == type) || (1111 == type)) {
+            type = 1;
+        }
+        return GenerateDataServicesUtils.getDefinedTypes().get(type);
+    }
+
+    private static XMLStreamWriter createWriter(Writer out) throws XMLStreamException {
+        synchronized (outputFactory) {
+            return outputFactory.createXMLStreamWriter(out);
+        }
+    }
+
+    /**
+     * Writes each element on its own line, indented by its depth, and elements holding only text on a single line.
+     */
+    private static class IndentingWriter {
+
+        private final XMLStreamWriter writer;
+        private int depth;
+        private boolean hasChildren;
+
+        IndentingWriter(XMLStreamWriter writer, int depth) {
+            this.writer = writer;
+            this.depth = depth;
+        }
+
+        void startElement(String name) throws XMLStreamException {
+            startElement(name, false);
+        }
+
+        /**
+         * @param empty whether the element has no content, in which case it must not be ended
+         */
+        void startElement(String name, boolean empty) throws XMLStreamException {
+            if (depth > 0) {
+                newLine();
+            }
+            if (empty) {
+                writer.writeEmptyElement(name);
+                hasChildren = true;
+            } else {
+                writer.writeStartElement(name);
+                depth++;
+                hasChildren = false;
+            }
+        }
+
+        void attribute(String name, String value) throws XMLStreamException {
+            writer.writeAttribute(name, value);
+        }
+
+        void characters(String text) throws XMLStreamException {
+            writer.writeCharacters(text);
+        }
+
+        void textElement(String name, String text) throws XMLStreamException {
+            if (depth > 0) {
+                newLine();
+            }
+            writer.writeStartElement(name);
+            writer.writeCharacters(text);
+            writer.writeEndElement();
+            hasChildren = true;
+        }
+
+        void endElement() throws XMLStreamException {
+            depth--;
+            if (hasChildren) {
+                newLine();
+            }
+            writer.writeEndElement();
+            hasChildren = true;
+        }
+
+        void flush() throws XMLStreamException {
+            // Also closes a pending start tag, so that content can be added to the underlying writer
+            writer.writeCharacters("");
+            writer.flush();
+        }
+
+        private void newLine() throws XMLStreamException {
+            StringBuilder indent = new StringBuilder(System.lineSeparator());
+            for (int i = 0; i < depth; i++) {
+                indent.append(INDENT);
+            }
+            writer.writeCharacters(indent.toString());
+        }
+    }
+}
@@ -78,6 +78,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.wso2.integrationstudio.artifact.dataservice.model.GenerateDataServiceModel;
+import org.wso2.integrationstudio.artifact.dataservice.model.SchemaSnapshot;
 import org.wso2.integrationstudio.artifact.dataservice.ui.wizard.GenerateDataServicesUtils.Methods;
 import org.wso2.integrationstudio.artifact.datasource.artifact.DataSourceArtifact;
 import org.wso2.integrationstudio.artifact.datasource.artifact.DataSourceProjectArtifact;
@@ -102,6 +103,7 @@ public class GenerateDataServicesWizardPage extends WizardPage {
     private String jarLocation;
     private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
     private boolean isDatasourceReadOnly;
+    private Map<String, SchemaSnapshot> schemaSnapshots = new HashMap<String, SchemaSnapshot>();
     
     public GenerateDataServicesWizardPage(GenerateDataServiceModel projectDataModel) {
         super("wizardPage");
@@ -461,6 +463,7 @@ public class GenerateDataServicesWizardPage extends WizardPage {
                 jarLocation = "";
                 dataModel.setDatasource(null);
                 dataModel.setTables(selectedTables);
+                dataModel.setSchemaSnapshot(null);
                 isDatasourceReadOnly = false;
                 
                 if (comboAvalableDatasources.getSelectionIndex() == 0) {
@@ -819,6 +822,10 @@ public class GenerateDataServicesWizardPage extends WizardPage {
     }
 
     private Map<String, Boolean> getAllAvailableTables(Document databaseDoc, String driverUrl) {
+        SchemaSnapshot snapshot = schemaSnapshots.get(selectedDatasource);
+        if (snapshot != null) {
+            return getTableList(snapshot);
+        }
         String driverClassName = getElementValue(databaseDoc, "driverClassName");
         String connectionURL = getElementValue(databaseDoc, "url");
         String userName = getElementValue(databaseDoc, "username");
@@ -840,7 +847,13 @@ public class GenerateDataServicesWizardPage extends WizardPage {
                 } else {
                     connection = DriverManager.getConnection(connectionURL);
                 }
-                return getTableList(connection);
+                try {
+                    snapshot = getSchemaSnapshot(connection);
+                } finally {
+                    connection.close();
+                }
+                schemaSnapshots.put(selectedDatasource, snapshot);
+                return getTableList(snapshot);
             } catch (ClassNotFoundException | SQLException | InstantiationException | 
                     IllegalAccessException | MalformedURLException e) {
                 showMessageBox("Error while retriving tables", e.getMessage(), SWT.ICON_ERROR);
@@ -849,37 +862,29 @@ public class GenerateDataServicesWizardPage extends WizardPage {
         return null;   
     }
     
-    private Map<String, Boolean> getTableList(Connection connection) throws SQLException {
-        Map<String, Boolean> tablesMap = new HashMap<String, Boolean>();
-        if (connection != null) {
-            DatabaseMetaData mObject = connection.getMetaData();
-            dataModel.setMetadata(mObject);
-            ResultSet tableNamesList = null;
-            String schema = null;
-            try {
-                String dbType = mObject.getDatabaseProductName();
-                isDatasourceReadOnly = mObject.isReadOnly();
-                if ("Oracle".equalsIgnoreCase(dbType)) {
-                   schema = connection.getSchema(); 
-                } else if ("PostgreSQL".equalsIgnoreCase(dbType)) {
-                    ResultSet schemas = mObject.getSchemas();
-                    while (schemas.next()) {
-                        schema = schemas.getString("TABLE_SCHEM");
-                    }
-                }
-                tableNamesList = mObject.getTables(connection.getCatalog(), schema, "%", new String[] { "TABLE" });
-                while (tableNamesList.next()) {
-                    String tableName = tableNamesList.getString("TABLE_NAME");
-                    ResultSet rs = mObject.getPrimaryKeys(null, null, tableName);
-                    boolean hasPrimaryKey = rs.next();
-                    tablesMap.put(tableName, hasPrimaryKey);                    
-                }
-            } finally {
-                if(tableNamesList != null) {
-                    tableNamesList.close();
+    private SchemaSnapshot getSchemaSnapshot(Connection connection) throws SQLException {
+        DatabaseMetaData mObject = connection.getMetaData();
+        String schema = null;
+        String dbType = mObject.getDatabaseProductName();
+        if ("Oracle".equalsIgnoreCase(dbType)) {
+           schema = connection.getSchema(); 
+        } else if ("PostgreSQL".equalsIgnoreCase(dbType)) {
+            try (ResultSet schemas = mObject.getSchemas()) {
+                while (schemas.next()) {
+                    schema = schemas.getString("TABLE_SCHEM");
                 }
             }
         }
+        return SchemaSnapshot.read(connection, connection.getCatalog(), schema);
+    }
+    
+    private Map<String, Boolean> getTableList(SchemaSnapshot snapshot) {
+        Map<String, Boolean> tablesMap = new HashMap<String, Boolean>();
+        dataModel.setSchemaSnapshot(snapshot);
+        isDatasourceReadOnly = snapshot.isReadOnly();
+        for (String tableName : snapshot.getTables()) {
+            tablesMap.put(tableName, snapshot.hasPrimaryKey(tableName));
+        }
         return tablesMap;
     }
     
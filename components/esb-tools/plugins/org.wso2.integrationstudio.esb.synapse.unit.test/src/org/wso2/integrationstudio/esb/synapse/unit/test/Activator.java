@@ -20,6 +20,7 @@ package org.wso2.integrationstudio.esb.synapse.unit.test;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest.UnitTestServer;
 
 /**
  * The activator class controls the plug-in life cycle
@@ -56,6 +57,7 @@ public class Activator extends AbstractUIPlugin {
      * org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
      */
     public void stop(BundleContext context) throws Exception {
+        UnitTestServer.stopAll();
         plugin = null;
         super.stop(context);
     }
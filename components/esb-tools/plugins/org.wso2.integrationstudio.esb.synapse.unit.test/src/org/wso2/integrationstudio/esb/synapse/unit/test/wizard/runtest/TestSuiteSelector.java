@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+
+ * http://www.apache.org/licenses/LICENSE-2.0
+
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.wso2.integrationstudio.esb.synapse.unit.test.Activator;
+import org.wso2.integrationstudio.esb.synapse.unit.test.constant.Constants;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+import org.xml.sax.SAXException;
+
+/**
+ * Selects the test suites of a project to run again after a previous run.
+ *
+ * A test suite records the artifacts it deploys: its test artifact, its supportive artifacts, its registry and
+ * connector resources and its mock services. Only the test suites whose file or any of these artifacts changed since
+ * the previous run are affected by the changes.
+ */
+public class TestSuiteSelector {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final String POM_FILE = "pom.xml";
+    private static final String XML_FILE_EXTENSION = "." + Constants.XML_EXTENSION;
+    private static final String[] DEPENDENCY_ELEMENTS = { Constants.ARTIFACT, Constants.CONNECTOR_RESOURCE,
+            Constants.MOCK_SERVICE };
+
+    private TestSuiteSelector() {
+    }
+
+    /**
+     * Returns the test suites of a project affected by the changes made since a previous run. All the test suites are
+     * affected when the pom of the project changed, and all of them are run again when none is affected.
+     *
+     * @param project project holding the test suites
+     * @param testSuites test suites of the project
+     * @param since start time of the previous run, 0 if there was none
+     * @return test suites to run
+     */
+    public static List<TestSuite> getAffectedTestSuites(IProject project, List<TestSuite> testSuites, long since) {
+        if (since == 0 || new File(project.getLocation().toFile(), POM_FILE).lastModified() >= since) {
+            return testSuites;
+        }
+        List<TestSuite> affectedTestSuites = new ArrayList<TestSuite>();
+        for (TestSuite testSuite : testSuites) {
+            if (testSuite.isModifiedSince(since)) {
+                affectedTestSuites.add(testSuite);
+            }
+        }
+        return affectedTestSuites.isEmpty() ? testSuites : affectedTestSuites;
+    }
+
+    /**
+     * @param project project holding the test suites
+     * @return test suites of the project, sorted by name
+     */
+    public static List<TestSuite> getTestSuites(IProject project) {
+        List<File> files = new ArrayList<File>();
+        File[] testFolderFiles = new File(project.getLocation().toFile(), Constants.TEST_FOLDER).listFiles();
+        if (testFolderFiles != null) {
+            for (File file : testFolderFiles) {
+                if (file.isFile() && file.getName().endsWith(XML_FILE_EXTENSION)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+
+        List<TestSuite> testSuites = new ArrayList<TestSuite>();
+        DocumentBuilder builder = newDocumentBuilder();
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        for (File file : files) {
+            testSuites.add(readTestSuite(builder, root, file));
+        }
+        return testSuites;
+    }
+
+    /**
+     * @param project project holding the test suite
+     * @param name file name of the test suite
+     * @return test suite
+     */
+    public static TestSuite getTestSuite(IProject project, String name) {
+        File file = new File(new File(project.getLocation().toFile(), Constants.TEST_FOLDER), name);
+        return readTestSuite(newDocumentBuilder(), ResourcesPlugin.getWorkspace().getRoot(), file);
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            log.error("Error while creating the parser of the test suites", e);
+            return null;
+        }
+    }
+
+    private static TestSuite readTestSuite(DocumentBuilder builder, IWorkspaceRoot root, File file) {
+        if (builder == null) {
+            return new TestSuite(file, null, false);
+        }
+        try {
+            Document document = builder.parse(file);
+            boolean hasMockServices = document.getElementsByTagName(Constants.MOCK_SERVICE).getLength() > 0;
+            Set<File> dependencies = new LinkedHashSet<File>();
+            for (String element : DEPENDENCY_ELEMENTS) {
+                NodeList nodes = document.getElementsByTagName(element);
+                for (int i = 0; i < nodes.getLength(); i++) {
+                    File dependency = resolve(root, nodes.item(i).getTextContent());
+                    if (dependency == null) {
+                        // A missing artifact fails the test suite, which is then run to report it
+                        return new TestSuite(file, null, hasMockServices);
+                    }
+                    dependencies.add(dependency);
+                }
+            }
+            return new TestSuite(file, new ArrayList<File>(dependencies), hasMockServices);
+        } catch (SAXException | IOException e) {
+            log.error("Error while reading the test suite " + file, e);
+            return new TestSuite(file, null, false);
+        }
+    }
+
+    /**
+     * Resolves the workspace path of an artifact recorded in a test suite, which starts with the name of the parent
+     * project when the project of the artifact is a module of a multi module project.
+     */
+    private static File resolve(IWorkspaceRoot root, String artifactPath) {
+        String path = artifactPath.trim().replace('\\', '/');
+        while (path.startsWith(Constants.PATH_PREFIX)) {
+            path = path.substring(1);
+        }
+        if (path.isEmpty()) {
+            return null;
+        }
+        IPath workspacePath = new Path(path);
+        IResource resource = root.findMember(workspacePath);
+        if (resource == null && workspacePath.segmentCount() > 2) {
+            resource = root.findMember(workspacePath.removeFirstSegments(1));
+        }
+        if (resource == null || resource.getLocation() == null) {
+            return null;
+        }
+        return resource.getLocation().toFile();
+    }
+
+    /**
+     * Test suite file along with the artifacts it deploys.
+     */
+    public static class TestSuite {
+
+        private final File file;
+        private final List<File> dependencies;
+        private final boolean hasMockServices;
+
+        TestSuite(File file, List<File> dependencies, boolean hasMockServices) {
+            this.file = file;
+            this.dependencies = dependencies;
+            this.hasMockServices = hasMockServices;
+        }
+
+        public String getName() {
+            return file.getName();
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return whether the test suite starts mock services, which listen on the ports set in their files
+         */
+        public boolean hasMockServices() {
+            return hasMockServices;
+        }
+
+        /**
+         * @param since a time
+         * @return whether the test suite or any artifact it deploys changed since the time, true when its artifacts
+         *         are not known
+         */
+        public boolean isModifiedSince(long since) {
+            if (dependencies == null || file.lastModified() >= since) {
+                return true;
+            }
+            for (File dependency : dependencies) {
+                if (dependency.lastModified() >= since) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+
+ * http://www.apache.org/licenses/LICENSE-2.0
+
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest.TestSuiteSelector.TestSuite;
+
+/**
+ * Splits the test suites of a run between the unit test servers running them in parallel.
+ *
+ * The time each test suite took the last time a build ran it alone is kept, and the test suites are given, slowest
+ * first, to the server with the least work so far. Test suites starting mock services all run on the first server,
+ * as mock services listen on the ports set in their files and would clash if two servers started them at once.
+ */
+public class TestSuiteShards {
+
+    private static final long DEFAULT_DURATION = 1;
+
+    private static final Map<String, Long> durations = new HashMap<String, Long>();
+
+    private TestSuiteShards() {
+    }
+
+    /**
+     * Splits test suites between servers.
+     *
+     * @param project name of the project holding the test suites
+     * @param testSuites test suites to run
+     * @param servers number of servers
+     * @return test suites of each server, in the order to run them, with no empty list
+     */
+    public static List<List<TestSuite>> split(final String project, List<TestSuite> testSuites, int servers) {
+        int shardCount = Math.max(1, Math.min(servers, testSuites.size()));
+        List<List<TestSuite>> shards = new ArrayList<List<TestSuite>>();
+        long[] loads = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<TestSuite>());
+        }
+
+        List<TestSuite> sortedTestSuites = new ArrayList<TestSuite>(testSuites);
+        Collections.sort(sortedTestSuites, new Comparator<TestSuite>() {
+            @Override
+            public int compare(TestSuite first, TestSuite second) {
+                return Long.compare(getDuration(project, second.getName()), getDuration(project, first.getName()));
+            }
+        });
+        for (TestSuite testSuite : sortedTestSuites) {
+            if (testSuite.hasMockServices()) {
+                shards.get(0).add(testSuite);
+                loads[0] += getDuration(project, testSuite.getName());
+            }
+        }
+        for (TestSuite testSuite : sortedTestSuites) {
+            if (!testSuite.hasMockServices()) {
+                int shard = 0;
+                for (int i = 1; i < shardCount; i++) {
+                    if (loads[i] < loads[shard]) {
+                        shard = i;
+                    }
+                }
+                shards.get(shard).add(testSuite);
+                loads[shard] += getDuration(project, testSuite.getName());
+            }
+        }
+
+        List<List<TestSuite>> nonEmptyShards = new ArrayList<List<TestSuite>>();
+        for (List<TestSuite> shard : shards) {
+            if (!shard.isEmpty()) {
+                nonEmptyShards.add(shard);
+            }
+        }
+        return nonEmptyShards;
+    }
+
+    /**
+     * @param project name of the project holding the test suite
+     * @param testSuite file name of the test suite
+     * @return time the last run of the test suite took in milliseconds, 1 if it was never timed
+     */
+    public static synchronized long getDuration(String project, String testSuite) {
+        Long duration = durations.get(project + ":" + testSuite);
+        return duration == null ? DEFAULT_DURATION : duration;
+    }
+
+    public static synchronized void setDuration(String project, String testSuite, long duration) {
+        durations.put(project + ":" + testSuite, duration);
+    }
+}
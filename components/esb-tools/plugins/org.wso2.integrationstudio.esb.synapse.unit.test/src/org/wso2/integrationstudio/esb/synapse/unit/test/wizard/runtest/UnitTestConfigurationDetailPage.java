@@ -37,6 +37,7 @@ import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
+import org.wso2.integrationstudio.esb.synapse.unit.test.Activator;
 
 /**
  * Class responsible for creation of wizard page for mock service resource
@@ -54,6 +55,14 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
     private static final String SERVER_PATH = "Executable Path:";
     private static final String BROWSE_LABEL_TEXT = "Browse";
     private static final String EMPTY_STRING = "";
+    private static final String KEEP_SERVER_RUNNING_LABEL = "Keep the server running to speed up the next runs";
+    private static final String KEEP_SERVER_RUNNING_KEY = "unitTest.keepServerRunning";
+    private static final String AFFECTED_TEST_SUITES_ONLY_LABEL = "Run only the test suites affected by changes since "
+            + "the last run";
+    private static final String AFFECTED_TEST_SUITES_ONLY_KEY = "unitTest.affectedTestSuitesOnly";
+    private static final String PARALLEL_SERVERS_LABEL = "Parallel Servers:";
+    private static final String PARALLEL_SERVERS_KEY = "unitTest.parallelServers";
+    private static final int MAX_PARALLEL_SERVERS = 16;
 
     boolean isLocalServerChecked = true;
     boolean isRemoteServerChecked = false;
@@ -67,6 +76,12 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
     private Text txtRemoteServerPort;
     private Text txtServerHost;
     private Button findServerBtnBrowse;
+    private Button keepServerRunningBtn;
+    private boolean keepServerRunning;
+    private Button affectedTestSuitesOnlyBtn;
+    private boolean affectedTestSuitesOnly;
+    private Text txtParallelServers;
+    private String parallelServers = "1";
     private boolean isPageDirty;
 
     /**
@@ -175,7 +190,6 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
         data = new FormData();
         data.top = new FormAttachment(lblServerPath, 15);
         data.left = new FormAttachment(lblServerPort, 0);
-        data.bottom = new FormAttachment(90);
         data.right = new FormAttachment(97);
         txtLocalServerPort.setLayoutData(data);
         txtLocalServerPort.setText(getLocalServerPort());
@@ -187,6 +201,75 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
             }
         });
 
+        keepServerRunningBtn = new Button(grpLocalServerData, SWT.CHECK);
+        data = new FormData();
+        data.top = new FormAttachment(txtLocalServerPort, 10);
+        data.left = new FormAttachment(3);
+        keepServerRunningBtn.setLayoutData(data);
+        keepServerRunningBtn.setText(KEEP_SERVER_RUNNING_LABEL);
+        setKeepServerRunning(Activator.getDefault().getPreferenceStore().getBoolean(KEEP_SERVER_RUNNING_KEY));
+        keepServerRunningBtn.setSelection(isKeepServerRunning());
+
+        keepServerRunningBtn.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                setKeepServerRunning(keepServerRunningBtn.getSelection());
+                Activator.getDefault().getPreferenceStore().setValue(KEEP_SERVER_RUNNING_KEY,
+                        keepServerRunningBtn.getSelection());
+                disableEnableConfigurationGroupType();
+                validate();
+            }
+        });
+
+        affectedTestSuitesOnlyBtn = new Button(grpLocalServerData, SWT.CHECK);
+        data = new FormData();
+        data.top = new FormAttachment(keepServerRunningBtn, 5);
+        data.left = new FormAttachment(3);
+        affectedTestSuitesOnlyBtn.setLayoutData(data);
+        affectedTestSuitesOnlyBtn.setText(AFFECTED_TEST_SUITES_ONLY_LABEL);
+        setAffectedTestSuitesOnly(
+                Activator.getDefault().getPreferenceStore().getBoolean(AFFECTED_TEST_SUITES_ONLY_KEY));
+        affectedTestSuitesOnlyBtn.setSelection(isAffectedTestSuitesOnly());
+
+        affectedTestSuitesOnlyBtn.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                setAffectedTestSuitesOnly(affectedTestSuitesOnlyBtn.getSelection());
+                Activator.getDefault().getPreferenceStore().setValue(AFFECTED_TEST_SUITES_ONLY_KEY,
+                        affectedTestSuitesOnlyBtn.getSelection());
+            }
+        });
+
+        Label lblParallelServers = new Label(grpLocalServerData, SWT.NONE);
+        data = new FormData();
+        data.top = new FormAttachment(affectedTestSuitesOnlyBtn, 10);
+        data.left = new FormAttachment(3);
+        data.width = 230;
+        lblParallelServers.setLayoutData(data);
+        lblParallelServers.setText(PARALLEL_SERVERS_LABEL);
+
+        txtParallelServers = new Text(grpLocalServerData, SWT.BORDER);
+        data = new FormData();
+        data.top = new FormAttachment(affectedTestSuitesOnlyBtn, 10);
+        data.left = new FormAttachment(lblParallelServers, 0);
+        data.right = new FormAttachment(97);
+        data.bottom = new FormAttachment(90);
+        txtParallelServers.setLayoutData(data);
+        String savedParallelServers = Activator.getDefault().getPreferenceStore().getString(PARALLEL_SERVERS_KEY);
+        if (!savedParallelServers.equals(EMPTY_STRING)) {
+            setParallelServers(savedParallelServers);
+        }
+        txtParallelServers.setText(getParallelServers());
+
+        txtParallelServers.addModifyListener(new ModifyListener() {
+            public void modifyText(ModifyEvent arg0) {
+                setParallelServers(txtParallelServers.getText());
+                Activator.getDefault().getPreferenceStore().setValue(PARALLEL_SERVERS_KEY,
+                        txtParallelServers.getText());
+                validate();
+            }
+        });
+
         // Remote server configuration group
         Button remoteServerBtn = new Button(container, SWT.RADIO);
         data = new FormData();
@@ -279,12 +362,18 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
             txtServerHost.setEnabled(false);
             txtRemoteServerPort.setEnabled(false);
             findServerBtnBrowse.setEnabled(true);
+            keepServerRunningBtn.setEnabled(true);
+            affectedTestSuitesOnlyBtn.setEnabled(isKeepServerRunning());
+            txtParallelServers.setEnabled(isKeepServerRunning());
         } else {
             txtServerPath.setEnabled(false);
             txtLocalServerPort.setEnabled(false);
             txtServerHost.setEnabled(true);
             txtRemoteServerPort.setEnabled(true);
             findServerBtnBrowse.setEnabled(false);
+            keepServerRunningBtn.setEnabled(false);
+            affectedTestSuitesOnlyBtn.setEnabled(false);
+            txtParallelServers.setEnabled(false);
         }
     }
 
@@ -314,6 +403,19 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
             setPageComplete(false);
             setPageDirty(true);
             return;
+        } else if (isLocalServerChecked() && isKeepServerRunning() && (!getParallelServers().matches("\\d{1,2}")
+                || Integer.parseInt(getParallelServers()) < 1
+                || Integer.parseInt(getParallelServers()) > MAX_PARALLEL_SERVERS)) {
+            setErrorMessage("Please specify a number of parallel servers between 1 and " + MAX_PARALLEL_SERVERS);
+            setPageComplete(false);
+            setPageDirty(true);
+            return;
+        } else if (isLocalServerChecked() && isKeepServerRunning()
+                && Integer.parseInt(getLocalServerPort()) + Integer.parseInt(getParallelServers()) - 1 > 65535) {
+            setErrorMessage("Please specify a testing port leaving a port for each parallel server");
+            setPageComplete(false);
+            setPageDirty(true);
+            return;
         } else if (isRemoteServerChecked() && getServerHosth().equals(EMPTY_STRING)) {
             setErrorMessage("Please specify the remote server IP address");
             setPageComplete(false);
@@ -439,6 +541,30 @@ public class UnitTestConfigurationDetailPage extends WizardPage {
         this.remoteServerPort = serverPort;
     }
 
+    public boolean isKeepServerRunning() {
+        return keepServerRunning;
+    }
+
+    public void setKeepServerRunning(boolean keepServerRunning) {
+        this.keepServerRunning = keepServerRunning;
+    }
+
+    public boolean isAffectedTestSuitesOnly() {
+        return affectedTestSuitesOnly;
+    }
+
+    public void setAffectedTestSuitesOnly(boolean affectedTestSuitesOnly) {
+        this.affectedTestSuitesOnly = affectedTestSuitesOnly;
+    }
+
+    public String getParallelServers() {
+        return parallelServers;
+    }
+
+    public void setParallelServers(String parallelServers) {
+        this.parallelServers = parallelServers;
+    }
+
     public String getServerHosth() {
         return serverHosth;
     }
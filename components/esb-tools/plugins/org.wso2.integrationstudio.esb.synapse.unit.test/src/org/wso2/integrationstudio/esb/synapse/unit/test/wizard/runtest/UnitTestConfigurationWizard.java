@@ -21,22 +21,37 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationType;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.ILaunchManager;
-import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.ui.IEditorPart;
@@ -45,7 +60,9 @@ import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
 import org.wso2.integrationstudio.esb.synapse.unit.test.Activator;
+import org.wso2.integrationstudio.esb.synapse.unit.test.constant.Constants;
 import org.wso2.integrationstudio.esb.synapse.unit.test.propertytester.RunTestResourceTester;
+import org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest.TestSuiteSelector.TestSuite;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 
@@ -72,6 +89,13 @@ public class UnitTestConfigurationWizard extends Wizard implements IExportWizard
     private static final String JDK_PATH = "jdk-home";
     private static final String TOOLING_PATH_MAC = "/Applications/IntegrationStudio.app/Contents/Eclipse";
     private static final String JDK_PATH_MAC = "jdk-home/Contents/Home";
+    private static final long TEST_RUN_TIMEOUT = TimeUnit.MINUTES.toMillis(2);
+    private static final long WARM_TEST_RUN_TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+    private static final String MAVEN_TEST_GOAL = "test";
+    private static final String MAVEN_BUILD_GOAL = "test -Dmaven.test.skip=true";
+    private static final String UNIT_TEST_GOAL = "org.wso2.maven:synapse-unit-test-maven-plugin:synapse-unit-test"
+            + "@synapse-unit-test";
+    private static final String TEST_SUITES_FOLDER = ".unit-test-suites";
 
     @Override
     public void init(IWorkbench workbench, IStructuredSelection selection) {
@@ -121,19 +145,338 @@ public class UnitTestConfigurationWizard extends Wizard implements IExportWizard
     private void createAndRunMavenTestAnProfile(ILaunchManager launchManager, IProject project, final String targetFolder,
             UnitTestConfigurationDetailPage unitTestConfigDetailPage) throws CoreException {
 
+        if (unitTestConfigDetailPage.isLocalServerChecked() && unitTestConfigDetailPage.isKeepServerRunning()) {
+            runOnWarmServer(launchManager, project, targetFolder, unitTestConfigDetailPage);
+            return;
+        }
+
         // update if unit test profile exists
         String mavenTestGoal = generateMavenTestGoal(unitTestConfigDetailPage);
-        
+        final ILaunch lauch = launchMavenTest(launchManager, project, mavenTestGoal, MAVEN_UNIT_TEST);
+
+        new Thread() {
+            public void run() {
+                try {
+                    // skip the the await after two minutes
+                    waitForTermination(lauch, TEST_RUN_TIMEOUT);
+                    // Remove the created target directory from the maven
+                    removeTargetDirectory(targetFolder);
+                } catch (InterruptedException e) {
+                    log.error("Error while waiting for the maven process to terminate");
+                } catch (IOException e) {
+                    log.error("Error while executing the maven pricess and removing target directory");
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Method of running the unit tests on servers which are kept running between test runs. The test suites are
+     * split between the given number of servers, which run them in parallel, one maven build per server. As these
+     * builds share the target folder of the project, the project is built once beforehand when there are several
+     * servers, and each server then only runs the unit test goal. The unit test plugin does not report the time of
+     * each test suite, hence the time of a test suite is only known when a build runs it alone; the other builds are
+     * reported as a whole. Only the test suites affected by the changes made since the previous run are run when
+     * asked.
+     * 
+     * @param launchManager
+     *            launcher
+     * @param project
+     *            selected IProject
+     * @param targetFolder
+     *            target folder
+     */
+    private void runOnWarmServer(final ILaunchManager launchManager, final IProject project, final String targetFolder,
+            UnitTestConfigurationDetailPage unitTestConfigDetailPage) {
+        final String executable = unitTestConfigDetailPage.getServerPath();
+        final int port = Integer.parseInt(unitTestConfigDetailPage.getLocalServerPort());
+        final int parallelServers = Integer.parseInt(unitTestConfigDetailPage.getParallelServers());
+        final boolean affectedTestSuitesOnly = unitTestConfigDetailPage.isAffectedTestSuitesOnly();
+        final String selectedFile = RunTestResourceTester.isUnitTestFileSelected
+                ? RunTestResourceTester.getSelectedFileName()
+                : null;
+        clearCarbonAppsFolder();
+
+        Job job = new Job("Running unit tests of " + project.getName()) {
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+                UnitTestServer firstServer = UnitTestServer.getServer(executable, port, 0);
+                long runStart = System.currentTimeMillis();
+                List<TestSuite> testSuites;
+                int projectTestSuites = 0;
+                if (selectedFile != null) {
+                    testSuites = Collections.singletonList(TestSuiteSelector.getTestSuite(project, selectedFile));
+                } else {
+                    testSuites = TestSuiteSelector.getTestSuites(project);
+                    projectTestSuites = testSuites.size();
+                    if (affectedTestSuitesOnly) {
+                        testSuites = TestSuiteSelector.getAffectedTestSuites(project, testSuites,
+                                firstServer.getLastRun(project.getName()));
+                    }
+                }
+                if (testSuites.isEmpty()) {
+                    log.info("There are no test suites in " + project.getName());
+                    return Status.OK_STATUS;
+                }
+
+                final List<List<TestSuite>> shards = TestSuiteShards.split(project.getName(), testSuites,
+                        parallelServers);
+                final boolean wholeTestFolder = shards.size() == 1 && testSuites.size() == projectTestSuites;
+                String mavenGoal = MAVEN_TEST_GOAL;
+                if (shards.size() > 1) {
+                    try {
+                        if (!buildProject(launchManager, project)) {
+                            return Status.CANCEL_STATUS;
+                        }
+                    } catch (CoreException e) {
+                        log.error("Error while building " + project.getName(), e);
+                        return Status.CANCEL_STATUS;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return Status.CANCEL_STATUS;
+                    }
+                    mavenGoal = UNIT_TEST_GOAL;
+                }
+
+                final String shardMavenGoal = mavenGoal;
+                final Map<String, Long> buildTimes = new ConcurrentHashMap<String, Long>();
+                ExecutorService executor = Executors.newFixedThreadPool(shards.size());
+                List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+                for (int i = 0; i < shards.size(); i++) {
+                    final int shard = i;
+                    final List<TestSuite> shardTestSuites = shards.get(i);
+                    results.add(executor.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws Exception {
+                            UnitTestServer server = UnitTestServer.getServer(executable, port + shard, shard);
+                            File testSuitesFolder = null;
+                            String testFile = null;
+                            if (shardTestSuites.size() == 1) {
+                                testFile = shardTestSuites.get(0).getName();
+                            } else if (!wholeTestFolder) {
+                                testSuitesFolder = copyTestSuites(project, shard, shardTestSuites);
+                                testFile = testSuitesFolder.getName();
+                            }
+                            try {
+                                return runTestSuites(launchManager, project, server, shard, shardMavenGoal, testFile,
+                                        shardTestSuites, buildTimes, monitor);
+                            } finally {
+                                if (testSuitesFolder != null) {
+                                    FileUtils.deleteDirectory(testSuitesFolder);
+                                }
+                            }
+                        }
+                    }));
+                }
+                boolean completed = true;
+                try {
+                    for (Future<Boolean> result : results) {
+                        try {
+                            completed &= result.get();
+                        } catch (ExecutionException e) {
+                            completed = false;
+                            log.error("Error while running the unit tests of " + project.getName(), e.getCause());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Status.CANCEL_STATUS;
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                logTestSuiteTimes(project.getName(), testSuites.size(), buildTimes, shards.size(),
+                        System.currentTimeMillis() - runStart);
+                if (completed) {
+                    if (selectedFile == null) {
+                        firstServer.setLastRun(project.getName(), runStart);
+                    }
+                    try {
+                        removeTargetDirectory(targetFolder);
+                    } catch (IOException e) {
+                        log.error("Error while removing the target directory of " + project.getName(), e);
+                    }
+                }
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+            }
+        };
+        job.setUser(true);
+        job.schedule();
+    }
+
+    /**
+     * Method of building the project once with its tests skipped, before the servers run its test suites in
+     * parallel.
+     * 
+     * @param launchManager
+     *            launcher
+     * @param project
+     *            selected IProject
+     * @return whether the build finished in time
+     */
+    private boolean buildProject(ILaunchManager launchManager, IProject project)
+            throws CoreException, InterruptedException {
+        long start = System.currentTimeMillis();
+        ILaunch launch = launchMavenTest(launchManager, project, MAVEN_BUILD_GOAL, MAVEN_UNIT_TEST);
+        if (!waitForTermination(launch, WARM_TEST_RUN_TIMEOUT)) {
+            log.error("The build of " + project.getName() + " did not finish in "
+                    + TimeUnit.MILLISECONDS.toMinutes(WARM_TEST_RUN_TIMEOUT) + " minutes");
+            return false;
+        }
+        log.info("Built " + project.getName() + " in " + (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    /**
+     * Method of copying the test suites of a server to a folder of their own in the test folder, so that one maven
+     * build runs them. The unit test plugin takes either a single test suite or a folder of test suites, relative to
+     * the test folder.
+     * 
+     * @param project
+     *            selected IProject
+     * @param shard
+     *            index of the server among the servers running the tests in parallel
+     * @param testSuites
+     *            test suites of the server
+     * @return folder holding the copies of the test suites
+     */
+    private File copyTestSuites(IProject project, int shard, List<TestSuite> testSuites) throws IOException {
+        File testFolder = new File(project.getLocation().toFile(), Constants.TEST_FOLDER);
+        File folder = new File(testFolder, TEST_SUITES_FOLDER + "-" + (shard + 1));
+        FileUtils.deleteDirectory(folder);
+        for (TestSuite testSuite : testSuites) {
+            FileUtils.copyFileToDirectory(testSuite.getFile(), folder);
+        }
+        return folder;
+    }
+
+    /**
+     * Method of running test suites in one maven build on a server kept running between test runs.
+     * 
+     * @param launchManager
+     *            launcher
+     * @param project
+     *            selected IProject
+     * @param server
+     *            server running the test suites
+     * @param shard
+     *            index of the server among the servers running the tests in parallel
+     * @param mavenGoal
+     *            maven goal running the tests
+     * @param testFile
+     *            test file property of the build, null to run all the test suites of the project
+     * @param testSuites
+     *            test suites to run
+     * @param buildTimes
+     *            time of each build of the test run in milliseconds, by the test suites it ran
+     * @param monitor
+     *            progress monitor of the test run
+     * @return whether the test suites ran
+     */
+    private boolean runTestSuites(ILaunchManager launchManager, IProject project, UnitTestServer server, int shard,
+            String mavenGoal, String testFile, List<TestSuite> testSuites, Map<String, Long> buildTimes,
+            IProgressMonitor monitor)
+            throws CoreException, IOException, InterruptedException {
+        server.start();
+        if (monitor.isCanceled()) {
+            return false;
+        }
+        String launchName = shard == 0 ? MAVEN_UNIT_TEST : MAVEN_UNIT_TEST + " " + (shard + 1);
+        long start = System.currentTimeMillis();
+        StringBuilder builder = new StringBuilder(mavenGoal);
+        builder.append(" -DtestServerType=remote");
+        builder.append(" -DtestServerHost=" + UnitTestServer.HOST);
+        builder.append(" -DtestServerPort=" + server.getPort());
+        if (testFile != null) {
+            builder.append(" -DtestFile=" + testFile);
+        }
+        ILaunch launch = launchMavenTest(launchManager, project, builder.toString(), launchName);
+        if (!waitForTermination(launch, WARM_TEST_RUN_TIMEOUT)) {
+            log.error("The " + testSuites.size() + " test suites of " + project.getName() + " on port "
+                    + server.getPort() + " did not finish in "
+                    + TimeUnit.MILLISECONDS.toMinutes(WARM_TEST_RUN_TIMEOUT) + " minutes");
+            return false;
+        }
+        long duration = System.currentTimeMillis() - start;
+        List<String> names = new ArrayList<String>();
+        for (TestSuite testSuite : testSuites) {
+            names.add(testSuite.getName());
+        }
+        if (testSuites.size() == 1) {
+            // only a build running a single test suite tells the time the test suite takes
+            TestSuiteShards.setDuration(project.getName(), testSuites.get(0).getName(), duration);
+        }
+        buildTimes.put(String.join(", ", names), duration);
+        log.info("Ran " + testSuites.size() + " test suites of " + project.getName() + " on port " + server.getPort()
+                + " in " + duration + " ms");
+        return true;
+    }
+
+    /**
+     * Method of logging the time each maven build of a test run took, slowest first. The time of a build running a
+     * single test suite is the time of that test suite, while the test suites run by the same build are not timed
+     * separately.
+     * 
+     * @param project
+     *            name of the project
+     * @param testSuites
+     *            number of test suites of the test run
+     * @param buildTimes
+     *            time of each build of the test run in milliseconds, by the test suites it ran
+     * @param servers
+     *            number of servers which ran the test suites
+     * @param runTime
+     *            time the test run took in milliseconds
+     */
+    private void logTestSuiteTimes(String project, int testSuites, Map<String, Long> buildTimes, int servers,
+            long runTime) {
+        List<Map.Entry<String, Long>> sortedBuildTimes = new ArrayList<Map.Entry<String, Long>>(
+                buildTimes.entrySet());
+        Collections.sort(sortedBuildTimes, new Comparator<Map.Entry<String, Long>>() {
+            @Override
+            public int compare(Map.Entry<String, Long> first, Map.Entry<String, Long> second) {
+                return Long.compare(second.getValue(), first.getValue());
+            }
+        });
+        StringBuilder builder = new StringBuilder();
+        builder.append("Ran " + testSuites + " test suites of " + project + " on " + servers + " servers in "
+                + runTime + " ms:");
+        for (Map.Entry<String, Long> buildTime : sortedBuildTimes) {
+            builder.append(System.lineSeparator()).append("    ").append(buildTime.getKey());
+            if (buildTime.getKey().contains(", ")) {
+                builder.append(" (one build, not timed separately)");
+            }
+            builder.append(": ").append(buildTime.getValue()).append(" ms");
+        }
+        log.info(builder.toString());
+    }
+
+    /**
+     * Method of creating the maven launcher of the unit tests and running it.
+     * 
+     * @param launchManager
+     *            launcher
+     * @param project
+     *            selected IProject
+     * @param mavenTestGoal
+     *            maven goal running the tests
+     * @param launchName
+     *            name of the maven launcher
+     * @return launch of the maven build
+     */
+    private ILaunch launchMavenTest(ILaunchManager launchManager, IProject project, String mavenTestGoal,
+            String launchName) throws CoreException {
         // remove existing maven launcher for unit testing
-        if (findLaunchConfigurationByName(launchManager, MAVEN_UNIT_TEST) != null) {
-            findLaunchConfigurationByName(launchManager, MAVEN_UNIT_TEST).delete();
+        ILaunchConfiguration existingLaunchConfig = findLaunchConfigurationByName(launchManager, launchName);
+        if (existingLaunchConfig != null) {
+            existingLaunchConfig.delete();
         }
 
         // creating a new Launcher for unit testing
         ILaunchConfigurationType mavenTestLaunchType = launchManager
                 .getLaunchConfigurationType(MAVEN_CONFIGURATION_TYPE);
         ILaunchConfigurationWorkingCopy mavenTestLaunchConfig = mavenTestLaunchType.newInstance(null,
-                DebugPlugin.getDefault().getLaunchManager().generateLaunchConfigurationName(MAVEN_UNIT_TEST));
+                DebugPlugin.getDefault().getLaunchManager().generateLaunchConfigurationName(launchName));
 
         // set maven properties for the created launcher
         mavenTestLaunchConfig.setAttribute(MAVEN_GOAL_KEY, mavenTestGoal);
@@ -143,64 +486,37 @@ public class UnitTestConfigurationWizard extends Wizard implements IExportWizard
         environmentVariableMap.put(JAVA_HOME_KEY, javaHomePath);
         mavenTestLaunchConfig.setAttribute(MAVEN_ENVIRONMENT_KEY, environmentVariableMap);
 
-        // save the launcher with configuration data
-        mavenTestLaunchConfig.doSave();
-        
-        // Select the maven launcher and run it
-        for (ILaunchConfiguration launchConfig : launchManager.getLaunchConfigurations()) {
-            if (launchConfig.getName().equals(MAVEN_UNIT_TEST)) {
-                final ILaunch lauch = launchConfig.launch(LAUNCHER_RUN, null);
-
-                new Thread() {
-                    public void run() {
-                        try {
-                            boolean isBuildOver = false;
-                            int loopCount = 0;
-                            while (!isBuildOver) {
-                                List<Boolean> listOfProcessTermination = new ArrayList<>();
-                                for (IProcess process : lauch.getProcesses()) {
-                                    listOfProcessTermination.add(process.isTerminated());
-                                }
-
-                                if (getAllProcessTerminated(listOfProcessTermination)) {
-                                    isBuildOver = true;
-                                }
-
-                                // skip the the await after two minutes
-                                if (loopCount > 120) {
-                                    break;
-                                }
-
-                                Thread.sleep(1000);
-                                loopCount++;
-                            }
-                            // Remove the created target directory from the maven
-                            removeTargetDirectory(targetFolder);
-                        } catch (InterruptedException e) {
-                            log.error("Error while waiting for the next iteration of checking IProcesses");
-                        } catch (IOException e) {
-                            log.error("Error while executing the maven pricess and removing target directory");
-                        }
-                    }
-                }.start();
-            }
-        }
+        // save the launcher with configuration data and run it
+        return mavenTestLaunchConfig.doSave().launch(LAUNCHER_RUN, null);
     }
 
     /**
-     * Method of checking whether maven build is terminated or not.
+     * Method of waiting for all the processes of a launch to terminate.
      * 
-     * @param listOfProcessTermination
-     *            launcher processes
-     * @return build is terminated or not
+     * @param launch
+     *            launch of the maven build
+     * @param timeout
+     *            maximum time to wait in milliseconds
+     * @return whether the launch terminated in time
      */
-    private boolean getAllProcessTerminated(List<Boolean> listOfProcessTermination) {
-        for (boolean value : listOfProcessTermination) {
-            if (!value) {
-                return false;
+    private boolean waitForTermination(final ILaunch launch, long timeout) throws InterruptedException {
+        final CountDownLatch terminated = new CountDownLatch(1);
+        IDebugEventSetListener listener = new IDebugEventSetListener() {
+            @Override
+            public void handleDebugEvents(DebugEvent[] events) {
+                for (DebugEvent event : events) {
+                    if (event.getKind() == DebugEvent.TERMINATE && launch.isTerminated()) {
+                        terminated.countDown();
+                    }
+                }
             }
+        };
+        DebugPlugin.getDefault().addDebugEventListener(listener);
+        try {
+            return launch.isTerminated() || terminated.await(timeout, TimeUnit.MILLISECONDS);
+        } finally {
+            DebugPlugin.getDefault().removeDebugEventListener(listener);
         }
-        return true;
     }
 
     /**
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+
+ * http://www.apache.org/licenses/LICENSE-2.0
+
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.esb.synapse.unit.test.wizard.runtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.wso2.integrationstudio.esb.synapse.unit.test.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Micro Integrator started in unit testing mode and kept running between test runs.
+ *
+ * Test runs send their test suites to the test port of the running server instead of starting a server of their
+ * own, so only the first run pays for the server startup. Servers are stopped when the plug-in stops.
+ *
+ * Several servers can run from the same executable to run test suites in parallel. Each one moves the ports of its
+ * transports by a port offset, and is stopped through its own process id rather than the PID file of the launcher
+ * script, which only holds the process id of the server started last.
+ */
+public class UnitTestServer {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    public static final String HOST = "127.0.0.1";
+
+    private static final long STARTUP_TIMEOUT = TimeUnit.MINUTES.toMillis(3);
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    private static final int CONNECT_TIMEOUT = 1000;
+    private static final long POLL_INTERVAL = 500;
+    private static final String LOG_FILE = "unit-test-server-%d.log";
+    private static final String PID_FILE = "wso2carbon.pid";
+    private static final Object START_LOCK = new Object();
+
+    private static final Map<String, UnitTestServer> servers = new HashMap<String, UnitTestServer>();
+
+    private final String executable;
+    private final int port;
+    private final int portOffset;
+    private final Map<String, Long> lastRuns = new HashMap<String, Long>();
+    private Process process;
+    private String pid;
+
+    private UnitTestServer(String executable, int port, int portOffset) {
+        this.executable = executable;
+        this.port = port;
+        this.portOffset = portOffset;
+    }
+
+    /**
+     * Returns the server started from the given executable on the given test port, which is not started yet.
+     *
+     * @param executable micro-integrator.sh or micro-integrator.bat of the server
+     * @param port test port of the server
+     * @param portOffset offset of the ports of the transports of the server, 0 for the first server of an executable
+     * @return server
+     */
+    public static synchronized UnitTestServer getServer(String executable, int port, int portOffset) {
+        String key = new File(executable).getAbsolutePath() + ":" + port;
+        UnitTestServer server = servers.get(key);
+        if (server == null || server.portOffset != portOffset) {
+            if (server != null) {
+                server.stop();
+            }
+            server = new UnitTestServer(executable, port, portOffset);
+            servers.put(key, server);
+        }
+        return server;
+    }
+
+    /**
+     * Stops every server started so far.
+     */
+    public static void stopAll() {
+        List<UnitTestServer> runningServers;
+        synchronized (UnitTestServer.class) {
+            runningServers = new ArrayList<UnitTestServer>(servers.values());
+            servers.clear();
+        }
+        for (UnitTestServer server : runningServers) {
+            server.stop();
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @param project name of a project
+     * @return time at which the last run of the tests of the project started on this server, 0 if none did
+     */
+    public synchronized long getLastRun(String project) {
+        Long lastRun = lastRuns.get(project);
+        return lastRun == null ? 0 : lastRun;
+    }
+
+    public synchronized void setLastRun(String project, long time) {
+        lastRuns.put(project, time);
+    }
+
+    /**
+     * Starts the server unless it is already running, and waits until its test port accepts connections. The test
+     * port has to be free before the server starts, as anything already listening on it would otherwise be taken for
+     * the server.
+     *
+     * @throws IOException if the test port is in use by another process, or the server cannot be started or does not
+     *             open its test port in time
+     */
+    public synchronized void start() throws IOException {
+        if (process != null && process.isAlive() && isListening()) {
+            return;
+        }
+        if (process != null) {
+            stop();
+        }
+        lastRuns.clear();
+        if (isListening()) {
+            throw new IOException("Port " + port + " is already in use by another process, choose another test port");
+        }
+        File executableFile = new File(executable);
+        File home = executableFile.getAbsoluteFile().getParentFile().getParentFile();
+        List<String> command = new ArrayList<String>();
+        if (isWindows()) {
+            command.add("cmd.exe");
+            command.add("/c");
+        } else {
+            command.add("sh");
+        }
+        command.add(executableFile.getAbsolutePath());
+        command.add("-DsynapseTest");
+        command.add("-DsynapseTestPort=" + port);
+        if (portOffset > 0) {
+            command.add("-DportOffset=" + portOffset);
+        }
+        File logFile = getLogFile();
+        log.info("Starting the unit test server " + executable + " on port " + port + ", logging to " + logFile);
+
+        // Servers of the same executable write the same PID file, so they are started one at a time
+        synchronized (START_LOCK) {
+            long start = System.currentTimeMillis();
+            process = new ProcessBuilder(command).directory(home).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile)).start();
+            waitForStartup(start, logFile);
+            pid = readPid(new File(home, PID_FILE), start);
+            log.info("Started the unit test server on port " + port + " in " + (System.currentTimeMillis() - start)
+                    + " ms");
+        }
+    }
+
+    private void waitForStartup(long start, File logFile) throws IOException {
+        while (true) {
+            // Checked first, so that a port opened by another process after the server died is not taken for it
+            if (!process.isAlive()) {
+                process = null;
+                throw new IOException("The unit test server stopped while starting, see " + logFile);
+            }
+            if (isListening()) {
+                return;
+            }
+            if (System.currentTimeMillis() - start > STARTUP_TIMEOUT) {
+                stop();
+                throw new IOException("The unit test server did not open port " + port + " in time, see " + logFile);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+                throw new IOException("Interrupted while starting the unit test server", e);
+            }
+        }
+    }
+
+    /**
+     * Stops the server if it is running.
+     */
+    public synchronized void stop() {
+        if (process == null) {
+            return;
+        }
+        // The launcher script runs the server in a child process, which the script stops through its PID file
+        // unless the process id it wrote at startup is known
+        List<String> command = new ArrayList<String>();
+        if (pid != null && !isWindows()) {
+            command.add("kill");
+            command.add("-TERM");
+            command.add(pid);
+        } else {
+            if (isWindows()) {
+                command.add("cmd.exe");
+                command.add("/c");
+            } else {
+                command.add("sh");
+            }
+            command.add(new File(executable).getAbsolutePath());
+            command.add("stop");
+        }
+        try {
+            Process stopProcess = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(getLogFile())).start();
+            if (!process.waitFor(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                process.destroy();
+            }
+            stopProcess.destroy();
+        } catch (IOException e) {
+            log.error("Error while stopping the unit test server on port " + port, e);
+            process.destroy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+        }
+        process = null;
+        pid = null;
+    }
+
+    private File getLogFile() {
+        return new File(System.getProperty("java.io.tmpdir"), String.format(LOG_FILE, port));
+    }
+
+    /**
+     * Reads the process id of the server written by the launcher script, null if the script did not write one since
+     * the server started.
+     */
+    private static String readPid(File pidFile, long start) {
+        // The modification time of a file may be rounded down to the second
+        if (pidFile.lastModified() < start - TimeUnit.SECONDS.toMillis(1)) {
+            return null;
+        }
+        try {
+            String pid = new String(Files.readAllBytes(pidFile.toPath()), StandardCharsets.UTF_8).trim();
+            return pid.matches("\\d+") ? pid : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isListening() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(HOST, port), CONNECT_TIMEOUT);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "generic").toLowerCase(Locale.ENGLISH).indexOf("windows") >= 0;
+    }
+}
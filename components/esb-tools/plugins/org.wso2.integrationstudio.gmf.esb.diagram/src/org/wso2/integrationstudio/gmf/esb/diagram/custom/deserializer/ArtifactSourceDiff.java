@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.wso2.integrationstudio.gmf.esb.internal.persistence.DefaultEsbModelExporter;
+
+/**
+ * Splits a Synapse configuration into the source of each artifact it defines, in a normalized form, so that two
+ * configurations can be compared artifact by artifact regardless of indentation or attribute order.
+ */
+class ArtifactSourceDiff {
+
+    private static final String DEFINITIONS = "definitions";
+    private static final QName NAME_ATTRIBUTE = new QName("name");
+    private static final QName KEY_ATTRIBUTE = new QName("key");
+
+    private ArtifactSourceDiff() {
+    }
+
+    /**
+     * Returns the normalized source of each artifact in the given configuration, keyed by the artifact name (or key
+     * for local entries), which is the same key {@link Deserializer} uses for the artifacts it creates.
+     *
+     * @param source synapse configuration or a single artifact
+     * @return normalized artifact sources by artifact name
+     * @throws Exception if the source is not well formed
+     */
+    static Map<String, String> getArtifactSources(String source) throws Exception {
+        return getArtifactSources(AXIOMUtil.stringToOM(source));
+    }
+
+    /**
+     * Returns the normalized source of each artifact in the given, already parsed, configuration.
+     *
+     * @param element synapse configuration or a single artifact
+     * @return normalized artifact sources by artifact name
+     */
+    static Map<String, String> getArtifactSources(OMElement element) {
+        Map<String, String> artifactSources = new HashMap<String, String>();
+        if (DEFINITIONS.equals(element.getLocalName())) {
+            Iterator<?> children = element.getChildElements();
+            while (children.hasNext()) {
+                addArtifactSource(artifactSources, (OMElement) children.next());
+            }
+        } else {
+            addArtifactSource(artifactSources, element);
+        }
+        return artifactSources;
+    }
+
+    private static void addArtifactSource(Map<String, String> artifactSources, OMElement element) {
+        String name = element.getAttributeValue(NAME_ATTRIBUTE);
+        if (name == null) {
+            name = element.getAttributeValue(KEY_ATTRIBUTE);
+        }
+        if (name != null) {
+            artifactSources.put(name, DefaultEsbModelExporter.format(element.toString()));
+        }
+    }
+}
@@ -16,16 +16,17 @@
 
 package org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMAttribute;
@@ -34,7 +35,8 @@ import org.apache.axiom.om.util.AXIOMUtil;
 import org.apache.commons.collections.IteratorUtils;
 import org.apache.synapse.config.Entry;
 import org.apache.synapse.config.SynapseConfiguration;
-import org.apache.synapse.config.SynapseConfigurationBuilder;
+import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.config.xml.ConfigurationFactoryAndSerializerFinder;
 import org.apache.synapse.config.xml.ProxyServiceFactory;
 import org.apache.synapse.config.xml.SequenceMediatorFactory;
 import org.apache.synapse.config.xml.TemplateMediatorFactory;
@@ -75,6 +77,7 @@ import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.edit.parts.EsbServerEditPart;
 import org.wso2.integrationstudio.gmf.esb.diagram.part.EsbDiagramEditor;
 import org.wso2.integrationstudio.gmf.esb.diagram.validator.ProcessSourceView;
+import org.wso2.integrationstudio.gmf.esb.persistence.EsbModelTransformer;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 import org.wso2.integrationstudio.platform.ui.utils.UnrecogizedArtifactTypeException;
@@ -105,6 +108,11 @@ public class Deserializer {
      */
     private List<IGraphicalEditPart> mediatorFlowContainerList;
 
+    /**
+     * Artifact name of each top level node created by {@link #updateDesign(String, EsbDiagramEditor, boolean)}
+     */
+    private Map<EsbElement, String> artifactNames = new WeakHashMap<EsbElement, String>();
+
     /**
      * @return singleton instance.
      */
@@ -122,22 +130,62 @@ public class Deserializer {
      * @param graphicalEditor
      * @throws Exception
      */
-    @SuppressWarnings("unchecked")
     public void updateDesign(String source, EsbDiagramEditor graphicalEditor, boolean withSyanpse) throws Exception {
+        updateDesign(source, graphicalEditor, withSyanpse, false);
+    }
 
-        EsbDeserializerRegistry.getInstance().init(graphicalEditor);
-        Map<String, Object> artifacts = getArtifacts(source, withSyanpse);
+    /**
+     * Update graphical model. In incremental mode the source of each artifact is compared with what the current
+     * model serializes to, and only the artifacts that differ are removed and created again. Untouched artifacts
+     * keep their layout and undo history. As whole artifacts are compared, this only pays off when the canvas holds
+     * several artifacts created by this method; otherwise the whole diagram is rebuilt without comparing anything.
+     * 
+     * @param source
+     * @param graphicalEditor
+     * @param withSyanpse
+     * @param incremental whether to keep the artifacts that have not changed
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public void updateDesign(String source, EsbDiagramEditor graphicalEditor, boolean withSyanpse, boolean incremental)
+            throws Exception {
 
         Diagram diagram = graphicalEditor.getDiagram();
         EsbDiagram esbDiagram = (EsbDiagram) diagram.getElement();
         EsbServer esbServer = esbDiagram.getServer();
+        // A single artifact changes with any edit, leaving nothing to keep for the cost of the comparison
+        incremental = incremental && getArtifactsOnCanvas(esbServer).size() > 1;
+
+        EsbDeserializerRegistry.getInstance().init(graphicalEditor);
+        OMElement element = AXIOMUtil.stringToOM(source);
+        Map<String, String> artifactSources = null;
+        if (incremental) {
+            // Taken before the factories get to see the element
+            artifactSources = ArtifactSourceDiff.getArtifactSources(element);
+        }
+        Map<String, Object> artifacts = getArtifacts(element, withSyanpse);
         esbServer.setLockmode(true);
+
+        Set<String> unchangedArtifacts = Collections.emptySet();
+        if (incremental) {
+            unchangedArtifacts = getUnchangedArtifacts(artifactSources, esbServer, artifacts.keySet());
+            if (!artifacts.isEmpty() && unchangedArtifacts.size() == artifacts.size()
+                    && esbServer.getChildren().size() == artifacts.size()) {
+                // Source describes exactly what is on the canvas already
+                return;
+            }
+        }
+
         CompoundCommand resultCommand = new CompoundCommand();
 
         TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(esbServer);
-        // cleaning old diagram
-        // TODO: should be replaced by better approach
+        // cleaning old diagram, except for the artifacts that are not affected by the change
+        List<EsbElement> retainedChildren = new ArrayList<EsbElement>();
         for (EsbElement child : esbServer.getChildren()) {
+            if (unchangedArtifacts.contains(artifactNames.get(child))) {
+                retainedChildren.add(child);
+                continue;
+            }
             RemoveCommand removeCmd = new RemoveCommand(domain, esbServer, EsbPackage.Literals.ESB_SERVER__CHILDREN,
                     child);
             resultCommand.append(removeCmd);
@@ -147,18 +195,32 @@ public class Deserializer {
             domain.getCommandStack().execute(resultCommand);
         }
 
+        AbstractEsbNodeDeserializer.refreshEditPartMap();
         int locationY = 0;
+        for (EsbElement child : retainedChildren) {
+            EditPart retainedEditpart = AbstractEsbNodeDeserializer.getEditpart(child);
+            if (retainedEditpart instanceof IGraphicalEditPart) {
+                Rectangle bounds = ((IGraphicalEditPart) retainedEditpart).getFigure().getBounds();
+                locationY = Math.max(locationY, bounds.y + bounds.height + 25);
+            }
+        }
+
+        EditPart editpart = AbstractEsbNodeDeserializer.getEditpart(esbServer);
+        IGraphicalEditPart gEditpart = (IGraphicalEditPart) ((EsbServerEditPart) editpart).getChildren().get(0);
+        boolean nodesCreated = false;
 
         for (Map.Entry<String, Object> artifact : artifacts.entrySet()) {
+            if (unchangedArtifacts.contains(artifact.getKey())) {
+                continue;
+            }
             @SuppressWarnings("rawtypes")
             IEsbNodeDeserializer deserializer = EsbDeserializerRegistry.getInstance()
                     .getDeserializer(artifact.getValue());
-            AbstractEsbNodeDeserializer.refreshEditPartMap();
-            EditPart editpart = AbstractEsbNodeDeserializer.getEditpart(esbServer);
-            IGraphicalEditPart gEditpart = (IGraphicalEditPart) ((EsbServerEditPart) editpart).getChildren().get(0);
             if (deserializer != null) {
                 EsbNode node = deserializer.createNode(gEditpart, artifact.getValue());
                 if (node != null) {
+                    nodesCreated = true;
+                    artifactNames.put(node, artifact.getKey());
                     AbstractEsbNodeDeserializer.refreshEditPartMap();
                     IGraphicalEditPart graphicalNode = (IGraphicalEditPart) AbstractEsbNodeDeserializer
                             .getEditpart(node);
@@ -179,7 +241,7 @@ public class Deserializer {
                 }
             }
         }
-        if (artifacts.size() > 0) {
+        if (nodesCreated) {
             AbstractEsbNodeDeserializer.connectMediatorFlows();
         }
         /*
@@ -192,6 +254,46 @@ public class Deserializer {
 
     }
 
+    /**
+     * Returns the names of the artifacts which are already on the canvas and whose source is the same as what the
+     * canvas serializes to. An empty set is returned whenever the comparison is not possible, which results in a
+     * full rebuild.
+     */
+    private Set<String> getUnchangedArtifacts(Map<String, String> newSources, EsbServer esbServer,
+            Set<String> names) {
+        Set<String> unchangedArtifacts = new HashSet<String>();
+        Set<String> namesOnCanvas = getArtifactsOnCanvas(esbServer);
+        try {
+            Map<String, String> currentSources = ArtifactSourceDiff
+                    .getArtifactSources(EsbModelTransformer.instance.designToSource(esbServer));
+            for (String name : names) {
+                String newSource = newSources.get(name);
+                if (namesOnCanvas.contains(name) && newSource != null && newSource.equals(currentSources.get(name))) {
+                    unchangedArtifacts.add(name);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Unable to compare the source with the current design, rebuilding the whole diagram", e);
+            unchangedArtifacts.clear();
+        }
+        return unchangedArtifacts;
+    }
+
+    /**
+     * Returns the names of the artifacts on the canvas which were created by
+     * {@link #updateDesign(String, EsbDiagramEditor, boolean, boolean)}.
+     */
+    private Set<String> getArtifactsOnCanvas(EsbServer esbServer) {
+        Set<String> namesOnCanvas = new HashSet<String>();
+        for (EsbElement child : esbServer.getChildren()) {
+            String name = artifactNames.get(child);
+            if (name != null) {
+                namesOnCanvas.add(name);
+            }
+        }
+        return namesOnCanvas;
+    }
+
     @SuppressWarnings("unchecked")
     public void updateDesign(String source, ESBFormEditor formEditor, ArtifactType artifactType, boolean withSynapse)
             throws Exception {
@@ -215,8 +317,17 @@ public class Deserializer {
      * @throws Exception
      */
     public ArtifactType getArtifactType(String source) throws Exception {
+        return getArtifactType(AXIOMUtil.stringToOM(source));
+    }
+
+    /**
+     * Return the relevant ArtifactType(Proxy service, Sequence, API etc.) for an already parsed ESB configuration
+     * 
+     * @param element
+     * @throws Exception
+     */
+    public ArtifactType getArtifactType(OMElement element) throws Exception {
         ArtifactType artifactType = null;
-        OMElement element = AXIOMUtil.stringToOM(source);
         String localName = element.getLocalName();
         switch (localName) {
 		case "definitions":
@@ -313,22 +424,24 @@ public class Deserializer {
     }
 
     private Map<String, Object> getArtifacts(String source, boolean withSynapse) throws Exception {
+        return getArtifacts(AXIOMUtil.stringToOM(source), withSynapse);
+    }
+
+    /**
+     * Builds the synapse artifacts of the given configuration. The same element is used to detect the artifact
+     * type and to build the artifacts, so the source is parsed only once.
+     */
+    private Map<String, Object> getArtifacts(OMElement element, boolean withSynapse) throws Exception {
         Map<String, Object> artifacts = new LinkedHashMap<String, Object>();
 
-        ArtifactType artifactType = getArtifactType(source);
-        OMElement element = AXIOMUtil.stringToOM(source);
+        ArtifactType artifactType = getArtifactType(element);
 
         Properties properties = new Properties();
         properties.put(WSDLEndpointFactory.SKIP_WSDL_PARSING, "true");
 
         switch (artifactType) {
         case SYNAPSE_CONFIG:
-            File tempfile = File.createTempFile("file", ".tmp");
-            BufferedWriter outfile = new BufferedWriter(new FileWriter(tempfile));
-            outfile.write(source);
-            outfile.close();
-            SynapseConfiguration synapseCofig = SynapseConfigurationBuilder.getConfiguration(tempfile.getAbsolutePath(),
-                    null);
+            SynapseConfiguration synapseCofig = getSynapseConfiguration(element);
             Collection<ProxyService> proxyServices = synapseCofig.getProxyServices();
             for (ProxyService proxy : proxyServices) {
                 artifacts.put(proxy.getName(), proxy);
@@ -481,6 +594,22 @@ public class Deserializer {
         return artifacts;
     }
 
+    /**
+     * Builds a {@link SynapseConfiguration} from an in-memory definitions element, the same way
+     * {@link org.apache.synapse.config.SynapseConfigurationBuilder} does for a configuration file.
+     */
+    private SynapseConfiguration getSynapseConfiguration(OMElement element) {
+        SynapseConfiguration synapseConfig = ConfigurationFactoryAndSerializerFinder.getInstance()
+                .getConfiguration(element, null);
+        if (synapseConfig.getMainSequence() == null) {
+            SynapseConfigUtils.setDefaultMainSequence(synapseConfig);
+        }
+        if (synapseConfig.getFaultSequence() == null) {
+            SynapseConfigUtils.setDefaultFaultSequence(synapseConfig);
+        }
+        return synapseConfig;
+    }
+
     private void createEndpointTemplate(OMElement element, Properties properties, Map<String, Object> artifacts,
             boolean withSynapse) {
         Template template;
@@ -527,7 +656,7 @@ public class Deserializer {
             }
 
             try {
-                getArtifacts(element.toStringWithConsume(), withSynapse);
+                getArtifacts(element.cloneOMElement(), withSynapse);
             } catch (Exception e) {
                 if (!(elementSub.getLocalName().equals("proxy") || elementSub.getLocalName().equals("target")
                         || elementSub.getLocalName().equals("template") || elementSub.getLocalName().equals("api"))) {
@@ -546,7 +675,7 @@ public class Deserializer {
 
                 elementSub.addChild(omElement);
                 try {
-                    getArtifacts(element.toStringWithConsume(), withSynapse);
+                    getArtifacts(element.cloneOMElement(), withSynapse);
                 } catch (Exception e) {
                     List<OMElement> subChildElements = IteratorUtils.toList(omElement.getChildElements());
                     if (subChildElements.size() > 0) {
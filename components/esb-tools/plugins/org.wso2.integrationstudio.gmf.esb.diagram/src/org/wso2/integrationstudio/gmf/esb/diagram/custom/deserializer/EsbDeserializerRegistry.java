@@ -16,8 +16,6 @@
 
 package org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import org.apache.synapse.config.Entry;
 import org.apache.synapse.core.axis2.ProxyService;
@@ -95,6 +93,7 @@ import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.CloudConne
 import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.DummyMessageProcessor;
 import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.EJBMediatorExt;
 import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.EntitlementMediatorExt;
+import org.wso2.integrationstudio.gmf.esb.persistence.TypeDispatchTable;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
 import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.POJOCommandMediatorExt;
@@ -105,11 +104,6 @@ import org.wso2.carbon.mediator.datamapper.DataMapperMediator;
  * A registry of synapse model to model object deserializers.
  */
 public class EsbDeserializerRegistry {
-    /**
-     * Singleton instance.
-     */
-    private static EsbDeserializerRegistry singleton;
-
     /**
      * IntegrationStudio logger
      */
@@ -119,9 +113,9 @@ public class EsbDeserializerRegistry {
      * synapse model type to deserializers map.
      */
     @SuppressWarnings("rawtypes")
-    private Map<Class<?>, IEsbNodeDeserializer> deserializersMap;
+    private final TypeDispatchTable<IEsbNodeDeserializer> deserializersMap;
 
-    private EsbDiagramEditor diagramEditor;
+    private volatile EsbDiagramEditor diagramEditor;
 
     /**
      * Creates a new deserialize registry.
@@ -129,7 +123,7 @@ public class EsbDeserializerRegistry {
     @SuppressWarnings("rawtypes")
     private EsbDeserializerRegistry() {
         MediatorFactoryUtils.registerFactories(); /* register custom factories */
-        deserializersMap = new HashMap<Class<?>, IEsbNodeDeserializer>();
+        deserializersMap = new TypeDispatchTable<IEsbNodeDeserializer>();
         addDeserializer(LogMediator.class, new LogMediatorDeserializer());
         addDeserializer(PropertyMediator.class, new PropertyMediatorDeserializer());
         addDeserializer(PropertyGroupMediator.class, new PropertyGroupMediatorDeserializer());
@@ -215,10 +209,14 @@ public class EsbDeserializerRegistry {
      * @return singleton instance.
      */
     public static EsbDeserializerRegistry getInstance() {
-        if (null == singleton) {
-            singleton = new EsbDeserializerRegistry();
-        }
-        return singleton;
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Holds the singleton instance, which gets created once on first use and is safe to share between threads.
+     */
+    private static class SingletonHolder {
+        private static final EsbDeserializerRegistry INSTANCE = new EsbDeserializerRegistry();
     }
 
     /**
@@ -240,7 +238,8 @@ public class EsbDeserializerRegistry {
     }
 
     /**
-     * Attempts to locate a deserializer corresponding to the specified synapse model object.
+     * Attempts to locate a deserializer corresponding to the specified synapse model object. Subclasses of a
+     * registered synapse model class resolve to the deserializer of that class.
      * 
      * @param synapseModel
      * @return
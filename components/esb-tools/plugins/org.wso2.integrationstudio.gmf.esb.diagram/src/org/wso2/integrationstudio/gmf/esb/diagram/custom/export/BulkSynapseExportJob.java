@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.custom.export;
+
+import static org.wso2.integrationstudio.gmf.esb.diagram.custom.EditorUtils.DIAGRAM_FILE_EXTENSION;
+import static org.wso2.integrationstudio.gmf.esb.diagram.custom.EditorUtils.SYNAPSE_RESOURCE_DIR;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.eclipse.gmf.runtime.notation.NotationPackage;
+import org.eclipse.swt.widgets.Display;
+import org.wso2.integrationstudio.gmf.esb.EndpointDiagram;
+import org.wso2.integrationstudio.gmf.esb.EsbDiagram;
+import org.wso2.integrationstudio.gmf.esb.EsbPackage;
+import org.wso2.integrationstudio.gmf.esb.EsbServer;
+import org.wso2.integrationstudio.gmf.esb.LoadBalanceEndPoint;
+import org.wso2.integrationstudio.gmf.esb.RecipientListEndPoint;
+import org.wso2.integrationstudio.gmf.esb.Sequences;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.gmf.esb.persistence.EsbModelTransformer;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Regenerates the synapse configuration of a set of ESB diagrams without opening them in an editor.
+ *
+ * Diagrams are loaded and transformed in parallel, each one in its own resource set, while the resulting files are
+ * written one after the other from the job thread so that workspace changes stay under the job's scheduling rule.
+ * Diagrams whose transformation looks up the open editors are left to the job thread, which transforms them one after
+ * the other on the UI thread.
+ * The time taken by each diagram is logged.
+ */
+public class BulkSynapseExportJob extends Job {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final String TARGET_DIR = "target";
+    private static final String TARGET_FILE_PREFIX = "synapse_";
+
+    private final IProject project;
+    private final List<IFile> diagramFiles;
+    private final List<IFile> exportedFiles = new ArrayList<IFile>();
+
+    /**
+     * Creates a job exporting every diagram of the given project.
+     *
+     * @param project ESB project
+     * @throws CoreException if the diagrams of the project cannot be listed
+     */
+    public BulkSynapseExportJob(IProject project) throws CoreException {
+        this(project, getDiagramFiles(project.getFolder(SYNAPSE_RESOURCE_DIR)));
+    }
+
+    /**
+     * Creates a job exporting the given diagrams of a project.
+     *
+     * @param project ESB project
+     * @param diagramFiles diagram files of the project to export
+     */
+    public BulkSynapseExportJob(IProject project, List<IFile> diagramFiles) {
+        super("Exporting synapse artifacts of " + project.getName());
+        this.project = project;
+        this.diagramFiles = diagramFiles;
+        setRule(project);
+        setUser(true);
+    }
+
+    /**
+     * Returns the diagram files found in the given folder and its sub folders.
+     *
+     * @param folder folder to look in
+     * @return diagram files
+     * @throws CoreException if the folder cannot be read
+     */
+    public static List<IFile> getDiagramFiles(IContainer folder) throws CoreException {
+        List<IFile> diagramFiles = new ArrayList<IFile>();
+        if (folder.exists()) {
+            collectDiagramFiles(folder, diagramFiles);
+        }
+        return diagramFiles;
+    }
+
+    private static void collectDiagramFiles(IContainer folder, List<IFile> diagramFiles) throws CoreException {
+        for (IResource member : folder.members()) {
+            if (member instanceof IContainer) {
+                collectDiagramFiles((IContainer) member, diagramFiles);
+            } else if (member instanceof IFile && member.getName().endsWith(DIAGRAM_FILE_EXTENSION)) {
+                diagramFiles.add((IFile) member);
+            }
+        }
+    }
+
+    /**
+     * Returns the files written by the last run of this job.
+     *
+     * @return exported files
+     */
+    public List<IFile> getExportedFiles() {
+        return exportedFiles;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        try {
+            return export(monitor);
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        }
+    }
+
+    /**
+     * Exports the diagrams of this job in the calling thread, which must be allowed to modify the project.
+     *
+     * @param monitor progress monitor
+     * @return status of the export, holding a child status for each diagram that could not be exported
+     * @throws OperationCanceledException if the export was cancelled
+     */
+    public IStatus export(IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, getName(), diagramFiles.size() + 1);
+        MultiStatus status = new MultiStatus(Activator.PLUGIN_ID, IStatus.OK,
+                "Some synapse artifacts of " + project.getName() + " could not be exported", null);
+        exportedFiles.clear();
+
+        IFolder targetFolder = project.getFolder(TARGET_DIR);
+        try {
+            if (!targetFolder.exists()) {
+                targetFolder.create(true, true, progress.newChild(1));
+                targetFolder.setHidden(true);
+            } else {
+                progress.worked(1);
+            }
+        } catch (CoreException e) {
+            return e.getStatus();
+        }
+
+        // Packages are initialized lazily and not safely so, make sure it happens before the workers start
+        EsbPackage.eINSTANCE.eClass();
+        NotationPackage.eINSTANCE.eClass();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            List<DiagramTransformTask> tasks = new ArrayList<DiagramTransformTask>(diagramFiles.size());
+            for (IFile diagramFile : diagramFiles) {
+                DiagramTransformTask task = new DiagramTransformTask(diagramFile, progress);
+                pool.execute(task);
+                tasks.add(task);
+            }
+            for (int i = 0; i < tasks.size(); ++i) {
+                DiagramTransformTask task = tasks.get(i);
+                task.join();
+                if (progress.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                if (task.server != null) {
+                    transformOnUIThread(task);
+                }
+                String name = diagramFiles.get(i).getName().split(DIAGRAM_FILE_EXTENSION)[0];
+                progress.subTask(name);
+                if (task.error != null) {
+                    log.error("Error while exporting " + diagramFiles.get(i).getFullPath(), task.error);
+                    status.add(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+                            "Could not export " + diagramFiles.get(i).getFullPath(), task.error));
+                    progress.worked(1);
+                    continue;
+                }
+                IFile targetFile = targetFolder.getFile(TARGET_FILE_PREFIX + name + ".xml");
+                try {
+                    write(targetFile, task.source, progress.newChild(1));
+                    exportedFiles.add(targetFile);
+                } catch (CoreException e) {
+                    log.error("Error while writing " + targetFile.getFullPath(), e);
+                    status.add(e.getStatus());
+                }
+                log.info("Exported " + name + " in " + TimeUnit.NANOSECONDS.toMillis(task.elapsed) + " ms");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Exported " + exportedFiles.size() + " of " + diagramFiles.size() + " synapse artifacts of "
+                + project.getName() + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return status;
+    }
+
+    /**
+     * Transforms a diagram left over by the workers as its transformers look up the open editors, which is only
+     * possible on the UI thread.
+     */
+    private static void transformOnUIThread(final DiagramTransformTask task) {
+        Runnable transform = new Runnable() {
+            @Override
+            public void run() {
+                task.transform();
+            }
+        };
+        Display display = Display.getDefault();
+        if (display.getThread() == Thread.currentThread()) {
+            transform.run();
+        } else {
+            display.syncExec(transform);
+        }
+    }
+
+    /**
+     * Returns whether transforming the given server looks up the open editors, as the transformers of receiving
+     * sequences, and of load balance and recipient list endpoints outside endpoint diagrams, do.
+     */
+    private static boolean needsWorkbench(EsbServer server) {
+        for (TreeIterator<EObject> contents = server.eAllContents(); contents.hasNext();) {
+            EObject object = contents.next();
+            if (object instanceof Sequences && ((Sequences) object).isRecieveSequence()) {
+                return true;
+            }
+            if ((object instanceof LoadBalanceEndPoint || object instanceof RecipientListEndPoint)
+                    && !(object.eContainer() instanceof EndpointDiagram)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(IFile file, String source, IProgressMonitor monitor) throws CoreException {
+        InputStream is = new ByteArrayInputStream(source.getBytes());
+        if (file.exists()) {
+            file.setContents(is, true, false, monitor);
+        } else {
+            file.create(is, true, monitor);
+        }
+    }
+
+    /**
+     * Loads a diagram and transforms it to its synapse configuration. Failures are kept on the task rather than
+     * thrown so that one broken diagram does not hide the outcome of the others.
+     */
+    private static class DiagramTransformTask extends RecursiveTask<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IFile diagramFile;
+        private final transient IProgressMonitor monitor;
+        private transient EsbServer server;
+        private String source;
+        private Exception error;
+        private long elapsed;
+
+        DiagramTransformTask(IFile diagramFile, IProgressMonitor monitor) {
+            this.diagramFile = diagramFile;
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected String compute() {
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                File file = new File(diagramFile.getLocationURI().getPath());
+                Resource resource = new ResourceSetImpl().getResource(URI.createFileURI(file.getAbsolutePath()),
+                        true);
+                EsbDiagram diagram = (EsbDiagram) ((Diagram) resource.getContents().get(0)).getElement();
+                EsbServer server = diagram.getServer();
+                if (needsWorkbench(server)) {
+                    // Left to the job thread
+                    this.server = server;
+                } else {
+                    source = EsbModelTransformer.instance.designToSource(server);
+                }
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                elapsed = System.nanoTime() - start;
+            }
+            return source;
+        }
+
+        /**
+         * Transforms the server left over by {@link #compute()}.
+         */
+        void transform() {
+            long start = System.nanoTime();
+            try {
+                source = EsbModelTransformer.instance.designToSource(server);
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -1686,7 +1686,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 
     void rebuildModelObject(final String xml, boolean withSynapse) throws Exception {
 
-        Deserializer.getInstance().updateDesign(xml, graphicalEditor, withSynapse);
+        Deserializer.getInstance().updateDesign(xml, graphicalEditor, withSynapse, true);
 
         final EsbMultiPageEditor tempEditor = this;
         Display.getDefault().asyncExec(new Runnable() {
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.gmf.esb.diagram.validator;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
+import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.Deserializer;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Validity of the synapse artifacts of the workspace, as shown by {@link FileDecorator}.
+ *
+ * Each result is kept along with the modification stamp of the file it was computed from. Artifacts that were
+ * never validated, or changed since, are validated by a background job, after which the decorations are refreshed.
+ * The validity of a folder or project is derived from the results of the artifacts it contains, so reading it never
+ * touches the file system.
+ */
+public class ArtifactValidationCache implements IResourceChangeListener {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final String XML_EXTENSION = "xml";
+    private static final String POM_FILE = "pom.xml";
+    private static final String CAPP_NOT_ALLOWED = "CAPP_NOT_ALLOWED";
+    private static final List<String> ARTIFACT_FOLDER_PATH = Arrays.asList("src", "main", "synapse-config");
+    private static final List<String> ARTIFACTS = Arrays.asList("api", "endpoints", "inbound-endpoints",
+            "local-entries", "message-processors", "message-stores", "proxy-services", "sequences", "tasks",
+            "templates");
+    private static final int CONTENT_CHANGES = IResourceDelta.CONTENT | IResourceDelta.REPLACED;
+
+    private static ArtifactValidationCache instance;
+
+    private final Map<IFile, ValidationResult> results = new ConcurrentHashMap<>();
+    private final Set<IProject> scannedProjects = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Queue<IResource> pending = new ConcurrentLinkedQueue<>();
+    private final Set<IResource> queued = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Job validationJob = new ValidationJob();
+
+    private ArtifactValidationCache() {
+    }
+
+    public static synchronized ArtifactValidationCache getInstance() {
+        if (instance == null) {
+            instance = new ArtifactValidationCache();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the given file is a synapse artifact, that is a XML file of one of the artifact folders of
+     * src/main/synapse-config.
+     *
+     * @param file file to check
+     * @return true if the file is a synapse artifact
+     */
+    public static boolean isArtifact(IFile file) {
+        if (!XML_EXTENSION.equals(file.getFileExtension()) || POM_FILE.equals(file.getName())) {
+            return false;
+        }
+        String[] segments = file.getProjectRelativePath().segments();
+        int folderIndex = segments.length - 2;
+        if (folderIndex < ARTIFACT_FOLDER_PATH.size() || !ARTIFACTS.contains(segments[folderIndex])) {
+            return false;
+        }
+        List<String> parents = Arrays.asList(segments).subList(folderIndex - ARTIFACT_FOLDER_PATH.size(),
+                folderIndex);
+        return parents.equals(ARTIFACT_FOLDER_PATH);
+    }
+
+    /**
+     * Returns the last known validity of an artifact, scheduling its validation if it is unknown or out of date.
+     *
+     * @param file synapse artifact
+     * @return false if the artifact is known to be invalid, true otherwise
+     */
+    public boolean isValid(IFile file) {
+        ValidationResult result = results.get(file);
+        if (result == null || result.modificationStamp != file.getModificationStamp()) {
+            schedule(file);
+        }
+        return result == null || result.valid;
+    }
+
+    /**
+     * Checks whether a folder or project contains an artifact known to be invalid. Artifacts of the project that
+     * were never validated are scheduled for validation.
+     *
+     * @param container folder or project
+     * @return true if an artifact under the container is known to be invalid
+     */
+    public boolean hasInvalidArtifacts(IContainer container) {
+        IPath location = container.getLocation();
+        if (location == null) {
+            return false;
+        }
+        IProject project = container.getProject();
+        if (scannedProjects.add(project)) {
+            schedule(project);
+        }
+        for (Map.Entry<IFile, ValidationResult> entry : results.entrySet()) {
+            ValidationResult result = entry.getValue();
+            // Artifacts of nested modules are located under the container even if they belong to another project
+            if (!result.valid && location.isPrefixOf(result.location)) {
+                if (result.modificationStamp != entry.getKey().getModificationStamp()) {
+                    schedule(entry.getKey());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+        try {
+            delta.accept(child -> {
+                IResource resource = child.getResource();
+                if (resource.getType() == IResource.PROJECT && child.getKind() == IResourceDelta.REMOVED) {
+                    scannedProjects.remove(resource);
+                }
+                if (resource.getType() != IResource.FILE) {
+                    return true;
+                }
+                IFile file = (IFile) resource;
+                if (child.getKind() == IResourceDelta.REMOVED) {
+                    if (results.remove(file) != null) {
+                        updateDecorations();
+                    }
+                } else if ((child.getKind() == IResourceDelta.ADDED
+                        || (child.getFlags() & CONTENT_CHANGES) != 0) && isArtifact(file)) {
+                    // Marker changes, made by the validation itself among others, do not affect the result
+                    schedule(file);
+                }
+                return false;
+            });
+        } catch (CoreException e) {
+            log.error("Error while processing resource changes", e);
+        }
+    }
+
+    private void schedule(IResource resource) {
+        if (queued.add(resource)) {
+            pending.add(resource);
+            validationJob.schedule();
+        }
+    }
+
+    private static void updateDecorations() {
+        Display display = PlatformUI.isWorkbenchRunning() ? PlatformUI.getWorkbench().getDisplay() : null;
+        if (display != null && !display.isDisposed()) {
+            display.asyncExec(() -> {
+                if (PlatformUI.isWorkbenchRunning()) {
+                    PlatformUI.getWorkbench().getDecoratorManager().update(FileDecorator.ID);
+                }
+            });
+        }
+    }
+
+    /**
+     * Validates the queued artifacts and projects, one after the other.
+     */
+    private class ValidationJob extends Job {
+
+        ValidationJob() {
+            super("Validating synapse artifacts");
+            setSystem(true);
+            setPriority(DECORATE);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            boolean changed = false;
+            IResource resource;
+            while ((resource = pending.poll()) != null) {
+                queued.remove(resource);
+                if (monitor.isCanceled()) {
+                    pending.clear();
+                    queued.clear();
+                    return Status.CANCEL_STATUS;
+                }
+                if (resource.getType() == IResource.FILE) {
+                    changed |= validate((IFile) resource);
+                } else if (resource.isAccessible()) {
+                    try {
+                        resource.accept((IResourceProxy proxy) -> {
+                            if (proxy.getType() == IResource.FILE) {
+                                IFile file = (IFile) proxy.requestResource();
+                                ValidationResult result = results.get(file);
+                                if (isArtifact(file) && (result == null
+                                        || result.modificationStamp != proxy.getModificationStamp())) {
+                                    pending.add(file);
+                                    queued.add(file);
+                                }
+                            }
+                            return true;
+                        }, IResource.NONE);
+                    } catch (CoreException e) {
+                        log.error("Error while looking for synapse artifacts in " + resource.getFullPath(), e);
+                    }
+                }
+            }
+            if (changed) {
+                updateDecorations();
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Validates an artifact and updates its markers.
+         *
+         * @return true if the validity of the artifact changed
+         */
+        private boolean validate(IFile file) {
+            ValidationResult previous = results.get(file);
+            long modificationStamp = file.getModificationStamp();
+            if (!file.exists() || file.getLocation() == null) {
+                return results.remove(file) != null;
+            }
+            if (previous != null && previous.modificationStamp == modificationStamp) {
+                return false;
+            }
+            boolean valid = true;
+            try (InputStream contents = file.getContents(); Scanner scanner = new Scanner(contents)) {
+                String source = scanner.useDelimiter("\\A").next();
+                valid = Deserializer.getInstance().isValidSynapseConfig(source, true, false).isValid();
+                file.deleteMarkers(CAPP_NOT_ALLOWED, false, IResource.DEPTH_ONE);
+                if (!valid) {
+                    file.createMarker(CAPP_NOT_ALLOWED);
+                }
+            } catch (NoSuchElementException e) {
+                // empty file, nothing to validate
+            } catch (Exception e) {
+                log.error("Error while validating " + file.getFullPath(), e);
+            }
+            results.put(file, new ValidationResult(modificationStamp, file.getLocation(), valid));
+            return previous == null ? !valid : previous.valid != valid;
+        }
+    }
+
+    private static class ValidationResult {
+
+        private final long modificationStamp;
+        private final IPath location;
+        private final boolean valid;
+
+        ValidationResult(long modificationStamp, IPath location, boolean valid) {
+            this.modificationStamp = modificationStamp;
+            this.location = location;
+            this.valid = valid;
+        }
+    }
+}
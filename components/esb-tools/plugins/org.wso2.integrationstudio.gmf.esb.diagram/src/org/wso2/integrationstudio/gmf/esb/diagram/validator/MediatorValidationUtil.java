@@ -66,58 +66,63 @@ public class MediatorValidationUtil {
     
     private static final String SYNAPSE_NAMESPACE = "http://ws.apache.org/ns/synapse";
     
-    private static SequenceMediatorFactory sequenceMediatorFactory;
-    private static LogMediatorFactory logMediatorFactory;
-    private static EnqueueMediatorFactory enqueueMediatorFactory;
-    private static SendMediatorFactory sendMediatorFactory;
-    private static LoopBackMediatorFactory loopBackMediatorFactory;
-    private static CallMediatorFactory callMediatorFactory;
-    private static RespondMediatorFactory respondMediatorFactory;
-    private static EventMediatorFactory eventMediatorFactory;
-    private static DropMediatorFactory dropMediatorFactory;
-    private static EnrichMediatorFactory enrichMediatorFactory;
-    private static PropertyMediatorFactory propertyMediatorFactory;
-    private static PropertyGroupMediatorFactory propertyGroupMediatorFactory;
-    private static FilterMediatorFactory filterMediatorFactory;
-    private static InvokeMediatorFactory invokeMediatorFactory;
-    private static MessageStoreMediatorFactory messageStoreMediatorFactory;
-    private static SwitchMediatorFactory switchMediatorFactory;
-    private static ValidateMediatorFactory validateMediatorFactory;
-    private static ConditionalRouterMediatorFactory conditionalRouterMediatorFactory;
-    private static DummyScriptMediatorFactory scriptMediatorFactory;
-    private static SpringMediatorFactory springMediatorFactory;
-    private static FaultMediatorFactory faultMediatorFactory;
-    private static HeaderMediatorFactory headerMediatorFactory;
-    private static PayloadFactoryMediatorFactory payloadFactoryMediatorFactory;
-    private static SmooksMediatorFactory smooksMediatorFactory;
-    private static URLRewriteMediatorFactory urlRewriteMediatorFactory;
-    private static XQueryMediatorFactory xQueryMediatorFactory;
-    private static XSLTMediatorFactory xsltMediatorFactory;
-    private static DataMapperMediatorFactory dataMapperMediatorFactory;
-    private static FastXSLTMediatorFactory fastXSLTMediatorFactory;
-    private static CacheMediatorFactory cacheMediatorFactory;
-    private static DBReportMediatorFactory dbReportMediatorFactory;
-    private static DBLookupMediatorFactory dbLookupMediatorFactory;
-    private static ThrottleMediatorFactory throttleMediatorFactory;
-    private static TransactionMediatorFactory transactionMediatorFactory;
-    private static AggregateMediatorFactory aggregateMediatorFactory;
-    private static CalloutMediatorFactory calloutMediatorFactory;
-    private static CloneMediatorFactory cloneMediatorFactory;
-    private static IterateMediatorFactory iterateMediatorFactory;
-    private static ForEachMediatorFactory forEachMediatorFactory;
-    private static EntitlementMediatorFactory entitlementMediatorFactory;
-    private static OAuthMediatorFactory oAuthMediatorFactory;
-    private static RuleMediatorFactory ruleMediatorFactory;
-    private static PublishEventMediatorFactory publishEventMediatorFactory;
-    private static ClassMediatorExtFactory classMediatorExtFactory;
-    private static BeanMediatorExtFactory beanMediatorExtFactory;
-    private static DummyPOJOCommandMediatorFactory pojoCommandMediatorFactory;
-    private static EJBMediatorExtFactory ejbMediatorExtFactory;
-    private static BuilderMediatorExtFactory builderMediatorExtFactory;
-    private static BamMediatorExtFactory bamMediatorExtFactory;
-    private static JSONTransformMediatorFactory jsonTransformMediatorFactory;
-    private static DataServiceCallMediatorFactory dataServiceCallMediatorFactory;
-    private static NTLMMediatorFactory ntlmMediatorFactory;
+    // Created up front, as mediators are validated from several worker threads at once
+    private static final SequenceMediatorFactory sequenceMediatorFactory = new SequenceMediatorFactory();
+    private static final LogMediatorFactory logMediatorFactory = new LogMediatorFactory();
+    private static final EnqueueMediatorFactory enqueueMediatorFactory = new EnqueueMediatorFactory();
+    private static final SendMediatorFactory sendMediatorFactory = new SendMediatorFactory();
+    private static final LoopBackMediatorFactory loopBackMediatorFactory = new LoopBackMediatorFactory();
+    private static final CallMediatorFactory callMediatorFactory = new CallMediatorFactory();
+    private static final RespondMediatorFactory respondMediatorFactory = new RespondMediatorFactory();
+    private static final EventMediatorFactory eventMediatorFactory = new EventMediatorFactory();
+    private static final DropMediatorFactory dropMediatorFactory = new DropMediatorFactory();
+    private static final EnrichMediatorFactory enrichMediatorFactory = new EnrichMediatorFactory();
+    private static final PropertyMediatorFactory propertyMediatorFactory = new PropertyMediatorFactory();
+    private static final PropertyGroupMediatorFactory propertyGroupMediatorFactory = new PropertyGroupMediatorFactory();
+    private static final FilterMediatorFactory filterMediatorFactory = new FilterMediatorFactory();
+    private static final InvokeMediatorFactory invokeMediatorFactory = new InvokeMediatorFactory();
+    private static final MessageStoreMediatorFactory messageStoreMediatorFactory = new MessageStoreMediatorFactory();
+    private static final SwitchMediatorFactory switchMediatorFactory = new SwitchMediatorFactory();
+    private static final ValidateMediatorFactory validateMediatorFactory = new ValidateMediatorFactory();
+    private static final ConditionalRouterMediatorFactory conditionalRouterMediatorFactory =
+            new ConditionalRouterMediatorFactory();
+    private static final DummyScriptMediatorFactory scriptMediatorFactory = new DummyScriptMediatorFactory();
+    private static final SpringMediatorFactory springMediatorFactory = new SpringMediatorFactory();
+    private static final FaultMediatorFactory faultMediatorFactory = new FaultMediatorFactory();
+    private static final HeaderMediatorFactory headerMediatorFactory = new HeaderMediatorFactory();
+    private static final PayloadFactoryMediatorFactory payloadFactoryMediatorFactory =
+            new PayloadFactoryMediatorFactory();
+    private static final SmooksMediatorFactory smooksMediatorFactory = new SmooksMediatorFactory();
+    private static final URLRewriteMediatorFactory urlRewriteMediatorFactory = new URLRewriteMediatorFactory();
+    private static final XQueryMediatorFactory xQueryMediatorFactory = new XQueryMediatorFactory();
+    private static final XSLTMediatorFactory xsltMediatorFactory = new XSLTMediatorFactory();
+    private static final DataMapperMediatorFactory dataMapperMediatorFactory = new DataMapperMediatorFactory();
+    private static final FastXSLTMediatorFactory fastXSLTMediatorFactory = new FastXSLTMediatorFactory();
+    private static final CacheMediatorFactory cacheMediatorFactory = new CacheMediatorFactory();
+    private static final DBReportMediatorFactory dbReportMediatorFactory = new DBReportMediatorFactory();
+    private static final DBLookupMediatorFactory dbLookupMediatorFactory = new DBLookupMediatorFactory();
+    private static final ThrottleMediatorFactory throttleMediatorFactory = new ThrottleMediatorFactory();
+    private static final TransactionMediatorFactory transactionMediatorFactory = new TransactionMediatorFactory();
+    private static final AggregateMediatorFactory aggregateMediatorFactory = new AggregateMediatorFactory();
+    private static final CalloutMediatorFactory calloutMediatorFactory = new CalloutMediatorFactory();
+    private static final CloneMediatorFactory cloneMediatorFactory = new CloneMediatorFactory();
+    private static final IterateMediatorFactory iterateMediatorFactory = new IterateMediatorFactory();
+    private static final ForEachMediatorFactory forEachMediatorFactory = new ForEachMediatorFactory();
+    private static final EntitlementMediatorFactory entitlementMediatorFactory = new EntitlementMediatorFactory();
+    private static final OAuthMediatorFactory oAuthMediatorFactory = new OAuthMediatorFactory();
+    private static final RuleMediatorFactory ruleMediatorFactory = new RuleMediatorFactory();
+    private static final PublishEventMediatorFactory publishEventMediatorFactory = new PublishEventMediatorFactory();
+    private static final ClassMediatorExtFactory classMediatorExtFactory = new ClassMediatorExtFactory();
+    private static final BeanMediatorExtFactory beanMediatorExtFactory = new BeanMediatorExtFactory();
+    private static final DummyPOJOCommandMediatorFactory pojoCommandMediatorFactory =
+            new DummyPOJOCommandMediatorFactory();
+    private static final EJBMediatorExtFactory ejbMediatorExtFactory = new EJBMediatorExtFactory();
+    private static final BuilderMediatorExtFactory builderMediatorExtFactory = new BuilderMediatorExtFactory();
+    private static final BamMediatorExtFactory bamMediatorExtFactory = new BamMediatorExtFactory();
+    private static final JSONTransformMediatorFactory jsonTransformMediatorFactory = new JSONTransformMediatorFactory();
+    private static final DataServiceCallMediatorFactory dataServiceCallMediatorFactory =
+            new DataServiceCallMediatorFactory();
+    private static final NTLMMediatorFactory ntlmMediatorFactory = new NTLMMediatorFactory();
 
 
     /**
@@ -154,57 +159,30 @@ public class MediatorValidationUtil {
         try {
         	switch (qTag) {
 			case "log":
-				if (logMediatorFactory == null) {
-                    logMediatorFactory = new LogMediatorFactory();
-                }
                 logMediatorFactory.createMediator(omElement, null);
 				break;
 			case "enqueue":
-				if (enqueueMediatorFactory == null) {
-                    enqueueMediatorFactory = new EnqueueMediatorFactory();
-                }
                 enqueueMediatorFactory.createMediator(omElement, null);
 				break;
 			case "send":
-				if (sendMediatorFactory == null) {
-                    sendMediatorFactory = new SendMediatorFactory();
-                }
                 sendMediatorFactory.createMediator(omElement, null);
 				break;
 			case "loopback":
-				if (loopBackMediatorFactory == null) {
-                    loopBackMediatorFactory = new LoopBackMediatorFactory();
-                }
                 loopBackMediatorFactory.createMediator(omElement, null);
 				break;
 			case "call":
-				if (callMediatorFactory == null) {
-                    callMediatorFactory = new CallMediatorFactory();
-                }
                 callMediatorFactory.createMediator(omElement, null);
 				break;
 			case "respond":
-				if (respondMediatorFactory == null) {
-                    respondMediatorFactory = new RespondMediatorFactory();
-                }
                 respondMediatorFactory.createMediator(omElement, null);
 				break;
 			case "event":
-				if (eventMediatorFactory == null) {
-                    eventMediatorFactory = new EventMediatorFactory();
-                }
                 eventMediatorFactory.createMediator(omElement, null);
 				break;
 			case "drop":
-				if (dropMediatorFactory == null) {
-                    dropMediatorFactory = new DropMediatorFactory();
-                }
                 dropMediatorFactory.createMediator(omElement, null);
 				break;
 			case "enrich":
-				if (enrichMediatorFactory == null) {
-                    enrichMediatorFactory = new EnrichMediatorFactory();
-                }
                 omElement.setNamespace(new OMNamespaceImpl(SYNAPSE_NAMESPACE, ""));
 
                 Iterator iterator = omElement.getChildrenWithLocalName("source");
@@ -221,28 +199,16 @@ public class MediatorValidationUtil {
                 enrichMediatorFactory.createMediator(omElement, null);
 				break;
 			case "property":
-				if (propertyMediatorFactory == null) {
-                    propertyMediatorFactory = new PropertyMediatorFactory();
-                }
                 propertyMediatorFactory.createMediator(omElement, null);
 				break;
 			case "propertyGroup":
-				if (propertyGroupMediatorFactory == null) {
-                    propertyGroupMediatorFactory = new PropertyGroupMediatorFactory();
-                }
 				propertyGroupMediatorFactory.createMediator(omElement, null);
 				break;
 			case "filter":
-				if (filterMediatorFactory == null) {
-                    filterMediatorFactory = new FilterMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 filterMediatorFactory.createMediator(omElement, null);
 				break;
 			case "call-template":
-				if (invokeMediatorFactory == null) {
-                    invokeMediatorFactory = new InvokeMediatorFactory();
-                }
                 Iterator children = omElement.getChildrenWithLocalName("with-param");
                 while (children.hasNext()) {
                     OMElement paramElement = (OMElement) children.next();
@@ -251,52 +217,28 @@ public class MediatorValidationUtil {
                 invokeMediatorFactory.createMediator(omElement, null);
 				break;
 			case "sequence":
-				if (sequenceMediatorFactory == null) {
-                    sequenceMediatorFactory = new SequenceMediatorFactory();
-                }
                 sequenceMediatorFactory.createAnonymousSequence(omElement, null);
 				break;
 			case "store":
-				if (messageStoreMediatorFactory == null) {
-                    messageStoreMediatorFactory = new MessageStoreMediatorFactory();
-                }
                 messageStoreMediatorFactory.createMediator(omElement, null);
 				break;
 			case "switch":
-				if (switchMediatorFactory == null) {
-                    switchMediatorFactory = new SwitchMediatorFactory();
-                }
                 switchMediatorFactory.createMediator(omElement, null);
 				break;
 			case "validate":
-				if (validateMediatorFactory == null) {
-                    validateMediatorFactory = new ValidateMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 validateMediatorFactory.createMediator(omElement, null);
 				break;
 			case "conditionalRouter":
-				if (conditionalRouterMediatorFactory == null) {
-                    conditionalRouterMediatorFactory = new ConditionalRouterMediatorFactory();
-                }
                 conditionalRouterMediatorFactory.createMediator(omElement, null);
 				break;
 			case "bean":
-				if (beanMediatorExtFactory == null) {
-                    beanMediatorExtFactory = new BeanMediatorExtFactory();
-                }
                 beanMediatorExtFactory.createSpecificMediatorForValidation(omElement, null);
 				break;
 			case "class":
-				if (classMediatorExtFactory == null) {
-                    classMediatorExtFactory = new ClassMediatorExtFactory();
-                }
                 classMediatorExtFactory.createMediator(omElement, null);
 				break;
 			case "pojoCommand":
-				if (pojoCommandMediatorFactory == null) {
-                    pojoCommandMediatorFactory = new DummyPOJOCommandMediatorFactory();
-                }
                 Iterator pojoChildren = omElement.getChildrenWithLocalName("property");
                 if (pojoChildren.hasNext()) {
                     OMElement codeElement = (OMElement) pojoChildren.next();
@@ -305,22 +247,13 @@ public class MediatorValidationUtil {
                 pojoCommandMediatorFactory.createMediator(omElement, null);
                 break;
 			case "ejb":
-				if (ejbMediatorExtFactory == null) {
-                    ejbMediatorExtFactory = new EJBMediatorExtFactory();
-                }
                 ejbMediatorExtFactory.createSpecificMediatorForValidation(omElement, null);
 				break;
 			case "script":
 				Properties properties = new Properties();
-                if (scriptMediatorFactory == null) {
-                    scriptMediatorFactory = new DummyScriptMediatorFactory();
-                }
                 scriptMediatorFactory.createMediator(omElement, properties);
 				break;
 			case "spring":
-				if (springMediatorFactory == null) {
-                    springMediatorFactory = new SpringMediatorFactory();
-                }
                 Iterator springChildren = omElement.getChildrenWithLocalName("spring");
                 if (springChildren.hasNext()) {
                     OMElement codeElement = (OMElement) springChildren.next();
@@ -329,9 +262,6 @@ public class MediatorValidationUtil {
                 springMediatorFactory.createMediator(omElement, null);
 				break;
 			case "makefault":
-				if (faultMediatorFactory == null) {
-                    faultMediatorFactory = new FaultMediatorFactory();
-                }
                 Iterator faultChildren = omElement.getChildrenWithLocalName("code");
                 if (faultChildren.hasNext()) {
                     OMElement codeElement = (OMElement) faultChildren.next();
@@ -345,15 +275,9 @@ public class MediatorValidationUtil {
                 faultMediatorFactory.createMediator(omElement, null);
 				break;
 			case "header":
-				if (headerMediatorFactory == null) {
-                    headerMediatorFactory = new HeaderMediatorFactory();
-                }
                 headerMediatorFactory.createMediator(omElement, null);
 				break;
 			case "payloadFactory":
-				if (payloadFactoryMediatorFactory == null) {
-                    payloadFactoryMediatorFactory = new PayloadFactoryMediatorFactory();
-                }
                 omElement.setNamespace(new OMNamespaceImpl(SYNAPSE_NAMESPACE, ""));
                 Iterator payloadChildren = omElement.getChildrenWithLocalName("format");
                 if (payloadChildren.hasNext()) {
@@ -368,97 +292,52 @@ public class MediatorValidationUtil {
                 payloadFactoryMediatorFactory.createMediator(omElement, null);
 				break;
 			case "smooks":
-				if (smooksMediatorFactory == null) {
-                    smooksMediatorFactory = new SmooksMediatorFactory();
-                }
                 smooksMediatorFactory.createMediator(omElement, null);
 				break;
 			case "rewrite":
-				if (urlRewriteMediatorFactory == null) {
-                    urlRewriteMediatorFactory = new URLRewriteMediatorFactory();
-                }
                 urlRewriteMediatorFactory.createMediator(omElement, null);
 				break;
 			case "xquery":
-				if (xQueryMediatorFactory == null) {
-                    xQueryMediatorFactory = new XQueryMediatorFactory();
-                }
                 xQueryMediatorFactory.createMediator(omElement, null);
 				break;
 			case "xslt":
-				if (xsltMediatorFactory == null) {
-                    xsltMediatorFactory = new XSLTMediatorFactory();
-                }
                 xsltMediatorFactory.createMediator(omElement, null);
 				break;
 			case "datamapper":
-				if (dataMapperMediatorFactory == null) {
-                    dataMapperMediatorFactory = new DataMapperMediatorFactory();
-                }
                 dataMapperMediatorFactory.createMediator(omElement, null);
 				break;
 			case "fastXSLT":
-				if (fastXSLTMediatorFactory == null) {
-                    fastXSLTMediatorFactory = new FastXSLTMediatorFactory();
-                }
                 fastXSLTMediatorFactory.createMediator(omElement, null);
 				break;
 			case "cache":
-				if (cacheMediatorFactory == null) {
-                    cacheMediatorFactory = new CacheMediatorFactory();
-                }
                 omElement.setNamespace(new OMNamespaceImpl(SYNAPSE_NAMESPACE, ""));
                 cacheMediatorFactory.createMediator(omElement, null);
 				break;
 			case "dbreport":
-				if (dbReportMediatorFactory == null) {
-                    dbReportMediatorFactory = new DBReportMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 dbReportMediatorFactory.createMediator(omElement, null);
 				break;
 			case "dblookup":
-				if (dbLookupMediatorFactory == null) {
-                    dbLookupMediatorFactory = new DBLookupMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 dbLookupMediatorFactory.createMediator(omElement, null);
 				break;
 			case "throttle":
-				if (throttleMediatorFactory == null) {
-                    throttleMediatorFactory = new ThrottleMediatorFactory();
-                }
                 throttleMediatorFactory.createMediator(omElement, null);
 				break;
 			case "transaction":
-				if (transactionMediatorFactory == null) {
-                    transactionMediatorFactory = new TransactionMediatorFactory();
-                }
                 transactionMediatorFactory.createMediator(omElement, null);
 				break;
 			case "aggregate":
-				if (aggregateMediatorFactory == null) {
-                    aggregateMediatorFactory = new AggregateMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 aggregateMediatorFactory.createMediator(omElement, null);
 				break;
 			case "callout":
-				if (calloutMediatorFactory == null) {
-                    calloutMediatorFactory = new CalloutMediatorFactory();
-                }
                 calloutMediatorFactory.createMediator(omElement, null);
 				break;
 			case "clone":
-				if (cloneMediatorFactory == null) {
-                    cloneMediatorFactory = new CloneMediatorFactory();
-                }
                 cloneMediatorFactory.createMediator(omElement, null);
 				break;
 			case "iterate":
-				if (iterateMediatorFactory == null) {
-                    iterateMediatorFactory = new IterateMediatorFactory();
-                }
                 Iterator iteratorChildren = omElement.getChildrenWithLocalName("target");
                 if (iteratorChildren.hasNext()) {
                     OMElement source = (OMElement) iteratorChildren.next();
@@ -467,68 +346,38 @@ public class MediatorValidationUtil {
                 iterateMediatorFactory.createMediator(omElement, null);
 				break;
 			case "foreach":
-				if (forEachMediatorFactory == null) {
-                    forEachMediatorFactory = new ForEachMediatorFactory();
-                }
                 forEachMediatorFactory.createMediator(omElement, null);
 				break;
 			case "entitlementService":
-				if (entitlementMediatorFactory == null) {
-                    entitlementMediatorFactory = new EntitlementMediatorFactory();
-                }
                 omElement.setNamespace(new OMNamespaceImpl(SYNAPSE_NAMESPACE, ""));
                 entitlementMediatorFactory.createMediator(omElement, null);
 				break;
 			case "oauthService":
-				if (oAuthMediatorFactory == null) {
-                    oAuthMediatorFactory = new OAuthMediatorFactory();
-                }
                 omElement.setNamespace(new OMNamespaceImpl(SYNAPSE_NAMESPACE, ""));
                 oAuthMediatorFactory.createMediator(omElement, null);
 				break;
 			case "builder":
-				if (builderMediatorExtFactory == null) {
-                    builderMediatorExtFactory = new BuilderMediatorExtFactory();
-                }
                 builderMediatorExtFactory.createMediator(omElement, null);
 				break;
 			case "rule":
-				if (ruleMediatorFactory == null) {
-                    ruleMediatorFactory = new RuleMediatorFactory();
-                }
                 ruleMediatorFactory.createMediator(omElement, null);
 				break;
 			case "bam":
-				if (bamMediatorExtFactory == null) {
-                    bamMediatorExtFactory = new BamMediatorExtFactory();
-                }
                 bamMediatorExtFactory.createMediator(omElement, null);
 				break;
 			case "publishEvent":
-				if (publishEventMediatorFactory == null) {
-                    publishEventMediatorFactory = new PublishEventMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 publishEventMediatorFactory.createMediator(omElement, null);
 				break;
 			case "jsontransform":
-			    if (jsonTransformMediatorFactory == null) {
-			        jsonTransformMediatorFactory = new JSONTransformMediatorFactory();
-			    }
 			    setNamespaceForChildren(omElement);
 			    jsonTransformMediatorFactory.createMediator(omElement, null);
 			    break;
 			case "dataServiceCall":
-			    if (dataServiceCallMediatorFactory == null) {
-			    	dataServiceCallMediatorFactory = new DataServiceCallMediatorFactory();
-			    }
 			    setNamespaceForChildren(omElement);
 			    dataServiceCallMediatorFactory.createMediator(omElement, null);
 			    break;
 			case "NTLM":
-                if (ntlmMediatorFactory == null) {
-                    ntlmMediatorFactory = new NTLMMediatorFactory();
-                }
                 setNamespaceForChildren(omElement);
                 dataServiceCallMediatorFactory.createMediator(omElement, null);
                 break;
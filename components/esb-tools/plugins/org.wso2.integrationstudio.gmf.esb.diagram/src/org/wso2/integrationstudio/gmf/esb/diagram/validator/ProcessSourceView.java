@@ -20,7 +20,6 @@ package org.wso2.integrationstudio.gmf.esb.diagram.validator;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +28,8 @@ import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
@@ -47,7 +48,9 @@ import org.apache.synapse.config.xml.SequenceMediatorFactory;
 import org.apache.synapse.config.xml.TemplateMediatorFactory;
 import org.apache.synapse.config.xml.endpoints.EndpointFactory;
 import org.apache.synapse.task.SynapseTaskException;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
 import org.wso2.carbon.mediator.service.MediatorException;
+import org.wso2.integrationstudio.gmf.esb.diagram.Activator;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyAPIFactory;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyInboundEndpointFactory;
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyMediatorFactoryFinder;
@@ -57,6 +60,8 @@ import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.DummyTaskD
 import org.wso2.integrationstudio.gmf.esb.diagram.custom.deserializer.EntryExtFactory;
 import org.wso2.integrationstudio.gmf.esb.diagram.sheet.XMLTag;
 import org.wso2.integrationstudio.gmf.esb.persistence.TransformerException;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
@@ -73,6 +78,7 @@ public class ProcessSourceView {
     private static final String PARSER_CLASS = "org.apache.xerces.parsers.SAXParser";
     private static final String VALIDATION_FEATURE = "http://xml.org/sax/features/validation";
     private static final String SCHEMA_FEATURE = "http://apache.org/xml/features/validation/schema";
+    private static final String GRAMMAR_POOL_PROPERTY = "http://apache.org/xml/properties/internal/grammar-pool";
     private static final String SYNAPSE_NAMESPACE = "http://ws.apache.org/ns/synapse";
     private static final String IN_SEQUENCE = "inSequence";
     private static final String OUT_SEQUENCE = "outSequence";
@@ -80,10 +86,19 @@ public class ProcessSourceView {
     private static final String START_COMMENT = "<!--";
     private static final String END_COMMENT = "-->";
     
-    private static SourceError sourceError = new SourceError();
-    private static Stack<XMLTag> xmlTags;
-    private static Queue<XMLTag> xmlTagsQueue = new LinkedList<>();
-    private static Set<String> mediators = new HashSet<>(Arrays.asList("log", "call", "enqueue", "send", "loopback",
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    /**
+     * Schemas compiled while validating are kept here, so that they are only compiled once per session.
+     */
+    private static final XMLGrammarPoolImpl GRAMMAR_POOL = new XMLGrammarPoolImpl();
+
+    /**
+     * A validating reader is costly to set up, and can be reused once a parse is over, so each thread keeps one.
+     */
+    private static final ThreadLocal<XMLReader> XML_READERS = new ThreadLocal<>();
+
+    private static final Set<String> mediators = new HashSet<>(Arrays.asList("log", "call", "enqueue", "send", "loopback",
             "respond", "event", "drop", "enrich", "property", "filter", "call-template", "sequence", "store", "switch",
             "validate", "conditionalRouter", "bean", "class", "pojoCommand", "ejb", "script", "spring", "enrich",
             "makefault", "header", "payloadFactory", "smooks", "rewrite", "xquery", "xslt", "datamapper", "fastXSLT",
@@ -91,10 +106,10 @@ public class ProcessSourceView {
             "iterate", "foreach", "entitlementService", "oauthService", "builder", "rule", "bam", "publishEvent",
             "builder", "propertyGroup", "jsontransform", "dataServiceCall", "NTLM"));
 
-    private static Set<String> artifacts = new HashSet<>(Arrays.asList("api", "proxy", "endpoint", "inboundEndpoint",
+    private static final Set<String> artifacts = new HashSet<>(Arrays.asList("api", "proxy", "endpoint", "inboundEndpoint",
             "localEntry", "messageProcessor", "messageStore", "sequence", "task", "template"));
 
-    private static Set<String> intermediary = new HashSet<>(Arrays.asList("inSequence", "outSequence", "faultSequence",
+    private static final Set<String> intermediary = new HashSet<>(Arrays.asList("inSequence", "outSequence", "faultSequence",
             "resource", "description", "target", "publishWSDL", "enableAddressing", "enableSec", "enableRM", "policy",
             "parameter", "timeout", "duration", "responseAction", "markForSuspension", "action", "errorCodes",
             "retriesBeforeSuspension", "retryDelay", "suspendOnFailure", "initialDuration", "progressionFactor",
@@ -111,39 +126,81 @@ public class ProcessSourceView {
 			"refreshToken", "tokenUrl", "authorizationCode", "clientCredentials", "basicAuth", "username", "password", "oauth", "authentication",
 			"operations", "operation", "param"));
     
-    private static Set<String> graphicalEndpoint = new HashSet<>(Arrays.asList("loadbalance", "failover", "recipientlist"));
+    private static final Set<String> graphicalEndpoint = new HashSet<>(Arrays.asList("loadbalance", "failover", "recipientlist"));
     
-    private static Set<String> proxySequence = new HashSet<>(Arrays.asList("inSequence", "outSequence", "faultSequence"));
+    private static final Set<String> proxySequence = new HashSet<>(Arrays.asList("inSequence", "outSequence", "faultSequence"));
     
-    private static Set<String> dbMediatorImtermediary = new HashSet<>(Arrays.asList("driver", "url", "user", "password",
+    private static final Set<String> dbMediatorImtermediary = new HashSet<>(Arrays.asList("driver", "url", "user", "password",
             "connection", "statement", "pool", "sql", "result"));
     
-    private static SequenceMediatorFactory sequenceMediatorFactory;
-    private static TemplateMediatorFactory templateMediatorFactory;
+    private final SourceError sourceError = new SourceError();
+    private final Queue<XMLTag> xmlTagsQueue = new LinkedList<>();
+    private Stack<XMLTag> xmlTags;
+    private SequenceMediatorFactory sequenceMediatorFactory;
+    private TemplateMediatorFactory templateMediatorFactory;
 
+    /**
+     * Creates a validator. A validator keeps the state of the content it is validating, so an instance must not be
+     * used by more than one thread at a time, while separate instances can validate in parallel.
+     */
     public ProcessSourceView() {
 
     }
 
     /**
-     * Start processing synapse content. Here we split the content and send for
-     * processing
+     * Start processing synapse content with a new validator.
      * 
      * @param xmlContent
      *            xml content of the source view
      * @return If there is an source view error
+     * @see #validateSynapse(String)
      */
     public static SourceError validateSynapseContent(String xmlContent) {
+        return new ProcessSourceView().validateSynapse(xmlContent);
+    }
+
+    /**
+     * Validates several synapse configurations, spreading the work across the available processors.
+     * 
+     * @param xmlContents
+     *            xml contents to validate
+     * @return source error of each content, in the same order, null for contents without errors
+     */
+    public static List<SourceError> validateSynapseContents(List<String> xmlContents) {
+        long start = System.nanoTime();
+        List<SourceError> sourceErrors = xmlContents.parallelStream().map(ProcessSourceView::validateSynapseContent)
+                .collect(Collectors.toList());
+        long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Validated " + xmlContents.size() + " synapse configurations in " + elapsed + " ms ("
+                + xmlContents.size() * 1000 / elapsed + " per second)");
+        return sourceErrors;
+    }
+
+    /**
+     * Start processing synapse content. The content is scanned line by line, in a single pass, into XML tags which
+     * are then validated.
+     * 
+     * @param xmlContent
+     *            xml content of the source view
+     * @return If there is an source view error
+     */
+    public SourceError validateSynapse(String xmlContent) {
 
         xmlTagsQueue.clear();
         if (!xmlContent.trim().isEmpty()) {
-            String[] lines = xmlContent.split("\n");
-            int length = 0;
-
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i];
-                processTags(line, i, length);
-                length += (line.length() + 1);
+            // Trailing empty lines carry no tags
+            int end = xmlContent.length();
+            while (end > 0 && xmlContent.charAt(end - 1) == '\n') {
+                end--;
+            }
+            int lineStart = 0;
+            for (int i = 0; lineStart <= end; i++) {
+                int lineEnd = xmlContent.indexOf('\n', lineStart);
+                if (lineEnd == -1 || lineEnd > end) {
+                    lineEnd = end;
+                }
+                processTags(xmlContent, lineStart, lineEnd, i);
+                lineStart = lineEnd + 1;
             }
 
             return synapseValidation();
@@ -397,13 +454,23 @@ public class ProcessSourceView {
      * @throws ValidationException
      */
     public static SourceError validateXMLContent(String xmlContent) throws ValidationException {
+        return new ProcessSourceView().validateXML(xmlContent);
+    }
+
+    /**
+     * Validate for the xml parser errors in the source content
+     * 
+     * @param xmlContent
+     *            source view content
+     * @return Source error
+     * @throws ValidationException
+     */
+    public SourceError validateXML(String xmlContent) throws ValidationException {
 
         try {
 
-            XMLReader r = XMLReaderFactory.createXMLReader(PARSER_CLASS);
-            r.setFeature(VALIDATION_FEATURE, true);
-            r.setFeature(SCHEMA_FEATURE, true);
-            r.setErrorHandler(new MyErrorHandler());
+            XMLReader r = getXMLReader();
+            r.setErrorHandler(new MyErrorHandler(sourceError));
             InputSource inputSource = new InputSource(new StringReader(xmlContent));
             r.parse(inputSource);
 
@@ -420,164 +487,165 @@ public class ProcessSourceView {
     }
 
     /**
-     * Create XML tag objects according to the source view content
+     * Returns the validating reader of the current thread, which shares the compiled schemas of the other readers.
      * 
-     * @param line
-     *            Line content
+     * @return XML reader
+     * @throws SAXException
+     *             if the reader cannot be created
+     */
+    private static XMLReader getXMLReader() throws SAXException {
+        XMLReader r = XML_READERS.get();
+        if (r == null) {
+            r = XMLReaderFactory.createXMLReader(PARSER_CLASS);
+            r.setFeature(VALIDATION_FEATURE, true);
+            r.setFeature(SCHEMA_FEATURE, true);
+            r.setProperty(GRAMMAR_POOL_PROPERTY, GRAMMAR_POOL);
+            XML_READERS.set(r);
+        }
+        return r;
+    }
+
+    /**
+     * Create XML tag objects according to a line of the source view content. The line is scanned in place, indexes of
+     * the created tags are relative to the part of the line left to scan.
+     * 
+     * @param content
+     *            Source view content
+     * @param lineStart
+     *            Index of the first character of the line, which is also the current content length
+     * @param lineEnd
+     *            Index after the last character of the line
      * @param index
      *            Line number
-     * @param length
-     *            Current content length
-     * @return List of XML tags in the line
      */
-    private static List<XMLTag> processTags(String line, int index, int length) {
-        List<XMLTag> tempTags = new ArrayList<>();
+    private void processTags(String content, int lineStart, int lineEnd, int index) {
+        int length = lineStart;
+        int position = lineStart;
 
-        XMLTag xmlTag = new XMLTag();
-        String value = line;
-
-        xmlTag.setLine(index + 1);
-
-        if (hasTag(value)) {
-            // has a tag
-            while (hasTag(value) || hasString(value)) {
-                xmlTag = new XMLTag();
-                xmlTag.setLine(index + 1);
-
-                int startTag = value.indexOf("<");
-                int endTag = value.indexOf(">");
-                boolean order = endTag > startTag;
-
-                if (hasStringBeforeTag(value, startTag)) {
-                    xmlTag.setTagType(7);
-                    xmlTag.setEndIndex(startTag + length + 1);
-                    xmlTag.setStartIndex(0 + length + 1);
-                    xmlTag.setValue(value.substring(0, startTag));
-                    value = value.substring(startTag);
-
-                } else if (startTag != -1) {
-                    // has <
-                    if (endTag != -1) {
-                        // has < and > ==> can be 1, 2, 3, 8
-                        if (order) {
-                            if (value.substring(startTag + 1, startTag + 2).equals("/")) {
-                                // 2
-                                xmlTag.setTagType(2);
-                                String[] values = value.substring(startTag + 2, endTag).split(" ");
-                                xmlTag.setqName(values[0]);
-                            } else if (value.substring(endTag - 1, endTag).equals("/")) {
-                                // 3
-                                xmlTag.setTagType(3);
-                                String[] qName = value.substring(startTag + 1).split("/| ");// **needs to be //?
-                                xmlTag.setqName(qName[0]);
-
-                            } else if (value.substring(startTag + 1, startTag + 2).equals("?")) {
-                                // 8
-                                xmlTag.setTagType(8);
-                            } else if (value.substring(startTag + 1, startTag + 2).equals("!")) {
-                                // 7 <![CDATA[ ]]>
-                                xmlTag.setTagType(7);
-                            } else {
-                                // 1
-                                xmlTag.setTagType(1);
-                                String[] values = (value.substring(startTag + 1, endTag)).split(" ");
-                                xmlTag.setqName(values[0]);
-                            }
-
-                            xmlTag.setEndIndex(endTag + length + 1);
-                            xmlTag.setStartIndex(startTag + length + 1);
-                            xmlTag.setValue(value.substring(startTag, endTag + 1));
-                            value = value.substring(endTag + 1);
-
-                        } else {
-
-                            if (endTag > 0 && value.substring(endTag - 1, endTag).equals("/")) {
-                                xmlTag.setTagType(5);
+        if (!hasTag(content, position, lineEnd)) {
+            // whole line has no tags
+            XMLTag xmlTag = new XMLTag();
+            xmlTag.setLine(index + 1);
+            xmlTag.setValue(content.substring(position, lineEnd));
+            xmlTag.setTagType(7);
+            xmlTag.setEndIndex(-1);
+            xmlTag.setStartIndex(-1);
 
-                            } else {
-                                if (value.substring(endTag - 1, endTag).equals("?")) {
-                                    xmlTag.setTagType(8);
-                                } else if (value.substring(endTag - 1, endTag).equals("]")) {
-                                    // 7 ]]>
-                                    xmlTag.setTagType(7);
-                                } else {
-                                    xmlTag.setTagType(6);
-                                }
-                            }
-                            xmlTag.setValue(value.substring(0, endTag + 1));
-                            xmlTag.setEndIndex(endTag + length + 1);
-                            xmlTag.setStartIndex(-1);
-                            value = value.substring(endTag + 1);
-                        }
+            xmlTagsQueue.add(xmlTag);
+            return;
+        }
 
-                    } else {
-                        // has < ==> can be 4 || can be 8
-                        if (value.substring(startTag + 1, startTag + 2).equals("?")) {
+        // has a tag
+        while (hasTag(content, position, lineEnd) || hasString(content, position, lineEnd)) {
+            XMLTag xmlTag = new XMLTag();
+            xmlTag.setLine(index + 1);
+
+            int startTag = indexOf(content, '<', position, lineEnd);
+            int endTag = indexOf(content, '>', position, lineEnd);
+            boolean order = endTag > startTag;
+
+            if (hasStringBeforeTag(content, position, startTag)) {
+                xmlTag.setTagType(7);
+                xmlTag.setEndIndex(startTag + length + 1);
+                xmlTag.setStartIndex(0 + length + 1);
+                xmlTag.setValue(content.substring(position, position + startTag));
+                position += startTag;
+
+            } else if (startTag != -1) {
+                // has <
+                if (endTag != -1) {
+                    // has < and > ==> can be 1, 2, 3, 8
+                    if (order) {
+                        if (charAt(content, position + startTag + 1, lineEnd) == '/') {
+                            // 2
+                            xmlTag.setTagType(2);
+                            xmlTag.setqName(token(content, position + startTag + 2, position + endTag, " "));
+                        } else if (charAt(content, position + endTag - 1, lineEnd) == '/') {
+                            // 3
+                            xmlTag.setTagType(3);
+                            xmlTag.setqName(token(content, position + startTag + 1, lineEnd, "/ "));
+
+                        } else if (charAt(content, position + startTag + 1, lineEnd) == '?') {
+                            // 8
                             xmlTag.setTagType(8);
-                        } else if (value.substring(startTag + 1, startTag + 2).equals("!")) {
-                            // 7 <![CDATA[
+                        } else if (charAt(content, position + startTag + 1, lineEnd) == '!') {
+                            // 7 <![CDATA[ ]]>
                             xmlTag.setTagType(7);
                         } else {
-                            xmlTag.setTagType(4);
-                            String[] values = (value.substring(startTag + 1)).split(" ");
-                            xmlTag.setqName(values[0]);
+                            // 1
+                            xmlTag.setTagType(1);
+                            xmlTag.setqName(token(content, position + startTag + 1, position + endTag, " "));
                         }
-                        xmlTag.setValue(value);
-                        xmlTag.setEndIndex(-1);
-                        xmlTag.setStartIndex(startTag + length + 1);
-                        value = "";
-                    }
-                } else {
-                    // no <
-                    if (endTag != -1) {
-                        // has > ==> can be 5, 6
 
-                        if (endTag > 0 && value.substring(endTag - 1, endTag).equals("/")) {
-                            xmlTag.setTagType(5);
-
-                        } else {
-                            if (endTag > 0 && value.substring(endTag - 1, endTag).equals("?")) {
-                                xmlTag.setTagType(8);
-                            } else if (endTag > 0 && value.substring(endTag - 1, endTag).equals("]")) {
-                                // 7 ]]>
-                                xmlTag.setTagType(7);
-                            } else {
-                                xmlTag.setTagType(6);
-                            }
-                        }
-                        xmlTag.setValue(value.substring(0, endTag + 1));
                         xmlTag.setEndIndex(endTag + length + 1);
-                        xmlTag.setStartIndex(-1);
-                        value = value.substring(endTag + 1);
+                        xmlTag.setStartIndex(startTag + length + 1);
+                        xmlTag.setValue(content.substring(position + startTag, position + endTag + 1));
+                        position += endTag + 1;
 
                     } else {
-                        // no tags ==> 7
-                        xmlTag.setValue(value);
-                        xmlTag.setTagType(7);
-                        xmlTag.setEndIndex(-1);
+                        xmlTag.setTagType(closingTagType(content, position + endTag, position));
+                        xmlTag.setValue(content.substring(position, position + endTag + 1));
+                        xmlTag.setEndIndex(endTag + length + 1);
                         xmlTag.setStartIndex(-1);
-                        value = "";
+                        position += endTag + 1;
+                    }
 
+                } else {
+                    // has < ==> can be 4 || can be 8
+                    if (charAt(content, position + startTag + 1, lineEnd) == '?') {
+                        xmlTag.setTagType(8);
+                    } else if (charAt(content, position + startTag + 1, lineEnd) == '!') {
+                        // 7 <![CDATA[
+                        xmlTag.setTagType(7);
+                    } else {
+                        xmlTag.setTagType(4);
+                        xmlTag.setqName(token(content, position + startTag + 1, lineEnd, " "));
                     }
+                    xmlTag.setValue(content.substring(position, lineEnd));
+                    xmlTag.setEndIndex(-1);
+                    xmlTag.setStartIndex(startTag + length + 1);
+                    position = lineEnd;
                 }
+            } else {
+                // no <
+                if (endTag != -1) {
+                    // has > ==> can be 5, 6
+                    xmlTag.setTagType(closingTagType(content, position + endTag, position));
+                    xmlTag.setValue(content.substring(position, position + endTag + 1));
+                    xmlTag.setEndIndex(endTag + length + 1);
+                    xmlTag.setStartIndex(-1);
+                    position += endTag + 1;
 
-                xmlTagsQueue.add(xmlTag);
-                tempTags.add(xmlTag);
+                } else {
+                    // no tags ==> 7
+                    xmlTag.setValue(content.substring(position, lineEnd));
+                    xmlTag.setTagType(7);
+                    xmlTag.setEndIndex(-1);
+                    xmlTag.setStartIndex(-1);
+                    position = lineEnd;
+
+                }
             }
-        } else {
-            // whole line has no tags
-            xmlTag.setValue(value);
-            xmlTag.setTagType(7);
-            xmlTag.setEndIndex(-1);
-            xmlTag.setStartIndex(-1);
 
             xmlTagsQueue.add(xmlTag);
-            tempTags.add(xmlTag);
-
-            return tempTags;
         }
+    }
 
-        return tempTags;
+    /**
+     * Returns the type of a tag ending at the given > which does not start on the scanned part of the line: 5 for
+     * "/>", 8 for "?>", 7 for "]]>" and 6 otherwise.
+     */
+    private static int closingTagType(String content, int endTag, int position) {
+        char previous = endTag > position ? content.charAt(endTag - 1) : 0;
+        if (previous == '/') {
+            return 5;
+        } else if (previous == '?') {
+            return 8;
+        } else if (previous == ']') {
+            // 7 ]]>
+            return 7;
+        }
+        return 6;
     }
 
     /**
@@ -585,7 +653,7 @@ public class ProcessSourceView {
      * 
      * @return SourceError object if there is an error
      */
-    private static SourceError synapseValidation() {
+    private SourceError synapseValidation() {
 
         SourceError sourceError = null;
         xmlTags = new Stack<>();
@@ -909,7 +977,7 @@ public class ProcessSourceView {
      * 
      * @return SourceError object if there is an error
      */
-    private static SourceError mediatorValidation() {
+    private SourceError mediatorValidation() {
 
         boolean insideTag = true;
         String firstMediatorQTag = "";
@@ -1010,7 +1078,7 @@ public class ProcessSourceView {
         return sourceError;
     }
 
-    private static String validate(String mediatorVal, String qTag) {
+    private String validate(String mediatorVal, String qTag) {
 
         String error = "";
 
@@ -1040,7 +1108,7 @@ public class ProcessSourceView {
      *            QName of the mediator
      * @return Error description
      */
-    private static String validateArtifacts(String mediator, String qTag) {
+    private String validateArtifacts(String mediator, String qTag) {
 
         try {
             OMElement omElement = AXIOMUtil.stringToOM(mediator);
@@ -1124,28 +1192,25 @@ public class ProcessSourceView {
     }
 
     /**
-     * Check whether there is a tag within the source view line
+     * Check whether there is a tag within the given part of the source view content
      * 
-     * @param value
-     *            Source view content
      * @return Whether content has a tag or not
      */
-    private static boolean hasTag(String value) {
-        return value.contains("<") || value.contains(">");
+    private static boolean hasTag(String content, int from, int to) {
+        return indexOf(content, '<', from, to) != -1 || indexOf(content, '>', from, to) != -1;
     }
 
     /**
-     * Check whether non empty string content exists
+     * Check whether non empty string content exists within the given part of the source view content
      * 
-     * @param value
-     *            Content of the line
      * @return Whether non empty string content exists
      */
-    private static boolean hasString(String value) {
-        if (!value.trim().equals("") && value.length() > 0) {
-            return true;
+    private static boolean hasString(String content, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (content.charAt(i) > ' ') {
+                return true;
+            }
         }
-
         return false;
 
     }
@@ -1153,15 +1218,38 @@ public class ProcessSourceView {
     /**
      * Returns whether a non empty string exists before < tag
      * 
-     * @param value
-     *            Content of the line
+     * @param sT
+     *            Index of the < tag, relative to from
      * @return Whether there is non empty content
      */
-    private static boolean hasStringBeforeTag(String value, int sT) {
-        if (sT > 0 && !value.substring(0, sT).trim().equals("")) {
-            return true;
+    private static boolean hasStringBeforeTag(String content, int from, int sT) {
+        return sT > 0 && hasString(content, from, from + sT);
+    }
+
+    /**
+     * @return Index of the character within the given part of the content, relative to from, or -1
+     */
+    private static int indexOf(String content, char c, int from, int to) {
+        int index = content.indexOf(c, from);
+        return index == -1 || index >= to ? -1 : index - from;
+    }
+
+    /**
+     * @return Character at the given index, or 0 if it is not before to
+     */
+    private static char charAt(String content, int index, int to) {
+        return index >= 0 && index < to ? content.charAt(index) : 0;
+    }
+
+    /**
+     * @return Content from the given index up to the first of the delimiters, or to
+     */
+    private static String token(String content, int from, int to, String delimiters) {
+        int end = from;
+        while (end < to && delimiters.indexOf(content.charAt(end)) == -1) {
+            end++;
         }
-        return false;
+        return content.substring(from, end);
     }
 
     public static boolean isGraphicalEP(String qName) {
@@ -1184,11 +1272,13 @@ public class ProcessSourceView {
      */
     private static int calculateLength(String xml, int start, int line) {
         int length = 0;
-        String[] lines = xml.split("\n");
-        int nonEmptyLines = lines.length;
         for (int i = 0; i < line - 1; i++) {
-            if (nonEmptyLines > i) {
-                length += (lines[i].length() + 1);
+            int lineEnd = xml.indexOf('\n', length);
+            if (lineEnd != -1) {
+                length = lineEnd + 1;
+            } else if (length < xml.length()) {
+                // last line, without a line break
+                length = xml.length() + 1;
             } else {
                 length += 1;
             }
@@ -1201,8 +1291,13 @@ public class ProcessSourceView {
      * Set xml parser errors for the sourceError object.
      */
     private static class MyErrorHandler extends DefaultHandler {
+        private final SourceError sourceError;
         String errorMsg = "";
 
+        MyErrorHandler(SourceError sourceError) {
+            this.sourceError = sourceError;
+        }
+
         public void fatalError(SAXParseException e) throws SAXException {
             errorMsg = errorMsg + " " + e.getMessage();
             sourceError.setException(errorMsg);
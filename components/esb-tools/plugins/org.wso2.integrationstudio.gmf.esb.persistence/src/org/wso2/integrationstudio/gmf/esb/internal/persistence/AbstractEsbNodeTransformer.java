@@ -21,6 +21,8 @@ import org.apache.synapse.mediators.base.SequenceMediator;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.widgets.Display;
 import org.wso2.integrationstudio.gmf.esb.CommentMediator;
 import org.wso2.integrationstudio.gmf.esb.EsbLink;
 import org.wso2.integrationstudio.gmf.esb.EsbNode;
@@ -146,6 +148,23 @@ public abstract class AbstractEsbNodeTransformer implements EsbNodeTransformer {
         }
     }
 
+    /**
+     * Opens an error dialog on the UI thread, as diagrams may also be transformed in background threads.
+     */
+    protected static void openError(final String title, final String message) {
+        Display display = Display.getDefault();
+        if (display.getThread() == Thread.currentThread()) {
+            MessageDialog.openError(display.getActiveShell(), title, message);
+        } else {
+            display.asyncExec(new Runnable() {
+                @Override
+                public void run() {
+                    MessageDialog.openError(Display.getDefault().getActiveShell(), title, message);
+                }
+            });
+        }
+    }
+
     private static void addXMLComments(TransformationInfo info, EList<CommentMediator> commentMediators,
             SequenceMediator sequence) {
         CommentMediatorTransformer commentMediatorTransformer = new CommentMediatorTransformer();
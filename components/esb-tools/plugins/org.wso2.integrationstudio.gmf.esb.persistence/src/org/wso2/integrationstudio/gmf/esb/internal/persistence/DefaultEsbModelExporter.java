@@ -19,17 +19,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
@@ -57,13 +51,10 @@ import org.apache.synapse.mediators.template.TemplateMediator;
 import org.apache.synapse.mediators.template.TemplateParam;
 import org.apache.synapse.api.API;
 import org.apache.synapse.task.TaskDescriptionSerializer;
-import org.apache.xml.serialize.OutputFormat;
-import org.apache.xml.serialize.XMLSerializer;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.ui.forms.editor.FormPage;
-import org.w3c.dom.Document;
 import org.wso2.integrationstudio.gmf.esb.AddressEndPoint;
 import org.wso2.integrationstudio.gmf.esb.ArtifactType;
 import org.wso2.integrationstudio.gmf.esb.DefaultEndPoint;
@@ -100,14 +91,11 @@ import org.wso2.integrationstudio.esb.form.editors.article.rcp.endpoints.Loadbal
 import org.wso2.integrationstudio.esb.form.editors.article.rcp.endpoints.RecipientListEndpointFormPage;
 import org.wso2.integrationstudio.esb.form.editors.article.rcp.endpoints.TemplateEndPointFormPage;
 import org.wso2.integrationstudio.esb.form.editors.article.rcp.endpoints.WsdlEndpointFormPage;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 /**
  * Default implementation of {@link EsbModelTransformer}.
  */
 public class DefaultEsbModelExporter implements EsbModelTransformer {
-    static String sourceXML = new String();
 
     /**
      * {@inheritDoc}
@@ -400,6 +388,7 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 
     public String formToSource(FormPage formPage, ArtifactType artifactType) throws Exception {
         OMElement configOM = null;
+        String sourceXML = "";
         if (artifactType == ArtifactType.LOCAL_ENTRY) {
             configOM = EntrySerializer.serializeEntry(transformLocalEntry(formPage), null);
         } else if (artifactType == ArtifactType.TASK) {
@@ -423,8 +412,7 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
             }
         }
         if (configOM != null) {
-            sourceXML = format(configOM.toString());
-            sourceXML = sourceXML.replaceAll("\\?><", "?>\n<");
+            sourceXML = StreamingXMLFormatter.format(configOM);
         }
         return sourceXML;
 
@@ -434,6 +422,7 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
         SynapseXMLConfigurationSerializer serializer = new SynapseXMLConfigurationSerializer();
         SequenceMediatorSerializer sequenceSerializer = new SequenceMediatorSerializer();
         OMElement configOM = null;
+        String sourceXML = "";
 
         if (serverModel.getChildren().size() == 1) {
             EsbElement child = serverModel.getChildren().get(0);
@@ -546,16 +535,12 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
             configOM = serializer.serializeConfiguration(transform(serverModel));
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         if (configOM != null) {
-            DefaultEsbModelExporter.prettify(configOM, baos);
-            sourceXML = format(configOM.toString());
+            sourceXML = StreamingXMLFormatter.format(configOM);
         }
 
-        // sourceXML = baos.toString("UTF-8");
-        sourceXML = sourceXML.replaceAll("\\?><", "?>\n<");
         // Remove the default values added for design view validations
-        sourceXML = sourceXML.replaceAll(ValidationConstansts.DEFAULT_XPATH_FOR_VALIDATION, "");
+        sourceXML = sourceXML.replace(ValidationConstansts.DEFAULT_XPATH_FOR_VALIDATION, "");
         return sourceXML;
     }
 
@@ -588,33 +573,8 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 
     public static String format(String unformattedXml) {
         try {
-            final Document document = parseXmlFile(unformattedXml);
-
-            OutputFormat format = new OutputFormat(document);
-            format.setIndenting(true);
-            format.setIndent(4);
-            format.setLineWidth(-1);
-            Writer out = new StringWriter();
-            XMLSerializer serializer = new XMLSerializer(out, format);
-            serializer.serialize(document);
-
-            return out.toString();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private static Document parseXmlFile(String in) {
-        try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            InputSource is = new InputSource(new StringReader(in));
-            return db.parse(is);
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException(e);
-        } catch (SAXException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
+            return StreamingXMLFormatter.format(unformattedXml);
+        } catch (XMLStreamException e) {
             throw new RuntimeException(e);
         }
     }
@@ -38,8 +38,6 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.PlatformUI;
@@ -166,13 +164,13 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
                 synapseLBEP.setAlgorithm(new RoundRobin());
             }
         } catch (ClassNotFoundException e1) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     visualEndPoint.getAlgorithm().trim() + " algorithm class not found.");
         } catch (InstantiationException e) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     visualEndPoint.getAlgorithm().trim() + " algorithm class cannot be instantiated.");
         } catch (IllegalAccessException e) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     "Illegal access to " + visualEndPoint.getAlgorithm().trim() + " algorithm class.");
         }
 
@@ -411,13 +409,13 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
                 
             }
         } catch (ClassNotFoundException e1) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     className + " algorithm class not found.");
         } catch (InstantiationException e) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     className + " algorithm class cannot be instantiated.");
         } catch (IllegalAccessException e) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
+            openError("Error in Loadbalance Endpoint ! ",
                     "Illegal access to " + className + " algorithm class.");
         }
         
@@ -24,8 +24,6 @@ import org.apache.synapse.util.xpath.SynapseXPath;
 import org.eclipse.aether.util.StringUtils;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.widgets.Display;
 import org.jaxen.JaxenException;
 import org.wso2.integrationstudio.gmf.esb.EndPoint;
 import org.wso2.integrationstudio.gmf.esb.EsbNode;
@@ -99,7 +97,7 @@ public class SequenceMediatorTransformer extends AbstractEsbNodeTransformer {
                 information.getParentSequence().addChild(refferingSequence);
             }
         } catch (ClassCastException e) {
-            MessageDialog.openError(Display.getCurrent().getActiveShell(), "Diagram Incomplete ! ",
+            openError("Diagram Incomplete ! ",
                     "If there are two Sequences connected to an Endpoint's in and out terminals, the Sequence which is connected to the in terminal must have a Send mediator as the last mediator of the Sequence.");
         }
         doTransform(information, ((Sequence) subject).getOutputConnector().get(0));
@@ -0,0 +1,624 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.internal.persistence;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.axiom.om.OMElement;
+
+/**
+ * Single pass, indenting XML writer used to render the Synapse configuration shown in the source view.
+ *
+ * The output is identical to what the DOM based Xerces {@code XMLSerializer} produces with an indent of four
+ * spaces and no line wrapping (which is what {@link DefaultEsbModelExporter#format(String)} used to do), but the
+ * document is pulled straight out of a {@link XMLStreamReader} instead of being serialized, re-parsed into a DOM
+ * and serialized again. Attributes are therefore written in name order and whitespace only text is dropped, the
+ * same way the DOM round trip did.
+ */
+public final class StreamingXMLFormatter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final int INDENT = 4;
+
+    private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    private static final XMLInputFactory INPUT_FACTORY;
+
+    static {
+        INPUT_FACTORY = XMLInputFactory.newInstance();
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        // CDATA sections have to be written back as they are, the JDK parser folds them into text by default
+        if (INPUT_FACTORY.isPropertySupported(REPORT_CDATA_PROPERTY)) {
+            INPUT_FACTORY.setProperty(REPORT_CDATA_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    private final Writer writer;
+
+    /* Line buffering, same model as the Xerces IndentPrinter */
+    private StringBuilder line = new StringBuilder(40);
+    private StringBuilder text = new StringBuilder(20);
+    private int spaces;
+    private int thisIndent;
+    private int nextIndent;
+
+    private final List<ElementState> elementStates = new ArrayList<ElementState>();
+    private final StringBuilder pendingText = new StringBuilder();
+    private boolean started;
+
+    /*
+     * Events read from an OM tree have not been through a serializer and a parser. Namespace declarations are
+     * reported wherever the tree holds them, including redundant ones.
+     */
+    private final boolean fromObjectModel;
+    private final List<String[]> namespaceBindings = new ArrayList<String[]>();
+
+    private StreamingXMLFormatter(Writer writer, boolean fromObjectModel) {
+        this.writer = writer;
+        this.fromObjectModel = fromObjectModel;
+    }
+
+    /**
+     * Formats the given element.
+     *
+     * @param element element to be formatted
+     * @return indented XML document for the element
+     * @throws XMLStreamException if the element could not be read
+     */
+    public static String format(OMElement element) throws XMLStreamException {
+        StringWriter out = new StringWriter(4096);
+        try {
+            new StreamingXMLFormatter(out, true).write(element.getXMLStreamReader());
+        } catch (IOException e) {
+            // Not possible with a StringWriter
+            throw new XMLStreamException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Formats the given XML string.
+     *
+     * @param xml well formed XML document or fragment
+     * @return indented XML document
+     * @throws XMLStreamException if the given string is not well formed
+     */
+    public static String format(String xml) throws XMLStreamException {
+        StringWriter out = new StringWriter(xml.length() + (xml.length() >> 2));
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+        try {
+            format(reader, out);
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        } finally {
+            reader.close();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the events of the given reader into the writer as an indented XML document. The reader is consumed
+     * up to the end of the document but is not closed.
+     *
+     * @param reader reader positioned at, or before, the root element. Attribute values are expected to be
+     *            normalized already, as they are when the reader is backed by a parser
+     * @param out destination
+     * @throws XMLStreamException if the reader fails
+     * @throws IOException if the writer fails
+     */
+    public static void format(XMLStreamReader reader, Writer out) throws XMLStreamException, IOException {
+        new StreamingXMLFormatter(out, false).write(reader);
+    }
+
+    private void write(XMLStreamReader reader) throws XMLStreamException, IOException {
+        int event = reader.getEventType();
+        while (true) {
+            if (event != XMLStreamConstants.CHARACTERS && event != XMLStreamConstants.SPACE) {
+                flushPendingText();
+            }
+            switch (event) {
+            case XMLStreamConstants.START_ELEMENT:
+                startElement(reader);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                endElement();
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.SPACE:
+                if (!elementStates.isEmpty()) {
+                    // A reader may report one text node in several chunks, the DOM saw it as a whole
+                    pendingText.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+                break;
+            case XMLStreamConstants.CDATA:
+                if (!elementStates.isEmpty()) {
+                    characters(normalizeLineBreaks(reader.getText()), true);
+                }
+                break;
+            case XMLStreamConstants.COMMENT:
+                comment(reader.getText());
+                break;
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                processingInstruction(reader.getPITarget(), reader.getPIData());
+                break;
+            case XMLStreamConstants.END_DOCUMENT:
+                endDocument();
+                return;
+            default:
+                break;
+            }
+            if (!reader.hasNext()) {
+                flushPendingText();
+                endDocument();
+                return;
+            }
+            event = reader.next();
+        }
+    }
+
+    private void flushPendingText() throws IOException {
+        if (pendingText.length() == 0) {
+            return;
+        }
+        String value = normalizeLineBreaks(pendingText.toString());
+        pendingText.setLength(0);
+        if (currentState().preserveSpace || !isWhitespace(value)) {
+            characters(value, false);
+        }
+    }
+
+    private void startElement(XMLStreamReader reader) throws IOException {
+        String tagName = qualifiedName(reader.getPrefix(), reader.getLocalName());
+        if (elementStates.isEmpty()) {
+            startDocument();
+        } else {
+            ElementState parent = currentState();
+            if (parent.empty) {
+                printText('>');
+            }
+            if (parent.inCData) {
+                printText("]]>");
+                parent.inCData = false;
+            }
+            if (!parent.preserveSpace && (parent.empty || parent.afterElement || parent.afterComment)) {
+                breakLine();
+            }
+        }
+        boolean preserveSpace = !elementStates.isEmpty() && currentState().preserveSpace;
+        int namespaceMark = namespaceBindings.size();
+
+        printText('<');
+        printText(tagName);
+        indent();
+
+        List<String[]> attributes = sortedAttributes(reader);
+        for (String[] attribute : attributes) {
+            printSpace();
+            printText(attribute[0]);
+            printText("=\"");
+            printAttributeValue(attribute[1]);
+            printText('"');
+            if ("xml:space".equals(attribute[0])) {
+                preserveSpace = "preserve".equals(attribute[1]);
+            }
+        }
+        elementStates.add(new ElementState(tagName, preserveSpace, namespaceMark));
+    }
+
+    private void endElement() throws IOException {
+        unindent();
+        ElementState state = elementStates.remove(elementStates.size() - 1);
+        while (namespaceBindings.size() > state.namespaceMark) {
+            namespaceBindings.remove(namespaceBindings.size() - 1);
+        }
+        if (state.empty) {
+            printText("/>");
+        } else {
+            if (state.inCData) {
+                printText("]]>");
+            }
+            if (!state.preserveSpace && (state.afterElement || state.afterComment)) {
+                breakLine();
+            }
+            printText("</");
+            printText(state.tagName);
+            printText('>');
+        }
+        if (!elementStates.isEmpty()) {
+            ElementState parent = currentState();
+            parent.afterElement = true;
+            parent.afterComment = false;
+            parent.empty = false;
+        } else {
+            flush();
+        }
+    }
+
+    private void characters(String value, boolean cdata) throws IOException {
+        ElementState state = content(cdata);
+        if (cdata) {
+            if (!state.inCData) {
+                printText("<![CDATA[");
+                state.inCData = true;
+            }
+            int saveIndent = nextIndent;
+            nextIndent = 0;
+            printCDataText(value);
+            nextIndent = saveIndent;
+        } else if (state.preserveSpace) {
+            int saveIndent = nextIndent;
+            nextIndent = 0;
+            printEscapedText(value);
+            nextIndent = saveIndent;
+        } else {
+            printEscapedText(value);
+        }
+    }
+
+    private void comment(String value) throws IOException {
+        int index = value.indexOf("-->");
+        String comment = "<!--" + (index >= 0 ? value.substring(0, index) : value) + "-->";
+        if (elementStates.isEmpty()) {
+            documentLevelNode(comment);
+            return;
+        }
+        ElementState state = content(false);
+        if (!state.preserveSpace) {
+            breakLine();
+        }
+        indent();
+        printText(comment);
+        unindent();
+        state.afterComment = true;
+    }
+
+    private void processingInstruction(String target, String data) throws IOException {
+        StringBuilder instruction = new StringBuilder("<?").append(target);
+        if (data != null && data.length() > 0) {
+            instruction.append(' ').append(data.replace("?>", "? >"));
+        }
+        instruction.append("?>");
+        if (elementStates.isEmpty()) {
+            documentLevelNode(instruction);
+            return;
+        }
+        ElementState state = content(false);
+        indent();
+        printText(instruction);
+        unindent();
+        state.afterElement = true;
+        state.afterComment = false;
+    }
+
+    private void startDocument() throws IOException {
+        if (!started) {
+            printText(XML_DECLARATION);
+            breakLine();
+            started = true;
+        }
+    }
+
+    /*
+     * Comments and processing instructions outside the root element stay where they are, on lines of their own.
+     */
+    private void documentLevelNode(CharSequence node) throws IOException {
+        startDocument();
+        printText(node);
+        breakLine();
+    }
+
+    private void endDocument() throws IOException {
+        flush();
+    }
+
+    private ElementState content(boolean cdata) {
+        ElementState state = currentState();
+        if (state.inCData && !cdata) {
+            printText("]]>");
+            state.inCData = false;
+        }
+        if (state.empty) {
+            printText('>');
+            state.empty = false;
+        }
+        state.afterElement = false;
+        state.afterComment = false;
+        return state;
+    }
+
+    private ElementState currentState() {
+        return elementStates.get(elementStates.size() - 1);
+    }
+
+    private List<String[]> sortedAttributes(XMLStreamReader reader) {
+        int namespaceCount = reader.getNamespaceCount();
+        int attributeCount = reader.getAttributeCount();
+        if (namespaceCount + attributeCount == 0 && !fromObjectModel) {
+            return Collections.emptyList();
+        }
+        List<String[]> attributes = new ArrayList<String[]>(namespaceCount + attributeCount);
+        for (int i = 0; i < namespaceCount; i++) {
+            declareNamespace(attributes, reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+        }
+        if (fromObjectModel) {
+            // Declarations the OM serializer would have added for names that are not bound in scope
+            declareNamespace(attributes, reader.getPrefix(), reader.getNamespaceURI());
+            for (int i = 0; i < attributeCount; i++) {
+                String prefix = reader.getAttributePrefix(i);
+                if (prefix != null && prefix.length() > 0) {
+                    declareNamespace(attributes, prefix, reader.getAttributeNamespace(i));
+                }
+            }
+        }
+        for (int i = 0; i < attributeCount; i++) {
+            addAttribute(attributes,
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    attributeValue(reader.getAttributeValue(i)));
+        }
+        return attributes;
+    }
+
+    private void declareNamespace(List<String[]> attributes, String prefix, String uri) {
+        prefix = prefix == null ? "" : prefix;
+        uri = uri == null ? "" : uri;
+        if (fromObjectModel) {
+            if (uri.equals(lookupNamespace(prefix)) || "xml".equals(prefix)) {
+                return;
+            }
+            namespaceBindings.add(new String[] { prefix, uri });
+        }
+        addAttribute(attributes, prefix.length() == 0 ? "xmlns" : "xmlns:" + prefix, uri);
+    }
+
+    private String lookupNamespace(String prefix) {
+        for (int i = namespaceBindings.size() - 1; i >= 0; i--) {
+            String[] binding = namespaceBindings.get(i);
+            if (binding[0].equals(prefix)) {
+                return binding[1];
+            }
+        }
+        return prefix.length() == 0 ? "" : null;
+    }
+
+    /*
+     * Keeps the list ordered by attribute name, the order in which a DOM NamedNodeMap hands attributes out.
+     * Elements rarely carry more than a handful of attributes, so an insertion sort is all that is needed.
+     */
+    private static void addAttribute(List<String[]> attributes, String name, String value) {
+        int index = attributes.size();
+        while (index > 0) {
+            int comparison = attributes.get(index - 1)[0].compareTo(name);
+            if (comparison == 0) {
+                // Same declaration reported twice, keep the first one
+                return;
+            }
+            if (comparison < 0) {
+                break;
+            }
+            index--;
+        }
+        attributes.add(index, new String[] { name, value });
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.length() == 0) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    private static boolean isWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch != ' ' && ch != '\n' && ch != '\t' && ch != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * A parser reports line breaks as a single '\n', do the same for text that comes straight out of an OM tree.
+     */
+    private static String normalizeLineBreaks(String value) {
+        if (value.indexOf('\r') < 0) {
+            return value;
+        }
+        return value.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    private static String attributeValue(String value) {
+        return value == null ? "" : value;
+    }
+
+    private void printEscapedText(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+            case '<':
+                text.append("&lt;");
+                break;
+            case '&':
+                text.append("&amp;");
+                break;
+            case '>':
+                text.append("&gt;");
+                break;
+            case '\n':
+            case '\t':
+                text.append(ch);
+                break;
+            default:
+                if (ch < ' ') {
+                    printHex(ch);
+                } else {
+                    text.append(ch);
+                }
+            }
+        }
+    }
+
+    /*
+     * Line breaks and tabs are written as character references, as literal ones would be turned into spaces when the
+     * document is parsed again.
+     */
+    private void printAttributeValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+            case '<':
+                text.append("&lt;");
+                break;
+            case '&':
+                text.append("&amp;");
+                break;
+            case '"':
+                text.append("&quot;");
+                break;
+            default:
+                if (ch < ' ') {
+                    printHex(ch);
+                } else {
+                    text.append(ch);
+                }
+            }
+        }
+    }
+
+    private void printCDataText(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch == ']' && i + 2 < length && value.charAt(i + 1) == ']' && value.charAt(i + 2) == '>') {
+                text.append("]]]]><![CDATA[>");
+                i += 2;
+            } else if (ch >= ' ' || ch == '\n' || ch == '\t') {
+                text.append(ch);
+            } else {
+                text.append("]]>");
+                printHex(ch);
+                text.append("<![CDATA[");
+            }
+        }
+    }
+
+    private void printHex(char ch) {
+        text.append("&#x").append(Integer.toHexString(ch)).append(';');
+    }
+
+    private void printText(CharSequence value) {
+        text.append(value);
+    }
+
+    private void printText(char ch) {
+        text.append(ch);
+    }
+
+    private void printSpace() {
+        if (text.length() > 0) {
+            appendSpaces();
+            line.append(text);
+            text.setLength(0);
+        }
+        spaces++;
+    }
+
+    private void breakLine() throws IOException {
+        if (text.length() > 0) {
+            appendSpaces();
+            line.append(text);
+            text.setLength(0);
+        }
+        flushLine();
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private void flushLine() throws IOException {
+        if (line.length() > 0) {
+            for (int i = 0; i < thisIndent; i++) {
+                writer.write(' ');
+            }
+            thisIndent = nextIndent;
+            spaces = 0;
+            writer.write(line.toString());
+            line.setLength(0);
+        }
+    }
+
+    private void appendSpaces() {
+        while (spaces > 0) {
+            line.append(' ');
+            spaces--;
+        }
+    }
+
+    private void flush() throws IOException {
+        if (line.length() > 0 || text.length() > 0) {
+            breakLine();
+        }
+        writer.flush();
+    }
+
+    private void indent() {
+        nextIndent += INDENT;
+    }
+
+    private void unindent() {
+        nextIndent -= INDENT;
+        if (nextIndent < 0) {
+            nextIndent = 0;
+        }
+        if (line.length() + spaces + text.length() == 0) {
+            thisIndent = nextIndent;
+        }
+    }
+
+    /**
+     * Per element serialization state, mirrors the Xerces {@code ElementState}.
+     */
+    private static final class ElementState {
+
+        final String tagName;
+        final boolean preserveSpace;
+        final int namespaceMark;
+        boolean empty = true;
+        boolean afterElement;
+        boolean afterComment;
+        boolean inCData;
+
+        ElementState(String tagName, boolean preserveSpace, int namespaceMark) {
+            this.tagName = tagName;
+            this.preserveSpace = preserveSpace;
+            this.namespaceMark = namespaceMark;
+        }
+    }
+}
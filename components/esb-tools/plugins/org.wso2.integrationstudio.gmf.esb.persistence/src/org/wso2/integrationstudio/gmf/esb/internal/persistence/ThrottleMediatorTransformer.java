@@ -37,10 +37,13 @@ import org.wso2.integrationstudio.gmf.esb.persistence.TransformationInfo;
 import org.wso2.integrationstudio.gmf.esb.persistence.TransformerException;
 
 public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer {
-    private static OMFactory factory;
-    private static OMNamespace ns_wsp;
-    private static OMNamespace ns_throttle;
-    private static OMNamespace ns_wsu;
+    private static final OMFactory factory = OMAbstractFactory.getOMFactory();
+    private static final OMNamespace ns_wsp = factory
+            .createOMNamespace("http://schemas.xmlsoap.org/ws/2004/09/policy", "wsp");
+    private static final OMNamespace ns_throttle = factory
+            .createOMNamespace("http://www.wso2.org/products/wso2commons/throttle", "throttle");
+    private static final OMNamespace ns_wsu = factory.createOMNamespace(
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd", "wsu");
 
     public void transform(TransformationInfo information, EsbNode subject) throws TransformerException {
         information.getParentSequence().addChild(createThrottleMediator(subject, information));
@@ -140,13 +143,6 @@ public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer {
     }
 
     private static OMElement createPolicyconfiguration(ThrottleMediator vishualThrottle) {
-        factory = OMAbstractFactory.getOMFactory();
-
-        ns_wsp = factory.createOMNamespace("http://schemas.xmlsoap.org/ws/2004/09/policy", "wsp");
-        ns_throttle = factory.createOMNamespace("http://www.wso2.org/products/wso2commons/throttle", "throttle");
-        ns_wsu = factory.createOMNamespace(
-                "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd", "wsu");
-
         OMAttribute id = factory.createOMAttribute("id", ns_wsu, "WSO2MediatorThrottlingPolicy");
 
         OMElement root = factory.createOMElement("Policy", ns_wsp);
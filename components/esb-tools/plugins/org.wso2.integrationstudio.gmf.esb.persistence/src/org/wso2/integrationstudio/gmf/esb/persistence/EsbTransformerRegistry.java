@@ -15,8 +15,6 @@
  */
 package org.wso2.integrationstudio.gmf.esb.persistence;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import org.wso2.integrationstudio.gmf.esb.APIResource;
 import org.wso2.integrationstudio.gmf.esb.AddressingEndpoint;
@@ -165,21 +163,16 @@ import org.wso2.integrationstudio.gmf.esb.internal.persistence.custom.MediatorSe
  */
 public class EsbTransformerRegistry {
     /**
-     * Singleton instance.
+     * Visual model type to transformers table.
      */
-    private static EsbTransformerRegistry singleton;
-
-    /**
-     * Visual model type to transformers map.
-     */
-    private Map<Class<?>, EsbNodeTransformer> transformersMap;
+    private final TypeDispatchTable<EsbNodeTransformer> transformersMap;
 
     /**
      * Creates a new transformer registry.
      */
     private EsbTransformerRegistry() {
         MediatorSerializerRegister.registerSerializers(); /* Register Custom serializers */
-        transformersMap = new HashMap<Class<?>, EsbNodeTransformer>();
+        transformersMap = new TypeDispatchTable<EsbNodeTransformer>();
         addTransformer(ProxyService.class, new ProxyServiceTransformer());
         addTransformer(DefaultEndPoint.class, new DefaultEndPointTransformer());
         addTransformer(AddressEndPoint.class, new AddressEndPointTransformer());
@@ -255,10 +248,14 @@ public class EsbTransformerRegistry {
      * @return singleton instance.
      */
     public static EsbTransformerRegistry getInstance() {
-        if (null == singleton) {
-            singleton = new EsbTransformerRegistry();
-        }
-        return singleton;
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Holds the singleton instance, which gets created once on first use and is safe to share between threads.
+     */
+    private static class SingletonHolder {
+        private static final EsbTransformerRegistry INSTANCE = new EsbTransformerRegistry();
     }
 
     /**
@@ -273,7 +270,8 @@ public class EsbTransformerRegistry {
     }
 
     /**
-     * Attempts to locate a transformer corresponding to the specified visual model object.
+     * Attempts to locate a transformer corresponding to the specified visual model object. Subtypes of a registered
+     * visual model type resolve to the transformer of that type.
      * 
      * @param <K>
      * @param esbNode
@@ -42,7 +42,17 @@ public class TransformationInfo {
         this.currentProxy = currentProxy;
     }
 
-    private static List<EsbNode> transformedMediators = new ArrayList<EsbNode>();
+    /**
+     * Nodes already transformed by the transformation running on the current thread. Shared by the nested
+     * transformation infos of that transformation, and kept per thread so that diagrams can be transformed in
+     * parallel.
+     */
+    private static final ThreadLocal<List<EsbNode>> transformedMediators = new ThreadLocal<List<EsbNode>>() {
+        @Override
+        protected List<EsbNode> initialValue() {
+            return new ArrayList<EsbNode>();
+        }
+    };
 
     public ListMediator getOriginInSequence() {
         return originInSequence;
@@ -125,6 +135,6 @@ public class TransformationInfo {
     }
 
     public List<EsbNode> getTransformedMediators() {
-        return transformedMediators;
+        return transformedMediators.get();
     }
 }
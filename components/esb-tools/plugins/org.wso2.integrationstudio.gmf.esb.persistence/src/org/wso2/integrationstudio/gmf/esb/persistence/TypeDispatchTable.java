@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integrationstudio.gmf.esb.persistence;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class keyed handler table used by the transformer and deserializer registries.
+ *
+ * A handler registered for a type also serves its subtypes, the closest registration wins: the class itself,
+ * then its super classes, then the interfaces it implements. The outcome of each lookup, including a miss, is
+ * remembered so that the hierarchy of a given class is walked only once. Lookups are safe from any thread.
+ *
+ * @param <V> handler type
+ */
+public class TypeDispatchTable<V> {
+
+    /**
+     * Marks a class for which no handler could be resolved.
+     */
+    private static final Object NO_HANDLER = new Object();
+
+    private final Map<Class<?>, V> registered = new ConcurrentHashMap<Class<?>, V>();
+
+    private final Map<Class<?>, Object> resolved = new ConcurrentHashMap<Class<?>, Object>();
+
+    /**
+     * Registers a handler for the given type and its subtypes.
+     *
+     * @param type type handled
+     * @param handler handler
+     */
+    public void put(Class<?> type, V handler) {
+        registered.put(type, handler);
+        // Earlier lookups may have resolved to a more general handler, or to none
+        resolved.clear();
+    }
+
+    /**
+     * Returns the handler for the given type.
+     *
+     * @param type type to look up
+     * @return handler registered for the type or its closest super type, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        Object handler = resolved.get(type);
+        if (handler == null) {
+            handler = resolve(type);
+            resolved.put(type, handler == null ? NO_HANDLER : handler);
+        }
+        return handler == NO_HANDLER ? null : (V) handler;
+    }
+
+    private V resolve(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            V handler = registered.get(current);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<Class<?>>();
+        Set<Class<?>> visited = new HashSet<Class<?>>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> implemented : current.getInterfaces()) {
+                interfaces.add(implemented);
+            }
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            V handler = registered.get(current);
+            if (handler != null) {
+                return handler;
+            }
+            for (Class<?> extended : current.getInterfaces()) {
+                interfaces.add(extended);
+            }
+        }
+        return null;
+    }
+}
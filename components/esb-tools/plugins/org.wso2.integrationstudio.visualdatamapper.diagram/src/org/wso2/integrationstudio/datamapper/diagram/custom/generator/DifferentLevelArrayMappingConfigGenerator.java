@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -220,9 +221,12 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 				unassignedMappingOperations, mappingOperationListTemp);
 		// All operations are now assign to ForLoopBean map. Transform
 		// forLoopBean map for JS script.
-		functionBuilder
-				.append(transformForLoopBeansToJS(getRootBean(), mappingOperationList, 
-						model.getVariableTypeMap(), model.getUnNamedVariables()));
+		Map<MappingOperation, Integer> mappingOperationPositions = new IdentityHashMap<>();
+		for (int i = 0; i < mappingOperationList.size(); i++) {
+			mappingOperationPositions.put(mappingOperationList.get(i), i);
+		}
+		transformForLoopBeansToJS(getRootBean(), mappingOperationList, mappingOperationPositions,
+				model.getVariableTypeMap(), model.getUnNamedVariables(), functionBuilder);
 		return functionBuilder.toString();
 	}
 
@@ -668,11 +672,23 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 		return mostChildVariableIndex;
 	}
 
+	/**
+	 * Appends the script of the given for loop bean, its operations and its nested for loops to the given builder.
+	 * Nested for loops are written straight into the same builder rather than being built separately and copied
+	 * into their parent's script.
+	 * 
+	 * @param forLoopBean for loop bean to transform
+	 * @param mappingOperationList all mapping operations
+	 * @param mappingOperationPositions position of each mapping operation in mappingOperationList
+	 * @param map variable type map
+	 * @param unNamedVariables unnamed variables
+	 * @param functionBuilder builder to append the script to
+	 * @throws DataMapperException
+	 */
 	@SuppressWarnings("unchecked")
-	private String transformForLoopBeansToJS(ForLoopBean forLoopBean, List<MappingOperation> mappingOperationList,
-			Map<String, List<SchemaDataType>> map, List<String> unNamedVariables) 
-			throws DataMapperException {
-		StringBuilder functionBuilder = new StringBuilder();
+	private void transformForLoopBeansToJS(ForLoopBean forLoopBean, List<MappingOperation> mappingOperationList,
+			Map<MappingOperation, Integer> mappingOperationPositions, Map<String, List<SchemaDataType>> map,
+			List<String> unNamedVariables, StringBuilder functionBuilder) throws DataMapperException {
 		functionBuilder.append("\n");
 		Stack<ForLoopBean> forLoopBeanParentStack = getParentForLoopBeanStack(forLoopBean);
 		Stack<ForLoopBean> tempForLoopBeanParentStack = new Stack<ForLoopBean>();
@@ -743,6 +759,7 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 			DMVariable outputVariable = mappingOperation.getOutputVariables().get(0);
 			int outputMappedForLoop = 0;
 			String mostChildArrayElement;
+			int operationScriptStart = functionBuilder.length();
 			try {
 				mostChildArrayElement = ScriptGenerationUtil.getMostChildArrayElementName(outputVariable.getName(),
 						variableMap);
@@ -764,25 +781,26 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 									.equals(mappingOperation.getOperation().getOperatorType())
 									&& SchemaDataType.ARRAY.equals(mappingOperation.getOperation()
 											.getProperty(TransformerConstants.VARIABLE_TYPE)))) {
-						functionBuilder.append(getJSCommandForOperation(mappingOperation, map,
-								forLoopBean, unNamedVariables));
+						appendJSCommandForOperation(mappingOperation, map, forLoopBean, unNamedVariables,
+								functionBuilder);
 					} else {
 						outputMappedForLoopBean.getOperationList().add(0,
-								mappingOperationList.indexOf(mappingOperation));
+								mappingOperationPositions.get(mappingOperation));
 					}
 				} else {
-					functionBuilder.append(getJSCommandForOperation(mappingOperation, map, 
-							forLoopBean, unNamedVariables));
+					appendJSCommandForOperation(mappingOperation, map, forLoopBean, unNamedVariables,
+							functionBuilder);
 				}
 			} catch (DataMapperException e) {
+				// Drop whatever part of the failed operation was already written
+				functionBuilder.setLength(operationScriptStart);
 				log.warn(e);
 			}
 		}
 		List<Integer> nestedForLoopList = forLoopBean.getNestedForLoopList();
 		for (Integer nestedForLoopIndex : nestedForLoopList) {
-			functionBuilder.append(
-					transformForLoopBeansToJS(getForLoopBeanList().get(nestedForLoopIndex),
-							mappingOperationList, map, unNamedVariables));
+			transformForLoopBeansToJS(getForLoopBeanList().get(nestedForLoopIndex), mappingOperationList,
+					mappingOperationPositions, map, unNamedVariables, functionBuilder);
 		}
 
 		if (!ROOT_TAG.equals(forLoopBean.getVariableName())) {
@@ -805,13 +823,12 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 				functionBuilder.append("\n");
 			}
 		}
-		return functionBuilder.toString();
 	}
 
 	@SuppressWarnings("unchecked")
-	private String getJSCommandForOperation(MappingOperation mappingOperation, Map<String, List<SchemaDataType>> map,
-			ForLoopBean forLoopBean, List<String> unNamedVariables) throws DataMapperException {
-		StringBuilder operationBuilder = new StringBuilder();
+	private void appendJSCommandForOperation(MappingOperation mappingOperation, Map<String, List<SchemaDataType>> map,
+			ForLoopBean forLoopBean, List<String> unNamedVariables, StringBuilder operationBuilder)
+			throws DataMapperException {
 		List<DMVariable> outputVariables = mappingOperation.getOutputVariables();
 		if (outputVariables.size() > 1) {
 			operationBuilder.append("[ ");
@@ -819,7 +836,7 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 			if ((DataMapperOperatorType.PROPERTIES.equals(mappingOperation.getOperation().getOperatorType())
 					|| DataMapperOperatorType.CONSTANT.equals(mappingOperation.getOperation().getOperatorType()))
 					&& DMVariableType.INTERMEDIATE.equals(outputVariables.get(0).getType())) {
-				return "";
+				return;
 			}
 		}
 		Stack<ForLoopBean> forLoopBeanParentStack = getParentForLoopBeanStack(forLoopBean);
@@ -873,7 +890,6 @@ public class DifferentLevelArrayMappingConfigGenerator extends AbstractMappingCo
 			operationBuilder.append("}");
 			operationBuilder.append("\n");
 		}
-		return operationBuilder.toString();
 	}
 
 	private boolean isOptionalVariableCheckedBefore(String optionalVariable, ForLoopBean forLoopBean) {
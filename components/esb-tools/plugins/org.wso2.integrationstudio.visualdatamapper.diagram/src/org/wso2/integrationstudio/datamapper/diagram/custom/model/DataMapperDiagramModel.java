@@ -16,6 +16,7 @@
 package org.wso2.integrationstudio.datamapper.diagram.custom.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -25,7 +26,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
-import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.transaction.RecordingCommand;
@@ -245,59 +245,93 @@ public class DataMapperDiagramModel {
 		}
 	}
 
+	/**
+	 * Orders the operations so that each one runs after the operations producing its inputs. Operations are taken
+	 * in rounds, in index order, and an operation becomes executable as soon as all of its input variables are
+	 * resolved. The adjacency lists are flattened into int arrays and resolved variables are tracked in bit sets
+	 * so that each check is constant time regardless of the number of variables in the mapping.
+	 * 
+	 * @throws DataMapperException if some operations can never be executed
+	 */
 	private void updateExecutionSequence() throws DataMapperException {
-		List<Integer> unexecutedOperationList = new ArrayList<>();
-		List<Integer> tempUnexecutedOperationList = new ArrayList<>();
 		int numberOfOperations = operationsList.size();
+		int[][] operationInputs = toIntArrays(inputAdjList);
+		int[][] operationOutputs = toIntArrays(outputAdjList);
+		BitSet outputVariables = new BitSet(variablesArray.size());
+		for (Integer outputVariableIndex : outputVariablesArray) {
+			outputVariables.set(outputVariableIndex);
+		}
+		BitSet resolvedVariables = new BitSet(variablesArray.size());
+		for (Integer resolvedVariableIndex : getResolvedVariableArray()) {
+			resolvedVariables.set(resolvedVariableIndex);
+		}
+		for (Integer resolvedVariableIndex : getResolvedOutputVariableArray()) {
+			resolvedVariables.set(resolvedVariableIndex);
+		}
+
+		int[] unexecutedOperations = new int[numberOfOperations];
 		for (int i = 0; i < numberOfOperations; i++) {
-			unexecutedOperationList.add(i);
+			unexecutedOperations[i] = i;
 		}
-		boolean seqUpdated = false;
-		while (executionSeq.size() < numberOfOperations) {
-			seqUpdated = false;
-			for (int index = 0; unexecutedOperationList.size() > index; ++index) {
-				if (operationIsExecutable(unexecutedOperationList.get(index))) {
-					executionSeq.add(unexecutedOperationList.get(index));
-					addOutputsToResolvedVariables(unexecutedOperationList.get(index));
-					seqUpdated = true;
+		int unexecutedCount = numberOfOperations;
+		while (unexecutedCount > 0) {
+			int remainingCount = 0;
+			for (int position = 0; position < unexecutedCount; ++position) {
+				int operationIndex = unexecutedOperations[position];
+				if (operationIsExecutable(operationInputs[operationIndex], resolvedVariables)) {
+					executionSeq.add(operationIndex);
+					addOutputsToResolvedVariables(operationOutputs[operationIndex], outputVariables,
+							resolvedVariables);
 				} else {
-					tempUnexecutedOperationList.add(unexecutedOperationList.get(index));
+					unexecutedOperations[remainingCount++] = operationIndex;
 				}
 			}
-			if (!seqUpdated && !tempUnexecutedOperationList.isEmpty()) {
+			if (remainingCount == unexecutedCount) {
 				throw new DataMapperException("Unresolvable Mapping config detected");
 			}
-			unexecutedOperationList = tempUnexecutedOperationList;
-			tempUnexecutedOperationList = new ArrayList<>();
+			unexecutedCount = remainingCount;
 		}
 	}
 
-	private void addOutputsToResolvedVariables(Integer index) {
-		ArrayList<Integer> outputVariables = outputAdjList.get(index);
-		for (Integer operationOutputVariable : outputVariables) {
-			if (outputVariablesArray.indexOf(operationOutputVariable) >= 0) {
+	private static int[][] toIntArrays(List<ArrayList<Integer>> adjList) {
+		int[][] adjArrays = new int[adjList.size()][];
+		for (int i = 0; i < adjArrays.length; i++) {
+			List<Integer> adjacentVariables = adjList.get(i);
+			adjArrays[i] = new int[adjacentVariables.size()];
+			for (int j = 0; j < adjArrays[i].length; j++) {
+				adjArrays[i][j] = adjacentVariables.get(j);
+			}
+		}
+		return adjArrays;
+	}
+
+	private void addOutputsToResolvedVariables(int[] outputVariableIndexes, BitSet outputVariables,
+			BitSet resolvedVariables) {
+		for (int operationOutputVariable : outputVariableIndexes) {
+			if (operationOutputVariable >= 0 && outputVariables.get(operationOutputVariable)) {
 				getResolvedOutputVariableArray().add(operationOutputVariable);
 			} else {
 				getResolvedVariableArray().add(operationOutputVariable);
 			}
+			if (operationOutputVariable >= 0) {
+				resolvedVariables.set(operationOutputVariable);
+			}
 		}
 	}
 
 	/**
-	 * Checks whether all input variables for the operation in inputAdjList are
-	 * in the resolvedVariable list
+	 * Checks whether all input variables of an operation are resolved
 	 * 
-	 * @param index
+	 * @param inputVariableIndexes
+	 * @param resolvedVariables
 	 * @return
 	 */
-	private boolean operationIsExecutable(Integer index) {
-		ArrayList<Integer> inputVariables = inputAdjList.get(index);
-		for (Integer inputVariableIndex : inputVariables) {
+	private boolean operationIsExecutable(int[] inputVariableIndexes, BitSet resolvedVariables) {
+		for (int inputVariableIndex : inputVariableIndexes) {
 			if (inputVariableIndex < 0) {
 				continue;
 			}
-			if (getResolvedVariableArray().indexOf(inputVariableIndex) < 0
-					&& getResolvedOutputVariableArray().indexOf(inputVariableIndex) < 0) {
+			if (!resolvedVariables.get(inputVariableIndex)) {
 				return false;
 			}
 		}
@@ -998,10 +1032,12 @@ public class DataMapperDiagramModel {
 					}
 					parentVariableStack.push(currentTreeNode);
 				}
+				// Push the children in reverse so that they are popped in document order, without reordering the
+				// model list itself
 				EList<TreeNode> nodeList = ((TreeNodeImpl) currentNode).getNode();
-				ECollections.reverse(nodeList);
-				nodeStack.addAll(nodeList);
-				ECollections.reverse(nodeList);
+				for (int i = nodeList.size() - 1; i >= 0; i--) {
+					nodeStack.push(nodeList.get(i));
+				}
 			}
 		}
 	}
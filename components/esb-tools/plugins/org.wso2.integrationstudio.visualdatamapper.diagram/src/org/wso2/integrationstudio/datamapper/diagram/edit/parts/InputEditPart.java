@@ -93,6 +93,7 @@ import org.wso2.integrationstudio.datamapper.diagram.edit.policies.InputItemSema
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.ISchemaTransformer;
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTransformer;
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTransformerRegistry;
+import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTreeGenerationJob;
 import org.wso2.integrationstudio.datamapper.impl.InputImpl;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
@@ -110,6 +111,7 @@ public class InputEditPart extends ShapeNodeEditPart {
 
 	private static final int Y = 200;
 	TreeNode inputRootTreeNode;
+	private SchemaTreeGenerationJob treeGenerationJob;
 	private static final int LEAF_HEIGHT = 20;
 	private static final int LEAF_WIDTH = 3;
 	private static final int INPUT_BOX_WIDTH = 250;
@@ -146,6 +148,15 @@ public class InputEditPart extends ShapeNodeEditPart {
 		super.activate();
 	}
 
+	@Override
+	public void deactivate() {
+		if (treeGenerationJob != null) {
+			treeGenerationJob.cancel();
+			treeGenerationJob = null;
+		}
+		super.deactivate();
+	}
+
 	/**
 	 * @generated NOT
 	 */
@@ -173,8 +184,9 @@ public class InputEditPart extends ShapeNodeEditPart {
 		try {
 			schemaTransformer = SchemaTransformerRegistry.getInstance().getSchemaTransformer().newInstance();
 			if (schemaTransformer instanceof SchemaTransformer) {
-				String content = schemaTransformer.getSchemaContentFromFile(filePath);
-				inputRootTreeNode = schemaTransformer.generateTree(content, inputRootTreeNode);
+				// Large schemas take a while to turn into a tree, build it in the background
+				scheduleTreeGeneration((SchemaTransformer) schemaTransformer, filePath, parentContainer);
+				return;
 			} else {
 				Tree tree = schemaTransformer.generateTreeFromFile(filePath);
 				convertTree(tree, inputRootTreeNode);
@@ -185,6 +197,33 @@ public class InputEditPart extends ShapeNodeEditPart {
 			log.error("Error in generating the tree", e);
 		}
 
+		addTreeNode(parentContainer);
+	}
+
+	/**
+	 * Generates the tree of the given schema file in a background job, replacing any generation still running
+	 */
+	private void scheduleTreeGeneration(SchemaTransformer schemaTransformer, String filePath,
+			final EObject parentContainer) {
+		if (treeGenerationJob != null) {
+			treeGenerationJob.cancel();
+		}
+		treeGenerationJob = new SchemaTreeGenerationJob(schemaTransformer, filePath) {
+			@Override
+			protected void treeGenerated(TreeNode rootTreeNode) {
+				// The editor may have been closed, or another schema loaded, in the meantime
+				if (treeGenerationJob != this || !InputEditPart.this.isActive()) {
+					return;
+				}
+				treeGenerationJob = null;
+				inputRootTreeNode = rootTreeNode;
+				addTreeNode(parentContainer);
+			}
+		};
+		treeGenerationJob.schedule();
+	}
+
+	private void addTreeNode(EObject parentContainer) {
 		AddCommand addTreeNodeCmd2 = new AddCommand(getEditingDomain(), parentContainer,
 				DataMapperPackage.Literals.INPUT__TREE_NODE, inputRootTreeNode);
 		if (addTreeNodeCmd2.canExecute()) {
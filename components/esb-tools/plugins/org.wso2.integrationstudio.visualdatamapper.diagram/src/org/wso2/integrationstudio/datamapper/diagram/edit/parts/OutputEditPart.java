@@ -88,6 +88,7 @@ import org.wso2.integrationstudio.datamapper.diagram.edit.policies.OutputItemSem
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.ISchemaTransformer;
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTransformer;
 import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTransformerRegistry;
+import org.wso2.integrationstudio.datamapper.diagram.tree.generator.SchemaTreeGenerationJob;
 import org.wso2.integrationstudio.datamapper.diagram.tree.model.Tree;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
@@ -103,6 +104,7 @@ public class OutputEditPart extends ShapeNodeEditPart {
 
 	private static final int Y = 200;
 	TreeNode outputRootTreeNode;
+	private SchemaTreeGenerationJob treeGenerationJob;
 	private static final int LEAF_HEIGHT = 20;
 	private static final int LEAF_WIDTH = 3;
 	private static final int OUTPUT_BOX_WIDTH = 250;
@@ -143,6 +145,15 @@ public class OutputEditPart extends ShapeNodeEditPart {
 		super.activate();
 	}
 
+	@Override
+	public void deactivate() {
+		if (treeGenerationJob != null) {
+			treeGenerationJob.cancel();
+			treeGenerationJob = null;
+		}
+		super.deactivate();
+	}
+
 	public void resetOutputTreeFromFile(String filePath) {
 		Figure fig = (Figure) primaryShape;
 
@@ -163,8 +174,9 @@ public class OutputEditPart extends ShapeNodeEditPart {
 		try {
 			schemaTransformer = SchemaTransformerRegistry.getInstance().getSchemaTransformer().newInstance();
 			if (schemaTransformer instanceof SchemaTransformer) {
-				String content = schemaTransformer.getSchemaContentFromFile(filePath);
-				outputRootTreeNode = schemaTransformer.generateTree(content, outputRootTreeNode);
+				// Large schemas take a while to turn into a tree, build it in the background
+				scheduleTreeGeneration((SchemaTransformer) schemaTransformer, filePath, parentContainer);
+				return;
 			} else {
 				Tree tree = schemaTransformer.generateTreeFromFile(filePath);
 				convertTree(tree, outputRootTreeNode);
@@ -175,6 +187,33 @@ public class OutputEditPart extends ShapeNodeEditPart {
 			log.error("Error in generating the tree", e);
 		}
 
+		addTreeNode(parentContainer);
+	}
+
+	/**
+	 * Generates the tree of the given schema file in a background job, replacing any generation still running
+	 */
+	private void scheduleTreeGeneration(SchemaTransformer schemaTransformer, String filePath,
+			final EObject parentContainer) {
+		if (treeGenerationJob != null) {
+			treeGenerationJob.cancel();
+		}
+		treeGenerationJob = new SchemaTreeGenerationJob(schemaTransformer, filePath) {
+			@Override
+			protected void treeGenerated(TreeNode rootTreeNode) {
+				// The editor may have been closed, or another schema loaded, in the meantime
+				if (treeGenerationJob != this || !OutputEditPart.this.isActive()) {
+					return;
+				}
+				treeGenerationJob = null;
+				outputRootTreeNode = rootTreeNode;
+				addTreeNode(parentContainer);
+			}
+		};
+		treeGenerationJob.schedule();
+	}
+
+	private void addTreeNode(EObject parentContainer) {
 		AddCommand addTreeNodeCmd2 = new AddCommand(getEditingDomain(), parentContainer,
 				DataMapperPackage.Literals.OUTPUT__TREE_NODE, outputRootTreeNode);
 		if (addTreeNodeCmd2.canExecute()) {
@@ -16,12 +16,20 @@
 
 package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import org.wso2.integrationstudio.datamapper.diagram.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -31,17 +39,52 @@ import com.google.gson.JsonParser;
 public class JsonReferenceResolver {
 
     protected static final String DOLLAR_REF = "$ref";
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    /**
+     * Resolved schemas keyed by the hash of the schema they were resolved from, shared by every schema load of the
+     * session.
+     */
+    private static final ResolvedSchemaCache<String> RESOLVED_SCHEMAS = new ResolvedSchemaCache<>("Resolved schema",
+            32);
+
+    /**
+     * Resolved definitions keyed by the hash of their schema and their absolute reference path, so that a definition
+     * referenced many times is only expanded once.
+     */
+    private static final ResolvedSchemaCache<ResolvedDefinition> RESOLVED_DEFINITIONS = new ResolvedSchemaCache<>(
+            "Resolved definition", 1024);
+
     protected Map<JsonElement, Boolean> referenceDefinitions = new HashMap<>();
 
+    private final Gson gson = new Gson();
+    private final Deque<DefinitionTrace> definitionTraces = new ArrayDeque<>();
+    private String schemaHash;
+
     public JsonReferenceResolver() {
 
     }
 
     public String resolve(String root) {
-        JsonParser parser = new JsonParser();
-        JsonElement rootElement = parser.parse(root);
-        findAndReplaceRefs(rootElement, rootElement, null);
-        return rootElement.toString();
+        schemaHash = ResolvedSchemaCache.hash(root);
+        String resolved = RESOLVED_SCHEMAS.get(schemaHash);
+        if (resolved == null) {
+            JsonParser parser = new JsonParser();
+            JsonElement rootElement = parser.parse(root);
+            findAndReplaceRefs(rootElement, rootElement, null);
+            resolved = rootElement.toString();
+            RESOLVED_SCHEMAS.put(schemaHash, resolved);
+        }
+        log.info(getCacheStatistics());
+        return resolved;
+    }
+
+    /**
+     * @return statistics of the caches shared by the resolvers
+     */
+    public static String getCacheStatistics() {
+        return RESOLVED_SCHEMAS + ", " + RESOLVED_DEFINITIONS;
     }
 
     private void findAndReplaceRefs(JsonElement rootElement, JsonElement currentElement, JsonElement parentElement) {
@@ -58,54 +101,28 @@ public class JsonReferenceResolver {
                     String referencePath = entry.getValue().getAsString();
                     if (referencePath.startsWith("#")) {
                         // Absolute path for definition
-                        String[] referencePathArray = referencePath.substring(2).split("[\\/]");
-                        // Find definition
-                        JsonElement elementToReplaceWith = rootElement;
-                        for (String pathName: referencePathArray) {
-                            elementToReplaceWith = elementToReplaceWith.getAsJsonObject().get(pathName);
-                            if (elementToReplaceWith == null) {
-                                // Definition not found
-                                return;
-                            }
+                        JsonElement elementToReplaceWith = findDefinition(rootElement, referencePath);
+                        if (elementToReplaceWith == null) {
+                            // Definition not found
+                            return;
                         }
-                        // Keep definitions recorded to avoid them from resolving
-                        referenceDefinitions.put(elementToReplaceWith, true);
-                        // Get a deep copy of definition element to avoid resolving original
-                        Gson gson = new Gson();
-                        elementToReplaceWith = gson.fromJson(elementToReplaceWith, JsonElement.class);
-                        // Deep resolve references in definitions
-                        findAndReplaceRefs(rootElement, elementToReplaceWith, currentElement);
-                        // Replace $ref element with definition
-                        Set<Entry<String, JsonElement>> entrySet1 = ((JsonObject) elementToReplaceWith).entrySet();
-                        for (Entry<String, JsonElement> entry1 : entrySet1) {
-                            ((JsonObject) currentElement).add(entry1.getKey(), entry1.getValue());
+                        for (DefinitionTrace trace : definitionTraces) {
+                            trace.referencePaths.add(referencePath);
                         }
-                        ((JsonObject) currentElement).remove(id);
+                        replaceReference(rootElement, currentElement, elementToReplaceWith,
+                                schemaHash + referencePath);
                     } else {
                         // Relative path for definition
-                        String[] referencePathArray = referencePath.split("[\\/]");
-                        // Find definition
-                        JsonElement elementToReplaceWith = parentElement;
-                        for (String pathName: referencePathArray) {
-                            elementToReplaceWith = elementToReplaceWith.getAsJsonObject().get(pathName);
-                            if (elementToReplaceWith == null) {
-                                // Definition not found
-                                return;
-                            }
+                        JsonElement elementToReplaceWith = findDefinition(parentElement, referencePath);
+                        if (elementToReplaceWith == null) {
+                            // Definition not found
+                            return;
                         }
-                        // Keep definitions recorded to avoid them from resolving
-                        referenceDefinitions.put(elementToReplaceWith, true);
-                        // Get a deep copy of definition element to avoid resolving original
-                        Gson gson = new Gson();
-                        elementToReplaceWith = gson.fromJson(elementToReplaceWith, JsonElement.class);
-                        // Deep resolve references in definitions
-                        findAndReplaceRefs(rootElement, elementToReplaceWith, currentElement);
-                        // Replace $ref element with definition
-                        Set<Entry<String, JsonElement>> entrySet1 = ((JsonObject) elementToReplaceWith).entrySet();
-                        for (Entry<String, JsonElement> entry1 : entrySet1) {
-                            ((JsonObject) currentElement).add(entry1.getKey(), entry1.getValue());
+                        // Depends on where the definition is referenced from, so the enclosing ones cannot be cached
+                        for (DefinitionTrace trace : definitionTraces) {
+                            trace.cacheable = false;
                         }
-                        ((JsonObject) currentElement).remove(id);
+                        replaceReference(rootElement, currentElement, elementToReplaceWith, null);
                     }
                 }
                 findAndReplaceRefs(rootElement, entry.getValue(), currentElement);
@@ -121,4 +138,84 @@ public class JsonReferenceResolver {
         }
     }
 
+    private static JsonElement findDefinition(JsonElement element, String referencePath) {
+        String[] referencePathArray = referencePath.startsWith("#") ? referencePath.substring(2).split("[\\/]")
+                : referencePath.split("[\\/]");
+        JsonElement definition = element;
+        for (String pathName : referencePathArray) {
+            definition = definition.getAsJsonObject().get(pathName);
+            if (definition == null) {
+                return null;
+            }
+        }
+        return definition;
+    }
+
+    /**
+     * Replaces the $ref of the given element with the resolved content of the definition it points to.
+     *
+     * @param cacheKey key of the resolved definition in the shared cache, null if it cannot be cached
+     */
+    private void replaceReference(JsonElement rootElement, JsonElement currentElement, JsonElement definition,
+            String cacheKey) {
+        // Keep definitions recorded to avoid them from resolving
+        referenceDefinitions.put(definition, true);
+        ResolvedDefinition cached = cacheKey != null ? RESOLVED_DEFINITIONS.get(cacheKey) : null;
+        JsonElement elementToReplaceWith;
+        if (cached != null) {
+            // Record the nested definitions too, as a full resolution would have
+            for (String referencePath : cached.referencePaths) {
+                referenceDefinitions.put(findDefinition(rootElement, referencePath), true);
+                for (DefinitionTrace trace : definitionTraces) {
+                    trace.referencePaths.add(referencePath);
+                }
+            }
+            elementToReplaceWith = gson.fromJson(cached.element, JsonElement.class);
+        } else {
+            // Get a deep copy of definition element to avoid resolving original
+            elementToReplaceWith = gson.fromJson(definition, JsonElement.class);
+            // Deep resolve references in definitions
+            DefinitionTrace trace = new DefinitionTrace();
+            definitionTraces.push(trace);
+            try {
+                findAndReplaceRefs(rootElement, elementToReplaceWith, currentElement);
+            } finally {
+                definitionTraces.pop();
+            }
+            if (cacheKey != null && trace.cacheable) {
+                RESOLVED_DEFINITIONS.put(cacheKey, new ResolvedDefinition(
+                        gson.fromJson(elementToReplaceWith, JsonElement.class), trace.referencePaths));
+            }
+        }
+        // Replace $ref element with definition
+        Set<Entry<String, JsonElement>> entrySet1 = ((JsonObject) elementToReplaceWith).entrySet();
+        for (Entry<String, JsonElement> entry1 : entrySet1) {
+            ((JsonObject) currentElement).add(entry1.getKey(), entry1.getValue());
+        }
+        ((JsonObject) currentElement).remove(DOLLAR_REF);
+    }
+
+    /**
+     * Absolute reference paths met while a definition is resolved, and whether the outcome only depends on the schema.
+     */
+    private static class DefinitionTrace {
+
+        private final List<String> referencePaths = new ArrayList<>();
+        private boolean cacheable = true;
+    }
+
+    /**
+     * A definition with its references resolved, along with the absolute reference paths resolved in the process.
+     */
+    private static class ResolvedDefinition {
+
+        private final JsonElement element;
+        private final List<String> referencePaths;
+
+        ResolvedDefinition(JsonElement element, List<String> referencePaths) {
+            this.element = element;
+            this.referencePaths = referencePaths;
+        }
+    }
+
 }
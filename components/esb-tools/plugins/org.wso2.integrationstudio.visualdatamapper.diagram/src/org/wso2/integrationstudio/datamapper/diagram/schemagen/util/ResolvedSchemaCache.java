@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of resolved schema content, keyed by a hash of the content it was derived from.
+ * Hits, misses and evictions are counted so that the effectiveness of the cache can be reported.
+ *
+ * @param <V> cached value type
+ */
+public class ResolvedSchemaCache<V> {
+
+    private final String name;
+    private final Map<String, V> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most the given number of entries.
+     *
+     * @param name name used when reporting statistics
+     * @param maxEntries maximum number of entries kept
+     */
+    public ResolvedSchemaCache(String name, final int maxEntries) {
+        this.name = name;
+        this.entries = new LinkedHashMap<String, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                if (size() > maxEntries) {
+                    ++evictions;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for the given key.
+     *
+     * @param key cache key
+     * @return cached value, null if there is none
+     */
+    public synchronized V get(String key) {
+        V value = entries.get(key);
+        if (value != null) {
+            ++hits;
+        } else {
+            ++misses;
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entry if the cache is full.
+     *
+     * @param key cache key
+     * @param value value to cache
+     */
+    public synchronized void put(String key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Drops every entry, the statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return ratio of lookups that were served from the cache, 0 if there was no lookup yet
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s cache: %d entries, %d hits, %d misses, %d evictions, %.1f%% hit rate", name,
+                entries.size(), hits, misses, evictions, getHitRate() * 100);
+    }
+
+    /**
+     * Returns the hash used to key content in a cache.
+     *
+     * @param content content
+     * @return hex encoded SHA-256 digest of the content
+     */
+    public static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
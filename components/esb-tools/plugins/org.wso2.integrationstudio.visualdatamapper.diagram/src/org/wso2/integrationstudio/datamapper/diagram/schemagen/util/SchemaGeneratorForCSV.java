@@ -16,29 +16,47 @@
 
 package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
-import java.io.File;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
-
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 
 public class SchemaGeneratorForCSV extends AbstractSchemaGenerator implements ISchemaGenerator {
 
+	/*
+	 * Every row of a CSV file has the same shape, so the schema is inferred from a bounded number of rows and the
+	 * rest of the file is never read
+	 */
+	private static final int MAX_SAMPLE_ROWS = 1000;
+
 	@Override
 	public String getSchemaResourcePath(String filePath, FileType type, String delimiter) throws IOException {
-		String entireFileText = FileUtils.readFileToString(new File(filePath));
-		return getSchemaContent(entireFileText, type, delimiter);
+		try (Reader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filePath), Charset.defaultCharset()))) {
+			return getSchemaContent(reader, type, delimiter);
+		}
 	}
 
 	@Override
 	public String getSchemaContent(String fileText, FileType type, String delimiter) throws IOException {
-		List<Map<String, String>> data = readObjectsFromCsv(fileText, delimiter);
+		return getSchemaContent(new StringReader(fileText), type, delimiter);
+	}
+
+	private String getSchemaContent(Reader reader, FileType type, String delimiter) throws IOException {
+		List<Map<String, String>> data = readSampleFromCsv(reader, delimiter);
 		String value = writeAsJson(data);
 		SchemaBuilderWithNamepaces sb = new SchemaBuilderWithNamepaces();
 		String jsonSchema = sb.createSchema(value, type);
@@ -53,14 +71,49 @@ public class SchemaGeneratorForCSV extends AbstractSchemaGenerator implements IS
 	 * @throws IOException
 	 */
 	public List<Map<String, String>> readObjectsFromCsv(String content, String delimiter) throws IOException {
+		MappingIterator<Map<String, String>> it = createReader(delimiter).readValues(content);
+		return it.readAll();
+	}
+
+	/**
+	 * Streams the rows of a CSV document and merges the first rows into a single sample row holding every column
+	 * seen, with the first non empty value of each. Only one row is held in memory at a time.
+	 * 
+	 * @param reader CSV content
+	 * @param delimiter column delimiter, comma if empty
+	 * @return a list holding the sample row, empty if the document has no rows
+	 * @throws IOException
+	 */
+	private List<Map<String, String>> readSampleFromCsv(Reader reader, String delimiter) throws IOException {
+		List<Map<String, String>> data = new ArrayList<>();
+		Map<String, String> sample = new LinkedHashMap<>();
+		MappingIterator<Map<String, String>> it = createReader(delimiter).readValues(reader);
+		try {
+			for (int rows = 0; rows < MAX_SAMPLE_ROWS && it.hasNextValue(); ++rows) {
+				for (Map.Entry<String, String> column : it.nextValue().entrySet()) {
+					String value = sample.get(column.getKey());
+					if (value == null || value.isEmpty()) {
+						sample.put(column.getKey(), column.getValue());
+					}
+				}
+			}
+		} finally {
+			it.close();
+		}
+		if (!sample.isEmpty()) {
+			data.add(sample);
+		}
+		return data;
+	}
+
+	private ObjectReader createReader(String delimiter) {
 		CsvMapper mapper = new CsvMapper();
 		char delimiterChar =',';
 		if (!delimiter.isEmpty()) {
 			delimiterChar = delimiter.charAt(0);
 		}
 		CsvSchema schema = CsvSchema.emptySchema().withHeader().withColumnSeparator(delimiterChar);
-		MappingIterator<Map<String, String>> it = mapper.readerFor(Map.class).with(schema).readValues(content);
-		return it.readAll();
+		return mapper.readerFor(Map.class).with(schema);
 	}
 
 	/**
@@ -16,16 +16,28 @@
 
 package org.wso2.integrationstudio.datamapper.diagram.schemagen.util;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMAttribute;
@@ -35,7 +47,6 @@ import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.om.util.AXIOMUtil;
-import org.apache.commons.io.FileUtils;
 import org.wso2.integrationstudio.datamapper.diagram.schemagen.json.JSONException;
 import org.wso2.integrationstudio.datamapper.diagram.schemagen.json.JSONObject;
 import org.wso2.integrationstudio.datamapper.diagram.schemagen.json.XML;
@@ -51,6 +62,8 @@ public class SchemaGeneratorForXML extends SchemaGeneratorForJSON implements ISc
 	protected static final String DOLLLAR_AT_PREFIX = "$@";
 	protected static final String XSI_NAMESPACE_URI = "http://www.w3.org/2001/XMLSchema-instance";
 	protected static final String XSI_TYPE = "type";
+	private static final int MAX_SAMPLE_ELEMENTS = 100000;
+	private static final int MAX_SAMPLE_TEXT_LENGTH = 1024;
 
 	@Override
 	public String getSchemaContent(String content, FileType type, String delimiter) throws IOException {
@@ -89,9 +102,195 @@ public class SchemaGeneratorForXML extends SchemaGeneratorForJSON implements ISc
 
 	@Override
 	public String getSchemaResourcePath(String filePath, FileType type, String delimiter) throws IOException {
-		String entireFileText = FileUtils.readFileToString(new File(filePath));
-		entireFileText = replaceAttributesWithElements(entireFileText);
-		return getSchemaContent(entireFileText, type, null);
+		String sampleText;
+		try (InputStream in = new BufferedInputStream(new FileInputStream(filePath))) {
+			sampleText = readSampleFromXML(in);
+		}
+		sampleText = replaceAttributesWithElements(sampleText);
+		return getSchemaContent(sampleText, type, null);
+	}
+
+	/**
+	 * Streams an XML document and merges it into a sample of its structure, as far as schema generation is concerned.
+	 * The occurrences of an element (per xsi:type) are merged into one, which has every attribute and child element
+	 * seen in any of them along with their first values. An element which occurs more than once under the same parent
+	 * is written twice, so that it is still seen as an array. At most {@link #MAX_SAMPLE_ELEMENTS} elements are read,
+	 * and at most {@link #MAX_SAMPLE_TEXT_LENGTH} characters of text are kept per element.
+	 * 
+	 * @param in XML document
+	 * @return sample document
+	 * @throws IOException if the document is not well formed
+	 */
+	protected String readSampleFromXML(InputStream in) throws IOException {
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		SampleElement root = null;
+		XMLStreamReader reader = null;
+		try {
+			reader = inputFactory.createXMLStreamReader(in);
+			Deque<SampleElement> sampleElements = new ArrayDeque<>();
+			Deque<Map<String, Integer>> siblingCounts = new ArrayDeque<>();
+			Deque<StringBuilder> texts = new ArrayDeque<>();
+			int elements = 0;
+			while (reader.hasNext() && elements < MAX_SAMPLE_ELEMENTS) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					SampleElement sampleElement;
+					if (sampleElements.isEmpty()) {
+						root = new SampleElement(reader);
+						sampleElement = root;
+					} else {
+						String key = reader.getName() + reader.getAttributeValue(XSI_NAMESPACE_URI, XSI_TYPE);
+						Integer count = siblingCounts.peek().get(key);
+						count = count == null ? 1 : count + 1;
+						siblingCounts.peek().put(key, count);
+						sampleElement = sampleElements.peek().children.get(key);
+						if (sampleElement == null) {
+							sampleElement = new SampleElement(reader);
+							sampleElements.peek().children.put(key, sampleElement);
+						}
+						sampleElement.repeated |= count > 1;
+					}
+					sampleElement.merge(reader);
+					sampleElements.push(sampleElement);
+					siblingCounts.push(new HashMap<String, Integer>());
+					texts.push(new StringBuilder());
+					++elements;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					sampleElements.pop().mergeText(texts.pop());
+					siblingCounts.pop();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if (texts.isEmpty()) {
+						break;
+					}
+					StringBuilder text = texts.peek();
+					int length = Math.min(reader.getTextLength(), MAX_SAMPLE_TEXT_LENGTH - text.length());
+					if (length > 0) {
+						text.append(reader.getTextCharacters(), reader.getTextStart(), length);
+					}
+					break;
+				default:
+					break;
+				}
+			}
+			// Keeps the text of the elements left open when the sample limit is reached
+			while (!sampleElements.isEmpty()) {
+				sampleElements.pop().mergeText(texts.pop());
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			try {
+				if (reader != null) {
+					reader.close();
+				}
+			} catch (XMLStreamException e) {
+				// nothing to release
+			}
+		}
+		if (root == null) {
+			throw new IOException("The XML document has no root element");
+		}
+
+		StringWriter sample = new StringWriter();
+		XMLStreamWriter writer = null;
+		try {
+			writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sample);
+			root.write(writer);
+			writer.writeEndDocument();
+			writer.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			try {
+				if (writer != null) {
+					writer.close();
+				}
+			} catch (XMLStreamException e) {
+				// nothing to release
+			}
+		}
+		return sample.toString();
+	}
+
+	/**
+	 * Occurrences of an element merged together, along with their attributes and child elements.
+	 */
+	private static class SampleElement {
+		private final String prefix;
+		private final String localName;
+		private final String namespaceURI;
+		private final Map<String, String> namespaces = new LinkedHashMap<>();
+		private final Map<QName, String> attributes = new LinkedHashMap<>();
+		private final Map<String, SampleElement> children = new LinkedHashMap<>();
+		private String text = "";
+		private boolean repeated;
+
+		SampleElement(XMLStreamReader reader) {
+			this.prefix = reader.getPrefix();
+			this.localName = reader.getLocalName();
+			this.namespaceURI = reader.getNamespaceURI();
+		}
+
+		void merge(XMLStreamReader reader) {
+			for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+				String namespacePrefix = reader.getNamespacePrefix(i);
+				namespacePrefix = namespacePrefix == null ? "" : namespacePrefix;
+				if (!namespaces.containsKey(namespacePrefix)) {
+					namespaces.put(namespacePrefix, reader.getNamespaceURI(i));
+				}
+			}
+			for (int i = 0; i < reader.getAttributeCount(); ++i) {
+				QName name = reader.getAttributeName(i);
+				if (!attributes.containsKey(name)) {
+					attributes.put(name, reader.getAttributeValue(i));
+				}
+			}
+		}
+
+		void mergeText(CharSequence occurrenceText) {
+			if (text.trim().isEmpty() && occurrenceText.length() > 0
+					&& (text.isEmpty() || !occurrenceText.toString().trim().isEmpty())) {
+				text = occurrenceText.toString();
+			}
+		}
+
+		void write(XMLStreamWriter writer) throws XMLStreamException {
+			if (namespaceURI == null) {
+				writer.writeStartElement(localName);
+			} else {
+				writer.writeStartElement(prefix == null ? "" : prefix, localName, namespaceURI);
+			}
+			for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+				if (namespace.getKey().isEmpty()) {
+					writer.writeDefaultNamespace(namespace.getValue());
+				} else {
+					writer.writeNamespace(namespace.getKey(), namespace.getValue());
+				}
+			}
+			for (Map.Entry<QName, String> attribute : attributes.entrySet()) {
+				QName name = attribute.getKey();
+				if (name.getNamespaceURI().isEmpty()) {
+					writer.writeAttribute(name.getLocalPart(), attribute.getValue());
+				} else {
+					writer.writeAttribute(name.getPrefix(), name.getNamespaceURI(), name.getLocalPart(),
+							attribute.getValue());
+				}
+			}
+			writer.writeCharacters(text);
+			for (SampleElement child : children.values()) {
+				child.write(writer);
+				if (child.repeated) {
+					child.write(writer);
+				}
+			}
+			writer.writeEndElement();
+		}
 	}
 
 	protected String replaceAttributesWithElements(String entireFileText) throws IOException {
@@ -35,6 +35,9 @@ import java.util.regex.Pattern;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Display;
@@ -119,6 +122,17 @@ public class SchemaTransformer implements ISchemaTransformer {
 	private boolean addedObjectHasProperties = false;
 	private String addedObjectElementIdentifiers = null;
 	private String addedObjectNamespaces = null;
+	private IProgressMonitor monitor = new NullProgressMonitor();
+
+	/**
+	 * Sets the monitor checked for cancellation while a tree is generated
+	 * 
+	 * @param monitor
+	 *            progress monitor, null to clear it
+	 */
+	public void setProgressMonitor(IProgressMonitor monitor) {
+		this.monitor = monitor != null ? monitor : new NullProgressMonitor();
+	}
 
 	/**
 	 * Generates the tree
@@ -259,13 +273,13 @@ public class SchemaTransformer implements ISchemaTransformer {
 			jsonSchemaMap = objectMapper.readValue(schema, Map.class);
 		} catch (JsonParseException e) {
 			log.error("error in parsing the JSONSchema", e);
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), ERROR, ERROR_IN_PARSING_JSONSCHEMA);
+			displayError(ERROR_IN_PARSING_JSONSCHEMA);
 		} catch (JsonMappingException e) {
 			log.error("error in mapping the JSONSchema", e);
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), ERROR, ERROR_IN_MAPPING_JSONSCHEMA);
+			displayError(ERROR_IN_MAPPING_JSONSCHEMA);
 		} catch (IOException e) {
 			log.error("error in processing the JSONSchema", e);
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), ERROR, ERROR_IN_PROCESSING_JSONSCHEMA);
+			displayError(ERROR_IN_PROCESSING_JSONSCHEMA);
 		}
 		return jsonSchemaMap;
 	}
@@ -611,6 +625,9 @@ public class SchemaTransformer implements ISchemaTransformer {
 		TreeNode treeNode = null;
 		count++;
 		for (String elementKey : elementKeys) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
 			// Gets the subschema based on the key
 			Map<String, Object> subSchema = (Map<String, Object>) sortedMap.get(elementKey);
 			if (subSchema.size() > 0 && subSchema.containsKey(JSON_SCHEMA_TYPE)) {
@@ -2050,13 +2067,42 @@ public class SchemaTransformer implements ISchemaTransformer {
 	}
 
 	/**
-	 * Warning Dialog
+	 * Warning Dialog, opened on the UI thread when the tree is generated in the background
 	 * 
 	 * @param reason
 	 * @param message
 	 */
-	private void displayUserError(String reason, String message) {
-		MessageDialog.openWarning(Display.getCurrent().getActiveShell(), reason, message);
+	private void displayUserError(final String reason, final String message) {
+		Display display = Display.getDefault();
+		if (display.getThread() == Thread.currentThread()) {
+			MessageDialog.openWarning(display.getActiveShell(), reason, message);
+		} else {
+			display.asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					MessageDialog.openWarning(Display.getDefault().getActiveShell(), reason, message);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Error Dialog, opened on the UI thread when the tree is generated in the background
+	 * 
+	 * @param message
+	 */
+	private void displayError(final String message) {
+		Display display = Display.getDefault();
+		if (display.getThread() == Thread.currentThread()) {
+			MessageDialog.openError(display.getActiveShell(), ERROR, message);
+		} else {
+			display.asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					MessageDialog.openError(Display.getDefault().getActiveShell(), ERROR, message);
+				}
+			});
+		}
 	}
 
 	@Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.datamapper.diagram.tree.generator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+import org.wso2.integrationstudio.datamapper.DataMapperFactory;
+import org.wso2.integrationstudio.datamapper.TreeNode;
+import org.wso2.integrationstudio.datamapper.diagram.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Reads a schema file and builds its {@link TreeNode} model away from the UI thread.
+ *
+ * The tree is built detached from any resource, so nothing else can observe it while it grows. Once it is complete
+ * it is handed to {@link #treeGenerated(TreeNode)} on the UI thread, which is where it should be added to the
+ * diagram through the editing domain. Cancelling the job stops the generation at the next element, while a failed
+ * generation still hands over the tree generated before the failure.
+ */
+public abstract class SchemaTreeGenerationJob extends Job {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private final SchemaTransformer schemaTransformer;
+    private final String filePath;
+
+    /**
+     * Creates a job generating the tree of the given schema file.
+     *
+     * @param schemaTransformer transformer used to build the tree
+     * @param filePath path of the schema file
+     */
+    public SchemaTreeGenerationJob(SchemaTransformer schemaTransformer, String filePath) {
+        super("Loading schema " + filePath);
+        this.schemaTransformer = schemaTransformer;
+        this.filePath = filePath;
+        setUser(true);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
+        long start = System.nanoTime();
+        schemaTransformer.setProgressMonitor(monitor);
+        TreeNode rootTreeNode = DataMapperFactory.eINSTANCE.createTreeNode();
+        try {
+            String content = schemaTransformer.getSchemaContentFromFile(filePath);
+            rootTreeNode = schemaTransformer.generateTree(content, rootTreeNode);
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            log.info("Generated the tree of " + filePath + " in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            handOver(rootTreeNode);
+            return Status.OK_STATUS;
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (NullPointerException | IllegalArgumentException | IOException e) {
+            log.error("Error in generating the tree", e);
+            // As when the tree was generated on the UI thread, the tree generated so far still replaces the old one.
+            // The schema errors are already reported in their own dialogs, hence a warning rather than an error.
+            handOver(rootTreeNode);
+            return new Status(IStatus.WARNING, Activator.PLUGIN_ID, "Error in generating the tree of " + filePath, e);
+        } finally {
+            schemaTransformer.setProgressMonitor(null);
+            monitor.done();
+        }
+    }
+
+    private void handOver(final TreeNode rootTreeNode) {
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                treeGenerated(rootTreeNode);
+            }
+        });
+    }
+
+    /**
+     * Called on the UI thread with the generated tree, unless the job was cancelled. When the generation failed,
+     * the tree holds whatever was generated before the failure, if anything.
+     *
+     * @param rootTreeNode root of the generated tree
+     */
+    protected abstract void treeGenerated(TreeNode rootTreeNode);
+}
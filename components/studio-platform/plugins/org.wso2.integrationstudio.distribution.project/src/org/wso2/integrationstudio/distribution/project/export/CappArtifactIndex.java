@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.export;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.Platform;
+import org.wso2.integrationstudio.distribution.project.Activator;
+import org.wso2.integrationstudio.distribution.project.model.DependencyData;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.platform.core.model.AbstractListDataProvider.ListData;
+import org.wso2.integrationstudio.platform.core.utils.Constants;
+
+/**
+ * Index of the artifacts that the projects of the workspace contribute to composite applications.
+ *
+ * The artifacts of a project are listed by the {@link CappArtifactsListProvider} registered for its nature, which
+ * reads the pom.xml and artifact.xml of the project. The lists are kept until the project changes in a way that
+ * affects them, that is one of those files, its natures, its open state or the markers of the artifacts that cannot
+ * be exported, so only the projects that changed are read again. Callers get their own copy of the entries, which
+ * they are free to modify.
+ */
+public class CappArtifactIndex implements IResourceChangeListener {
+
+	private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	public static final String DEFAULT_EXTENSION_POINT_ID = "org.wso2.integrationstudio.capp.artifacts.provider";
+
+	private static final String POM_FILE = "pom.xml";
+	private static final String CAPP_NOT_ALLOWED = "CAPP_NOT_ALLOWED";
+	private static final int PROJECT_CHANGES = IResourceDelta.OPEN | IResourceDelta.DESCRIPTION;
+	private static final int FILE_CHANGES = IResourceDelta.CONTENT | IResourceDelta.REPLACED;
+
+	private static CappArtifactIndex instance;
+
+	private final Map<String, List<ProviderEntry>> providers = new ConcurrentHashMap<>();
+	private final Map<IProject, Map<ProviderEntry, List<ListData>>> artifacts = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	private CappArtifactIndex() {
+	}
+
+	public static synchronized CappArtifactIndex getInstance() {
+		if (instance == null) {
+			instance = new CappArtifactIndex();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the artifacts of the open projects of the workspace, as listed by the providers registered to the
+	 * given extension point. Only the projects that changed since they were last listed are read.
+	 *
+	 * @param extensionPointId extension point of the providers, the default one if null or empty
+	 * @return copy of the artifacts of the workspace
+	 */
+	public List<ListData> getArtifacts(String extensionPointId) {
+		if (extensionPointId == null || extensionPointId.isEmpty()) {
+			extensionPointId = DEFAULT_EXTENSION_POINT_ID;
+		}
+		List<ListData> list = new ArrayList<ListData>();
+		IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
+		for (ProviderEntry provider : getProviders(extensionPointId)) {
+			for (IProject project : projects) {
+				try {
+					if (project.isOpen() && project.hasNature(provider.nature)) {
+						for (ListData listData : getArtifacts(project, provider)) {
+							list.add(copy(listData));
+						}
+					}
+				} catch (Exception e) {
+					log.error("Error getting artifacts from extension", e);
+				}
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Drops the artifacts of every project, so that they are read again on next use.
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+		artifacts.clear();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource = child.getResource();
+				if (resource.getType() == IResource.ROOT) {
+					return true;
+				}
+				IProject project = resource.getProject();
+				if (resource.getType() == IResource.PROJECT) {
+					if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & PROJECT_CHANGES) != 0) {
+						invalidate(project);
+						return false;
+					}
+					return true;
+				}
+				if (resource.getType() == IResource.FILE) {
+					if (isDescriptor(resource) && (child.getKind() != IResourceDelta.CHANGED
+							|| (child.getFlags() & FILE_CHANGES) != 0)) {
+						invalidate(project);
+					} else if ((child.getFlags() & IResourceDelta.MARKERS) != 0 && hasExportMarkerChanges(child)) {
+						invalidate(project);
+					}
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			log.error("Error while processing resource changes", e);
+		}
+	}
+
+	private List<ListData> getArtifacts(IProject project, ProviderEntry provider) throws Exception {
+		Map<ProviderEntry, List<ListData>> projectArtifacts = artifacts.get(project);
+		List<ListData> list = projectArtifacts != null ? projectArtifacts.get(provider) : null;
+		if (list == null) {
+			long listedGeneration = generation.get();
+			list = Collections.unmodifiableList(
+					new ArrayList<ListData>(provider.provider.getArtifactsListForCappExport(project)));
+			// Keep the list only if the workspace did not change while it was read
+			synchronized (artifacts) {
+				if (listedGeneration == generation.get()) {
+					artifacts.computeIfAbsent(project, key -> new ConcurrentHashMap<>()).put(provider, list);
+				}
+			}
+		}
+		return list;
+	}
+
+	private void invalidate(IProject project) {
+		synchronized (artifacts) {
+			generation.incrementAndGet();
+			artifacts.remove(project);
+		}
+	}
+
+	private List<ProviderEntry> getProviders(String extensionPointId) {
+		List<ProviderEntry> entries = providers.get(extensionPointId);
+		if (entries == null) {
+			entries = new ArrayList<ProviderEntry>();
+			IConfigurationElement[] config = Platform.getExtensionRegistry()
+					.getConfigurationElementsFor(extensionPointId);
+			for (IConfigurationElement element : config) {
+				try {
+					Object obj = element.createExecutableExtension("class");
+					if (obj instanceof CappArtifactsListProvider) {
+						entries.add(new ProviderEntry((CappArtifactsListProvider) obj, element.getAttribute("nature")));
+					}
+				} catch (CoreException ex) {
+					log.error("Error executing CappArtifactsListProvider extension ", ex);
+				}
+			}
+			providers.put(extensionPointId, entries);
+		}
+		return entries;
+	}
+
+	private static boolean isDescriptor(IResource resource) {
+		String name = resource.getName();
+		return POM_FILE.equals(name) || Constants.ARTIFACT_XML.equals(name);
+	}
+
+	private static boolean hasExportMarkerChanges(IResourceDelta delta) {
+		for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
+			if (CAPP_NOT_ALLOWED.equals(markerDelta.getType())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static ListData copy(ListData listData) {
+		Object data = listData.getData();
+		if (data instanceof DependencyData) {
+			DependencyData dependencyData = (DependencyData) data;
+			DependencyData copy = new DependencyData();
+			copy.setDependency(dependencyData.getDependency() != null ? dependencyData.getDependency().clone() : null);
+			copy.setCApptype(dependencyData.getCApptype());
+			copy.setSelf(dependencyData.getSelf());
+			copy.setParent(dependencyData.getParent());
+			copy.setServerRole(dependencyData.getServerRole());
+			data = copy;
+		}
+		return new ListData(listData.getCaption(), data);
+	}
+
+	/**
+	 * Provider registered for a project nature. Providers are created once per extension point and reused.
+	 */
+	private static class ProviderEntry {
+
+		private final CappArtifactsListProvider provider;
+		private final String nature;
+
+		ProviderEntry(CappArtifactsListProvider provider, String nature) {
+			this.provider = provider;
+			this.nature = nature;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.export;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a carbon application archive straight from the files of the workspace, without staging its content in a
+ * temporary directory first.
+ *
+ * Entries are collected first and written in the order of their names once {@link #write(File)} is called, each
+ * one with the same fixed time, so the same content always results in the same archive. As with a directory, adding
+ * an entry that was already added replaces it, and the parent directories of every entry are added along with it.
+ * Files that are archives or images themselves are stored as they are rather than compressed a second time.
+ */
+public class CarArchiveWriter {
+
+    private static final long ENTRY_TIME = new GregorianCalendar(1980, 0, 1).getTimeInMillis();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<String> COMPRESSED_EXTENSIONS = Arrays.asList(".aar", ".car", ".gif", ".gz", ".jar",
+            ".jpeg", ".jpg", ".mar", ".png", ".war", ".zip");
+
+    private final Map<String, Object> entries = new TreeMap<String, Object>();
+
+    /**
+     * Adds a file of the file system.
+     *
+     * @param entryName path of the entry in the archive, using '/' as separator
+     * @param file file to add
+     */
+    public void addFile(String entryName, File file) {
+        addParents(entryName);
+        entries.put(entryName, file);
+    }
+
+    /**
+     * Adds generated content.
+     *
+     * @param entryName path of the entry in the archive, using '/' as separator
+     * @param content content of the entry
+     */
+    public void addContent(String entryName, byte[] content) {
+        addParents(entryName);
+        entries.put(entryName, content);
+    }
+
+    /**
+     * Adds the content of a directory, and the directory itself, under the given path.
+     *
+     * @param entryName path of the directory in the archive, using '/' as separator
+     * @param dir directory of the file system
+     */
+    public void addDirectory(String entryName, File dir) {
+        addParents(entryName + "/");
+        entries.put(entryName + "/", null);
+        String[] children = dir.list();
+        if (children != null) {
+            for (String child : children) {
+                File file = new File(dir, child);
+                if (file.isDirectory()) {
+                    addDirectory(entryName + "/" + child, file);
+                } else {
+                    entries.put(entryName + "/" + child, file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a hash of the entries added so far, made of their names along with the content of the files and the
+     * generated content. Two writers having the same hash write the same archive.
+     *
+     * @return hex encoded SHA-256 digest of the entries
+     * @throws IOException if a file cannot be read
+     */
+    public String getHash() throws IOException {
+        MessageDigest digest = CarBuildCache.newDigest();
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            Object content = entry.getValue();
+            if (content instanceof File) {
+                CarBuildCache.update(digest, (File) content);
+            } else if (content instanceof byte[]) {
+                digest.update((byte[]) content);
+            }
+            digest.update((byte) 0);
+        }
+        return CarBuildCache.toHex(digest.digest());
+    }
+
+    /**
+     * Writes the archive, replacing the given file. The file is deleted if the archive cannot be written.
+     *
+     * @param archive archive file
+     * @throws IOException if an entry cannot be read or the archive cannot be written
+     */
+    public void write(File archive) throws IOException {
+        if (archive.getParentFile() != null && !archive.getParentFile().exists()) {
+            archive.getParentFile().mkdirs();
+        }
+        boolean written = false;
+        try (ZipOutputStream zos = new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(archive.toPath()), BUFFER_SIZE))) {
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setTime(ENTRY_TIME);
+                if (isCompressed(entry.getValue())) {
+                    File file = (File) entry.getValue();
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(file.length());
+                    zipEntry.setCrc(crc(file));
+                }
+                zos.putNextEntry(zipEntry);
+                write(entry.getValue(), zos);
+                zos.closeEntry();
+            }
+            written = true;
+        } finally {
+            if (!written) {
+                archive.delete();
+            }
+        }
+    }
+
+    private static void write(Object content, OutputStream out) throws IOException {
+        if (content instanceof File) {
+            Files.copy(((File) content).toPath(), out);
+        } else if (content instanceof byte[]) {
+            out.write((byte[]) content);
+        }
+    }
+
+    private static boolean isCompressed(Object content) {
+        if (!(content instanceof File)) {
+            return false;
+        }
+        String name = ((File) content).getName().toLowerCase(Locale.ENGLISH);
+        int index = name.lastIndexOf('.');
+        return index != -1 && COMPRESSED_EXTENSIONS.contains(name.substring(index));
+    }
+
+    private static long crc(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private void addParents(String entryName) {
+        int index = entryName.indexOf('/');
+        while (index != -1 && index < entryName.length() - 1) {
+            entries.put(entryName.substring(0, index + 1), null);
+            index = entryName.indexOf('/', index + 1);
+        }
+    }
+}
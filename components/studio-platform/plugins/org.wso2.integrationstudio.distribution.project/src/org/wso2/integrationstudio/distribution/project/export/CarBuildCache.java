@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.wso2.integrationstudio.distribution.project.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.platform.core.project.export.util.ExportUtil;
+
+/**
+ * Outcome of the previous incremental builds of carbon applications, used to redo only the part of a build that
+ * is affected by the changes made since.
+ *
+ * The artifacts built by the export handler of a project are kept along with a hash of the state of the project
+ * they were built from, and are reused as long as that hash does not change. Likewise the hash of the entries of
+ * every written archive is kept so that an archive is not written again when none of its entries changed. Archives
+ * and their entries are compared by content, as a file rewritten with the same size within the resolution of its
+ * modification time would otherwise go unnoticed.
+ */
+public class CarBuildCache {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final String TARGET_DIR = "target";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final CarBuildCache instance = new CarBuildCache();
+
+    private final Map<String, BuiltArtifact> builtArtifacts = new ConcurrentHashMap<>();
+    private final Map<File, WrittenArchive> writtenArchives = new ConcurrentHashMap<>();
+
+    private CarBuildCache() {
+    }
+
+    public static CarBuildCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Builds a project through the export handler of its artifact type, unless it did not change since it was last
+     * built and the resources built at the time still exist.
+     *
+     * @param project project to build
+     * @param cAppType artifact type of the project
+     * @return built resources
+     * @throws Exception if the project cannot be built
+     * @see ExportUtil#buildProject(IProject, String)
+     */
+    public List<IResource> buildProject(IProject project, String cAppType) throws Exception {
+        String key = project.getName() + ":" + cAppType;
+        String hash = hash(project);
+        BuiltArtifact builtArtifact = builtArtifacts.get(key);
+        if (builtArtifact != null && builtArtifact.hash.equals(hash) && builtArtifact.exists()) {
+            log.info("Reusing the " + cAppType + " artifact of " + project.getName() + ", it did not change");
+            return new ArrayList<IResource>(builtArtifact.resources);
+        }
+        List<IResource> resources = ExportUtil.buildProject(project, cAppType);
+        builtArtifacts.put(key, new BuiltArtifact(hash, resources));
+        return resources;
+    }
+
+    /**
+     * Checks whether the given archive was last written with entries of the given hash, and its content did not
+     * change since.
+     *
+     * @param archive archive file
+     * @param hash hash of the entries of the archive
+     * @return true if the archive does not need to be written again
+     */
+    public boolean isUpToDate(File archive, String hash) {
+        WrittenArchive writtenArchive = writtenArchives.get(archive);
+        if (writtenArchive == null || !writtenArchive.hash.equals(hash) || !archive.isFile()) {
+            return false;
+        }
+        try {
+            return writtenArchive.contentHash.equals(hash(archive));
+        } catch (IOException e) {
+            log.warn("Cannot read " + archive + ", it is written again", e);
+            return false;
+        }
+    }
+
+    /**
+     * Records that the given archive was written with entries of the given hash.
+     *
+     * @param archive archive file
+     * @param hash hash of the entries of the archive
+     * @throws IOException if the written archive cannot be read
+     */
+    public void archiveWritten(File archive, String hash) throws IOException {
+        writtenArchives.put(archive, new WrittenArchive(hash, hash(archive)));
+    }
+
+    /**
+     * Forgets every build, so that the next ones are complete.
+     */
+    public void clear() {
+        builtArtifacts.clear();
+        writtenArchives.clear();
+    }
+
+    /**
+     * Hashes the path and modification stamp of every resource of a project but its build output, which changes
+     * whenever the content of the project does.
+     */
+    private static String hash(IProject project) throws CoreException {
+        MessageDigest digest = newDigest();
+        project.accept(proxy -> {
+            if (proxy.getType() == IResource.FOLDER && TARGET_DIR.equals(proxy.getName())
+                    && proxy.requestFullPath().segmentCount() == 2) {
+                return false;
+            }
+            digest.update(proxy.requestFullPath().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Long.toString(proxy.getModificationStamp()).getBytes(StandardCharsets.UTF_8));
+            return true;
+        }, IResource.NONE);
+        return toHex(digest.digest());
+    }
+
+    private static String hash(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, file);
+        return toHex(digest.digest());
+    }
+
+    static void update(MessageDigest digest, File file) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static class BuiltArtifact {
+
+        private final String hash;
+        private final List<IResource> resources;
+
+        BuiltArtifact(String hash, List<IResource> resources) {
+            this.hash = hash;
+            this.resources = Collections.unmodifiableList(new ArrayList<IResource>(resources));
+        }
+
+        boolean exists() {
+            for (IResource resource : resources) {
+                if (resource.getLocation() == null || !resource.getLocation().toFile().exists()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class WrittenArchive {
+
+        private final String hash;
+        private final String contentHash;
+
+        WrittenArchive(String hash, String contentHash) {
+            this.hash = hash;
+            this.contentHash = contentHash;
+        }
+    }
+}
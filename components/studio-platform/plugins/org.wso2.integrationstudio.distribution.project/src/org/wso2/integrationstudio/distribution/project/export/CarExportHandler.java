@@ -16,8 +16,8 @@
 
 package org.wso2.integrationstudio.distribution.project.export;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,8 +49,6 @@ import org.wso2.integrationstudio.platform.core.project.export.ProjectArtifactHa
 import org.wso2.integrationstudio.platform.core.project.export.util.ExportUtil;
 import org.wso2.integrationstudio.platform.core.utils.IntegrationStudioProviderUtils;
 import org.wso2.integrationstudio.platform.core.utils.XMLUtil;
-import org.wso2.integrationstudio.utils.archive.ArchiveManipulator;
-import org.wso2.integrationstudio.utils.file.FileUtils;
 import org.wso2.integrationstudio.utils.file.TempFileUtils;
 
 public class CarExportHandler extends ProjectArtifactHandler {
@@ -63,6 +61,18 @@ public class CarExportHandler extends ProjectArtifactHandler {
     private static final String MAIN_SEQUENCE = "mainSequence";
     IntegrationStudioProviderUtils devStudioUtils = new IntegrationStudioProviderUtils();
     boolean isExecClassFound;
+    private boolean incremental;
+
+    /**
+     * Makes the next exports reuse the outcome of the previous incremental ones: the target folder is not cleaned,
+     * projects that did not change are not built again, and the archive is not written again if none of its entries
+     * changed. Meant for publishing to a server while developing, the export wizards always rebuild everything.
+     *
+     * @param incremental whether exports are incremental
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
 
     public List<IResource> exportArtifact(IProject project) throws Exception {
         return exportArtifactHelper(project, null, null);
@@ -80,14 +90,12 @@ public class CarExportHandler extends ProjectArtifactHandler {
         IFile pomFileRes;
         File pomFile;
         MavenProject parentPrj;
-        ArchiveManipulator archiveManipulator = new ArchiveManipulator();
-
-        clearTarget(project);
+        CarArchiveWriter carArchiveWriter = new CarArchiveWriter();
 
-        // Let's create a temp project
-        File tempProject = createTempProject();
+        if (!incremental) {
+            clearTarget(project);
+        }
 
-        File carResources = createTempDir(tempProject, "car_resources");
         pomFileRes = project.getFile(POM_FILE);
         if (!pomFileRes.exists()) {
             throw new Exception("not a valid carbon application project");
@@ -127,7 +135,7 @@ public class CarExportHandler extends ProjectArtifactHandler {
                     }
                 } else if (parent == null && self != null) { // artifacts as
                     // single artifact archive
-                    DefaultArtifactExportHandler artifactExportHandler = new DefaultArtifactExportHandler();
+                    DefaultArtifactExportHandler artifactExportHandler = new DefaultArtifactExportHandler(incremental);
                     artifactExportHandler.exportArtifact(artifactList, null, null, dependencyData, null, self);
 
                 } else if (parent != null && self == null) { // these are
@@ -162,41 +170,40 @@ public class CarExportHandler extends ProjectArtifactHandler {
         Collections.sort(artifactList);
 
         for (ArtifactData artifact : artifactList) {
-            File artifactDir = null;
+            String artifactDir;
             // Adding all the metadata inside "metadata" folder
             if (METADATA_TYPE.equals(artifact.getDependencyData().getCApptype())) {
-                File metaDir = new File(carResources, METADATA_FOLDER_NAME);
-                artifactDir = new File(metaDir, getArtifactDir(artifact.getDependencyData()));
+                artifactDir = METADATA_FOLDER_NAME + "/" + getArtifactDir(artifact.getDependencyData());
             } else {
-                artifactDir = new File(carResources, getArtifactDir(artifact.getDependencyData()));
+                artifactDir = getArtifactDir(artifact.getDependencyData());
             }
             if (artifact.getResource() instanceof IFolder) {
-                FileUtils.copyDirectory(artifact.getResource().getLocation().toFile(), artifactDir);
+                carArchiveWriter.addDirectory(artifactDir, artifact.getResource().getLocation().toFile());
             } else if (artifact.getResource() instanceof IFile) {
-                FileUtils.copy(artifact.getResource().getLocation().toFile(),
-                        new File(artifactDir, artifact.getFile()));
+                carArchiveWriter.addFile(artifactDir + "/" + artifact.getFile(),
+                        artifact.getResource().getLocation().toFile());
             }
             if (!METADATA_TYPE.equals(artifact.getDependencyData().getCApptype())) {
             	 artifactElt.addChild(createDependencyElement(factory, artifact));
             }
             artifactEltMetadata.addChild(createDependencyElement(factory, artifact));
-            createArtifactXML(artifactDir, artifact);
+            createArtifactXML(carArchiveWriter, artifactDir, artifact);
         }
 
         metadaDocRoot.addChild(artifactEltMetadata);
         artifactsDocRoot.addChild(artifactElt);
-        File artifactsXml = new File(carResources, "artifacts.xml");
-        XMLUtil.prettify(artifactsDocRoot, new FileOutputStream(artifactsXml));
-        
-        File metadataXml = new File(carResources, "metadata.xml");
-        XMLUtil.prettify(metadaDocRoot, new FileOutputStream(metadataXml));
-
-        File tmpArchive = new File(tempProject,
-                project.getName().concat("_").concat(parentPrj.getVersion()).concat(".car"));
-        archiveManipulator.archiveDir(tmpArchive.toString(), carResources.toString());
+        carArchiveWriter.addContent("artifacts.xml", prettify(artifactsDocRoot));
+        carArchiveWriter.addContent("metadata.xml", prettify(metadaDocRoot));
 
         IFile carbonArchive = getTargetArchive(project, parentPrj.getVersion(), "car");
-        FileUtils.copy(tmpArchive, carbonArchive.getLocation().toFile());
+        File carbonArchiveFile = carbonArchive.getLocation().toFile();
+        String archiveHash = carArchiveWriter.getHash();
+        if (incremental && CarBuildCache.getInstance().isUpToDate(carbonArchiveFile, archiveHash)) {
+            log.info("Reusing " + carbonArchiveFile.getName() + ", none of its artifacts changed");
+        } else {
+            carArchiveWriter.write(carbonArchiveFile);
+            CarBuildCache.getInstance().archiveWritten(carbonArchiveFile, archiveHash);
+        }
         exportResources.add((IResource) carbonArchive);
         clearTempDirInWorksapce(project.getName(), SPLIT_DIR_NAME);
         TempFileUtils.cleanUp();
@@ -210,7 +217,9 @@ public class CarExportHandler extends ProjectArtifactHandler {
         IProject resProject = (IProject) parent;
         if (!resourceProjectList.containsKey(resProject)) {
             Map<String, IResource> artifacts = new HashMap<String, IResource>();
-            List<IResource> buildProject = ExportUtil.buildProject(resProject, dependencyData.getCApptype());
+            List<IResource> buildProject = incremental
+                    ? CarBuildCache.getInstance().buildProject(resProject, dependencyData.getCApptype())
+                    : ExportUtil.buildProject(resProject, dependencyData.getCApptype());
             for (IResource res : buildProject) {
                 if (res instanceof IFolder) {
                     artifacts.put(res.getName(), res);
@@ -237,7 +246,7 @@ public class CarExportHandler extends ProjectArtifactHandler {
         return artifactDir;
     }
 
-    private void createArtifactXML(File artifactDir, ArtifactData artifact) {
+    private void createArtifactXML(CarArchiveWriter carArchiveWriter, String artifactDir, ArtifactData artifact) {
         OMFactory factory = OMAbstractFactory.getOMFactory();
         OMElement artifactElt = factory.createOMElement(new QName("artifact"));
         artifactElt.addAttribute("name", artifact.getDependencyData().getDependency().getArtifactId(), null);
@@ -247,14 +256,19 @@ public class CarExportHandler extends ProjectArtifactHandler {
         OMElement fileElt = factory.createOMElement(new QName("file"));
         fileElt.setText(artifact.getFile());
         artifactElt.addChild(fileElt);
-        File artifactXml = new File(artifactDir, "artifact.xml");
         try {
-            XMLUtil.prettify(artifactElt, new FileOutputStream(artifactXml));
+            carArchiveWriter.addContent(artifactDir + "/artifact.xml", prettify(artifactElt));
         } catch (Exception e) {
             log.error("Error creating artifact.xml", e);
         }
     }
 
+    private byte[] prettify(OMElement element) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLUtil.prettify(element, out);
+        return out.toByteArray();
+    }
+
     private OMElement createDependencyElement(OMFactory factory, ArtifactData artifact) {
         OMElement dependencyElt = factory.createOMElement(new QName("dependency"));
         dependencyElt.addAttribute("artifact", artifact.getDependencyData().getDependency().getArtifactId(), null);
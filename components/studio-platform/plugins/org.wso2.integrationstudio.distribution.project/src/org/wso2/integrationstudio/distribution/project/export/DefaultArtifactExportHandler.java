@@ -28,13 +28,27 @@ import org.wso2.integrationstudio.platform.core.project.export.util.ExportUtil;
 
 public class DefaultArtifactExportHandler {
 	DistProjectUtils distProjectUtils = new DistProjectUtils();
+	private final boolean incremental;
+
+	public DefaultArtifactExportHandler() {
+		this(false);
+	}
+
+	/**
+	 * @param incremental whether projects that did not change since they were last built are reused
+	 */
+	public DefaultArtifactExportHandler(boolean incremental) {
+		this.incremental = incremental;
+	}
 
 	public void exportArtifact(List<ArtifactData> artifactList,
 	                           Map<IProject, Map<String, IResource>> graphicalSynapseProjectList,
 	                           IFolder splitESBResources, DependencyData dependencyData, Object parent, Object self)
 	                                                                                                                throws Exception {
 		if (self instanceof IProject) {
-			List<IResource> buildProject = ExportUtil.buildProject((IProject) self, dependencyData.getCApptype());
+			List<IResource> buildProject = incremental
+					? CarBuildCache.getInstance().buildProject((IProject) self, dependencyData.getCApptype())
+					: ExportUtil.buildProject((IProject) self, dependencyData.getCApptype());
 			if (buildProject.size() == 1) {
 				ArtifactData artifactData = new ArtifactData();
 				artifactData.setDependencyData(dependencyData);
@@ -17,17 +17,22 @@
 package org.wso2.integrationstudio.distribution.project.publisher;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Display;
@@ -66,11 +71,13 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
         private boolean done = false;
         private Exception exception;
         private IServer server;
+        private final IProgressMonitor monitor;
 
-        private CarPublisher(File deployLocation, IProject project, IServer server) {
+        private CarPublisher(File deployLocation, IProject project, IServer server, IProgressMonitor monitor) {
             this.deployLocation = deployLocation;
             this.project = project;
             this.server = server;
+            this.monitor = monitor;
         }
 
         public void run() {
@@ -89,7 +96,13 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
                 File tempDir = FileUtils.createTempDirectory();
                 CAppDeployer cappDeployer = new CAppDeployer();
                 CarExportHandler handler = new CarExportHandler();
+                handler.setIncremental(true);
                 List<IResource> exportArtifact = handler.exportArtifact(project);
+                if (monitor.isCanceled()) {
+                    tag.clearAndEnd();
+                    setDone(true);
+                    return;
+                }
                 cappDeployer.deployCApp(serverCredentials.getUsername(), serverCredentials.getPassword(),
                         serverURL.toString(), ((IFile) exportArtifact.get(0)).getLocation().toFile());
 
@@ -123,11 +136,13 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
         private boolean done = false;
         private Exception exception;
         private IServer server;
+        private final IProgressMonitor monitor;
 
-        private MICarPublisher(File deployLocation, IProject project, IServer server) {
+        private MICarPublisher(File deployLocation, IProject project, IServer server, IProgressMonitor monitor) {
             this.deployLocation = deployLocation;
             this.project = project;
             this.server = server;
+            this.monitor = monitor;
         }
 
         public void run() {
@@ -138,9 +153,27 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
             }
             try {
                 CarExportHandler handler = new CarExportHandler();
+                handler.setIncremental(true);
                 List<IResource> exportArtifact = handler.exportArtifact(project);
+                if (monitor.isCanceled()) {
+                    // Superseded by a newer change, which is going to be deployed instead
+                    setDone(true);
+                    return;
+                }
                 File file = exportArtifact.get(0).getLocation().toFile();
-                FileUtils.copy(file, new File(repoLocation + File.separator + file.getName()));
+                File deployedFile = new File(repoLocation, file.getName());
+                List<String> changedArtifacts = CarArtifactDiff.getChangedArtifacts(deployedFile, file);
+                if (changedArtifacts.isEmpty()) {
+                    // Replacing the archive would make the server redeploy every artifact for nothing
+                    log.info("Skipping the deployment of " + file.getName() + ", none of its artifacts changed");
+                } else {
+                    log.info("Deploying " + file.getName() + ", changed artifacts: " + changedArtifacts);
+                    // Copied next to the deployed archive first, so that the server never reads a partial one
+                    File tempFile = new File(repoLocation, file.getName() + ".tmp");
+                    FileUtils.copy(file, tempFile);
+                    Files.move(tempFile.toPath(), deployedFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
 
             } catch (Exception e) {
                 setException(e);
@@ -166,9 +199,15 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
     }
 
     private static Map<IServer, List<IProject>> inQueueList;
+    private static final Map<File, HotDeploymentSetting> hotDeploymentSettings = new ConcurrentHashMap<>();
 
     public void publish(final IProject project, IServer server, File serverHome, final File deployLocation)
             throws Exception {
+        deploy(project, server, deployLocation, new NullProgressMonitor());
+    }
+
+    private void deploy(final IProject project, IServer server, final File deployLocation, IProgressMonitor monitor)
+            throws Exception {
         if (project.hasNature("org.wso2.developerstudio.eclipse.distribution.project.nature")) {
             List<IProject> list = getProjectListForServer(server);
             synchronized (list) {
@@ -183,15 +222,7 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
             boolean isMI400Server = server.getServerType().getId().equals(MI_420_PLUGIN_ID);
 
             if (isMI400Server) {
-                String carbonHomePath = CarbonServerManager.getServerHome(server).toOSString();
-                String tomlFilePath = FileUtils.addNodesToPath(carbonHomePath,
-                        new String[] { "conf", "deployment.toml" });
-                TomlParseResult tomlResults = Toml.parse(Paths.get(tomlFilePath));
-                Object hotDeploymentObject = tomlResults.get("server.hot_deployment");
-                if ((hotDeploymentObject instanceof String && ((String) hotDeploymentObject).equals("false"))
-                        || (hotDeploymentObject instanceof Boolean && !((Boolean) hotDeploymentObject))) {
-                    hotDeploymentEnabled = false;
-                }
+                hotDeploymentEnabled = isHotDeploymentEnabled(server);
             }
 
             if (server.getServerType().getId().equals(MI_PLUGIN_ID)
@@ -200,11 +231,12 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
                     || (isMI400Server && !hotDeploymentEnabled)) {
                 IPath iPath = CarbonServerManager.getServerHome(server);
                 File file = iPath.toFile();
-                copyCApp(file.getAbsolutePath(), project);
-                server.restart("run", new NullProgressMonitor());
+                if (copyCApp(file.getAbsolutePath(), project)) {
+                    server.restart("run", new NullProgressMonitor());
+                }
 
             } else if (isMI400Server) {
-                final MICarPublisher runnable = new MICarPublisher(deployLocation, project, server);
+                final MICarPublisher runnable = new MICarPublisher(deployLocation, project, server, monitor);
                 runnable.run();
                 if (runnable.getException() != null) {
                     Display.getDefault().asyncExec(new Runnable() {
@@ -219,7 +251,7 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
                 }
 
             } else {
-                final CarPublisher runnable = new CarPublisher(deployLocation, project, server);
+                final CarPublisher runnable = new CarPublisher(deployLocation, project, server, monitor);
                 runnable.run();
                 if (runnable.getException() != null) {
                     Display.getDefault().asyncExec(new Runnable() {
@@ -291,32 +323,38 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
     }
 
     public void hotUpdate(final IProject project,final IServer server,final File serverHome,final File deployLocation) throws Exception {
-		final List<IProject> list=getProjectListForServer(server);
-		synchronized (list) {
-			if (list.contains(project)){
-				return;
-			}
-        }
-		new Thread(new Runnable(){
-//    	Display.getDefault().asyncExec(new Runnable(){
-            public void run() {
-            	try {
-            		synchronized (list) {
-            			if (list.contains(project)){
-            				return;
-            			}
-//            			unpublish(project, server, serverHome, deployLocation);
-            		}
-//	            	Thread.sleep(9000);
-        			publish(project, server, serverHome, deployLocation);
-            	} catch (Exception e) {
-                }
-
-            }
-		}).start();
-//    	});
+		// Bursts of changes are merged into a single deployment of the project
+		HotDeployScheduler.getScheduler(server).schedule(project,
+				monitor -> deploy(project, server, deployLocation, monitor));
     }
 
+	/**
+	 * Reads the server.hot_deployment setting of the deployment.toml of a server, which is parsed again only when
+	 * the file changes.
+	 */
+	private static boolean isHotDeploymentEnabled(IServer server) {
+		String carbonHomePath = CarbonServerManager.getServerHome(server).toOSString();
+		File tomlFile = new File(FileUtils.addNodesToPath(carbonHomePath, new String[] { "conf", "deployment.toml" }));
+		long lastModified = tomlFile.lastModified();
+		HotDeploymentSetting setting = hotDeploymentSettings.get(tomlFile);
+		if (setting == null || setting.lastModified != lastModified) {
+			boolean enabled = true;
+			try {
+				TomlParseResult tomlResults = Toml.parse(Paths.get(tomlFile.getPath()));
+				Object hotDeploymentObject = tomlResults.get("server.hot_deployment");
+				if ((hotDeploymentObject instanceof String && ((String) hotDeploymentObject).equals("false"))
+						|| (hotDeploymentObject instanceof Boolean && !((Boolean) hotDeploymentObject))) {
+					enabled = false;
+				}
+			} catch (IOException e) {
+				log.error("Error while reading " + tomlFile, e);
+			}
+			setting = new HotDeploymentSetting(lastModified, enabled);
+			hotDeploymentSettings.put(tomlFile, setting);
+		}
+		return setting.enabled;
+	}
+
 	public static Map<IServer,List<IProject>> getInQueueList() {
 		if (inQueueList==null){
 			inQueueList=new HashMap<IServer, List<IProject>>();
@@ -350,7 +388,11 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
 		
 	}
 
-	private void copyCApp(String deploymentFolderPath, IProject selectedProject) {
+	/**
+	 * @return false if the deployed archive was left as it is, since none of its artifacts changed or the new
+	 *         archive could not be built or copied
+	 */
+	private boolean copyCApp(String deploymentFolderPath, IProject selectedProject) {
 		String CARFileName = selectedProject.getName();
 		String CARFileVersion = "1.0.0";
 		String finalFileName = String.format("%s_%s.car", CARFileName.replaceAll(".car$", ""), CARFileVersion);
@@ -358,15 +400,33 @@ public class CAppProjectPublisher implements ICarbonServerModulePublisher {
 
 		try {
 			File destFileName = new File(deploymentFolderPath, finalFileName);
+			IResource carbonArchive = ExportUtil.buildCAppProject(selectedProject);
+			File carbonArchiveFile = carbonArchive.getLocation().toFile();
+			if (destFileName.exists()
+					&& CarArtifactDiff.getChangedArtifacts(destFileName, carbonArchiveFile).isEmpty()) {
+				log.info("Skipping the deployment of " + finalFileName + ", none of its artifacts changed");
+				return false;
+			}
 			if (destFileName.exists()) {
 				org.apache.commons.io.FileUtils.deleteQuietly(destFileName);
 			}
-
-			IResource carbonArchive = ExportUtil.buildCAppProject(selectedProject);
-			FileUtils.copy(carbonArchive.getLocation().toFile(), destFileName);
+			FileUtils.copy(carbonArchiveFile, destFileName);
 
 		} catch (Exception e) {
 			log.error("An error occured while deploying the carbon archive file.", e);
+			return false;
+		}
+		return true;
+	}
+
+	private static class HotDeploymentSetting {
+
+		private final long lastModified;
+		private final boolean enabled;
+
+		HotDeploymentSetting(long lastModified, boolean enabled) {
+			this.lastModified = lastModified;
+			this.enabled = enabled;
 		}
 	}
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.publisher;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.wso2.integrationstudio.distribution.project.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Compares two carbon application archives artifact by artifact.
+ *
+ * Only the central directories of the archives are read: an entry is considered changed when its size or CRC
+ * differs, which does not require decompressing anything.
+ */
+public class CarArtifactDiff {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final String METADATA_FOLDER_NAME = "metadata/";
+
+    private CarArtifactDiff() {
+    }
+
+    /**
+     * Returns the artifacts that were added, removed or changed in an archive. Files at the root of the archives,
+     * such as artifacts.xml, are reported by their own name. All the artifacts are changed when the previous
+     * archive cannot be read, as when it was left corrupt or partially written.
+     *
+     * @param previous archive deployed before, may not exist
+     * @param current archive to deploy
+     * @return names of the folders of the artifacts that differ, empty if the archives hold the same artifacts
+     * @throws IOException if the archive to deploy cannot be read
+     */
+    public static List<String> getChangedArtifacts(File previous, File current) throws IOException {
+        Map<String, String> currentEntries = readEntries(current);
+        Map<String, String> previousEntries = new HashMap<String, String>();
+        if (previous.isFile()) {
+            try {
+                previousEntries = readEntries(previous);
+            } catch (IOException e) {
+                log.warn("Could not read the deployed archive " + previous + ", it is going to be replaced", e);
+            }
+        }
+        TreeSet<String> changed = new TreeSet<String>();
+        for (Map.Entry<String, String> entry : currentEntries.entrySet()) {
+            if (!entry.getValue().equals(previousEntries.remove(entry.getKey()))) {
+                changed.add(getArtifact(entry.getKey()));
+            }
+        }
+        for (String name : previousEntries.keySet()) {
+            changed.add(getArtifact(name));
+        }
+        return new ArrayList<String>(changed);
+    }
+
+    private static Map<String, String> readEntries(File archive) throws IOException {
+        Map<String, String> entries = new HashMap<String, String>();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.put(entry.getName(), entry.getSize() + ":" + entry.getCrc());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String getArtifact(String entryName) {
+        int start = entryName.startsWith(METADATA_FOLDER_NAME) ? METADATA_FOLDER_NAME.length() : 0;
+        int index = entryName.indexOf('/', start);
+        return index == -1 ? entryName : entryName.substring(0, index);
+    }
+}
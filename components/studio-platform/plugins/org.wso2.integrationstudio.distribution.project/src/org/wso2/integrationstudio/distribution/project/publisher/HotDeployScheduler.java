@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.distribution.project.publisher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.wst.server.core.IServer;
+import org.wso2.integrationstudio.distribution.project.Activator;
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Schedules the hot deployments of the projects of a server.
+ *
+ * Changes are not deployed right away but after a short quiet period, and the changes made to a project while its
+ * deployment is pending are merged into that deployment, so that saving many files at once results in a single
+ * deployment. A deployment that is superseded by a newer change while running is cancelled, and the project is
+ * deployed again once it stops. The deployments of a server run one at a time.
+ *
+ * The number of pending deployments and the time taken from the first change of a project to its deployment are
+ * kept for each server.
+ */
+public class HotDeployScheduler {
+
+    private static IIntegrationStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static final long DEBOUNCE_DELAY = 750;
+
+    private static final Map<IServer, HotDeployScheduler> schedulers = new HashMap<IServer, HotDeployScheduler>();
+
+    private final IServer server;
+    private final ISchedulingRule rule = new ServerRule();
+    private final Map<IProject, DeployJob> jobs = new HashMap<IProject, DeployJob>();
+    private long deployCount;
+    private long totalLatency;
+    private long lastLatency;
+
+    /**
+     * Deploys a project to the server.
+     */
+    public interface Deployment {
+
+        /**
+         * @param monitor progress monitor, cancelled if the deployment is superseded by a newer one
+         * @throws Exception if the project cannot be deployed
+         */
+        void deploy(IProgressMonitor monitor) throws Exception;
+    }
+
+    private HotDeployScheduler(IServer server) {
+        this.server = server;
+    }
+
+    public static synchronized HotDeployScheduler getScheduler(IServer server) {
+        HotDeployScheduler scheduler = schedulers.get(server);
+        if (scheduler == null) {
+            scheduler = new HotDeployScheduler(server);
+            schedulers.put(server, scheduler);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Schedules the deployment of a project after the quiet period, replacing its pending deployment if any.
+     *
+     * @param project project that changed
+     * @param deployment deployment of the project
+     */
+    public synchronized void schedule(IProject project, Deployment deployment) {
+        DeployJob job = jobs.get(project);
+        if (job == null) {
+            job = new DeployJob(project);
+            jobs.put(project, job);
+        }
+        job.deployment = deployment;
+        if (job.firstChange == 0) {
+            job.firstChange = System.nanoTime();
+        }
+        // Cancelling drops a pending deployment and stops a running one, which then runs again after the delay
+        job.cancel();
+        job.schedule(DEBOUNCE_DELAY);
+    }
+
+    /**
+     * @return number of projects waiting to be deployed
+     */
+    public synchronized int getQueueDepth() {
+        int depth = 0;
+        for (DeployJob job : jobs.values()) {
+            if (job.getState() == Job.WAITING || job.getState() == Job.SLEEPING) {
+                ++depth;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * @return number of completed deployments
+     */
+    public synchronized long getDeployCount() {
+        return deployCount;
+    }
+
+    /**
+     * @return time in milliseconds from the first change of the last deployed project to its deployment
+     */
+    public synchronized long getLastDeployLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLatency);
+    }
+
+    /**
+     * @return average time in milliseconds from the first change of a project to its deployment
+     */
+    public synchronized long getAverageDeployLatency() {
+        return deployCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency / deployCount);
+    }
+
+    private synchronized void deployed(long latency) {
+        ++deployCount;
+        totalLatency += latency;
+        lastLatency = latency;
+    }
+
+    private class DeployJob extends Job {
+
+        private final IProject project;
+        private Deployment deployment;
+        private long firstChange;
+
+        DeployJob(IProject project) {
+            super("Deploying " + project.getName() + " to " + server.getName());
+            this.project = project;
+            setRule(rule);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            Deployment deployment;
+            long firstChange;
+            synchronized (HotDeployScheduler.this) {
+                deployment = this.deployment;
+                firstChange = this.firstChange;
+                this.firstChange = 0;
+            }
+            long start = System.nanoTime();
+            try {
+                deployment.deploy(monitor);
+            } catch (Exception e) {
+                log.error("Error while deploying " + project.getName() + " to " + server.getName(), e);
+            }
+            if (monitor.isCanceled()) {
+                synchronized (HotDeployScheduler.this) {
+                    // Still pending, the deployment that superseded this one accounts for the whole wait
+                    if (this.firstChange == 0 || this.firstChange > firstChange) {
+                        this.firstChange = firstChange;
+                    }
+                }
+                return Status.CANCEL_STATUS;
+            }
+            long end = System.nanoTime();
+            deployed(end - firstChange);
+            log.info("Deployed " + project.getName() + " to " + server.getName() + " in "
+                    + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms, "
+                    + TimeUnit.NANOSECONDS.toMillis(end - firstChange) + " ms after the first change, "
+                    + getQueueDepth() + " deployments pending");
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Rule making the deployments of a server run one at a time.
+     */
+    private static class ServerRule implements ISchedulingRule {
+
+        @Override
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        @Override
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this;
+        }
+    }
+}
@@ -42,19 +42,12 @@ public class MavenUtils {
 	public static final String CAPP_SCOPE_PREFIX = "capp";
 	public static final String PROPERTY_CAPP_TYPE = "CApp.type";
 	
+	/**
+	 * Reads a pom.xml file. Files that did not change since they were last read are not parsed again, see
+	 * {@link PomModelCache}, and the returned project can be modified freely.
+	 */
 	public static MavenProject getMavenProject(File file) throws IOException, XmlPullParserException  {
-		MavenXpp3Reader mavenXpp3Reader = new MavenXpp3Reader();
-		Model model;
-		final FileInputStream stream = new FileInputStream(file);
-		model = mavenXpp3Reader.read(stream);
-		try {
-			if (stream != null) {
-				stream.close();
-			}
-		} catch (IOException e) {
-			// ignore, stream is already closed
-		}
-		return new MavenProject(model);
+		return new MavenProject(PomModelCache.getInstance().getModel(file));
 	}
 	
 	public static MavenProject getMavenProject(InputStream input) throws Exception {
@@ -72,6 +65,7 @@ public class MavenUtils {
 		FileWriter fileWriter = new FileWriter(file);
 		mavenXpp3writer.write(fileWriter, project.getModel());
 		fileWriter.close();
+		PomModelCache.getInstance().invalidate(file);
 	}
 
 	public static MavenProject createMavenProject(String groupId, String artifactId, String version, String packagingType) {
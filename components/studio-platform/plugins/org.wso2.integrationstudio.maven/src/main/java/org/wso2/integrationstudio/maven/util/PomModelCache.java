@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.maven.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Bounded, least recently used cache of parsed pom.xml models, keyed by the canonical path of the file.
+ *
+ * A cached model is used only as long as the modification time and the size of its file are the ones it was read
+ * with. Callers always get their own deep copy of the model, so that modifying it, to save it back for instance,
+ * does not affect the cache nor the other callers.
+ */
+public class PomModelCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private static final PomModelCache instance = new PomModelCache(MAX_ENTRIES);
+
+    private final Map<String, CachedModel> models;
+    private long hits;
+    private long misses;
+
+    private PomModelCache(final int maxEntries) {
+        this.models = new LinkedHashMap<String, CachedModel>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedModel> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static PomModelCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the model of a pom.xml file, which is parsed only if it changed since it was last read.
+     *
+     * @param file pom.xml file
+     * @return copy of the model of the file
+     * @throws IOException if the file cannot be read
+     * @throws XmlPullParserException if the file is not a valid pom.xml
+     */
+    public Model getModel(File file) throws IOException, XmlPullParserException {
+        String key = file.getCanonicalPath();
+        long lastModified = file.lastModified();
+        long size = file.length();
+        synchronized (this) {
+            CachedModel cachedModel = models.get(key);
+            if (cachedModel != null && cachedModel.lastModified == lastModified && cachedModel.size == size) {
+                ++hits;
+                return cachedModel.model.clone();
+            }
+            ++misses;
+        }
+        Model model;
+        InputStream stream = new FileInputStream(file);
+        try {
+            model = new MavenXpp3Reader().read(stream);
+        } finally {
+            stream.close();
+        }
+        synchronized (this) {
+            models.put(key, new CachedModel(lastModified, size, model));
+        }
+        return model.clone();
+    }
+
+    /**
+     * Drops the model of a file, to be called when the file is written.
+     *
+     * @param file pom.xml file
+     */
+    public void invalidate(File file) {
+        try {
+            String key = file.getCanonicalPath();
+            synchronized (this) {
+                models.remove(key);
+            }
+        } catch (IOException e) {
+            clear();
+        }
+    }
+
+    /**
+     * Drops every model, the statistics are kept.
+     */
+    public synchronized void clear() {
+        models.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("pom.xml model cache: %d entries, %d hits, %d misses", models.size(), hits, misses);
+    }
+
+    private static class CachedModel {
+
+        private final long lastModified;
+        private final long size;
+        private final Model model;
+
+        CachedModel(long lastModified, long size, Model model) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.model = model;
+        }
+    }
+}
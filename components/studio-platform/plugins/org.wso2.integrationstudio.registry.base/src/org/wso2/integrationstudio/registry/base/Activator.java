@@ -33,6 +33,7 @@ import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
 import org.wso2.integrationstudio.logging.core.Logger;
+import org.wso2.integrationstudio.registry.base.remote.RemoteRegistryTransport;
 import org.wso2.integrationstudio.utils.file.FileUtils;
 
 /**
@@ -78,6 +79,7 @@ public class Activator extends AbstractUIPlugin {
 	 * BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		RemoteRegistryTransport.shutdown();
 		plugin = null;
 		super.stop(context);
 	}
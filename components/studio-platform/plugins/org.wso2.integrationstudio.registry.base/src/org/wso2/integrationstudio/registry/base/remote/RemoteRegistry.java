@@ -30,7 +30,6 @@ import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.registry.app.APPConstants;
-import org.wso2.carbon.registry.app.CachedResources;
 import org.wso2.carbon.registry.app.Properties;
 import org.wso2.carbon.registry.app.Property;
 import org.wso2.carbon.registry.app.PropertyExtensionFactory;
@@ -43,7 +42,6 @@ import org.wso2.carbon.registry.core.Collection;
 import org.wso2.carbon.registry.core.config.RegistryContext;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 import org.wso2.carbon.registry.core.exceptions.ResourceNotFoundException;
-import org.wso2.integrationstudio.registry.base.core.TrustEverythingTrustManager;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
@@ -66,6 +64,8 @@ import java.util.regex.Pattern;
 public class RemoteRegistry implements Registry {
 
     private static final String TEXT_PLAIN_MEDIA_TYPE = "text/plain";
+    private static final int CACHED_RESOURCE_SIZE = 1024;
+    private static final int CACHED_CHILD_SIZE = 256;
     private String baseURI;
     private Log log = LogFactory.getLog(RemoteRegistry.class);
     //This will keep the value of username and the password for authorization
@@ -75,7 +75,7 @@ public class RemoteRegistry implements Registry {
     private String authorizationString = null;
     private String username = null;
     private Abdera abdera = new Abdera();
-    private static CachedResources cache = new CachedResources();
+    private static RemoteResourceCache cache = RemoteResourceCache.getInstance();
 
     /**
      * To create a remote registry need to provide a URL of a remote registry and the URL should be
@@ -150,8 +150,7 @@ public class RemoteRegistry implements Registry {
 
     public Resource get(String path) throws RegistryException {
     	
-        AbderaClient abderaClient = new AbderaClient(abdera);
-        AbderaClient.registerTrustManager(new TrustEverythingTrustManager());
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse;
         String encodedPath;
         // If the request is to fetch all comments for a given path, then encode ":" as well to
@@ -168,59 +167,61 @@ public class RemoteRegistry implements Registry {
         } else {
             encodedPath = encodeURL(path);
         }
-        if (!cache.isResourceCached(path)) {
+        String cacheKey = getCacheKey(path);
+        RemoteResourceCache.CachedResource cachedResource = cache.get(cacheKey);
+        if (cachedResource == null) {
             clientResponse =
                     abderaClient.get(baseURI + "/atom" + encodedPath, getAuthorization());
         } else {
             clientResponse =
                     abderaClient.get(baseURI + "/atom" + encodedPath,
-                            getAuthorizationForCaching(path));
+                            getAuthorizationForCaching(cachedResource.getETag()));
         }
-        if (clientResponse.getType() == Response.ResponseType.CLIENT_ERROR ||
-                clientResponse.getType() == Response.ResponseType.SERVER_ERROR) {
-            if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_FOUND) {
-                abderaClient.teardown();
-                throw new ResourceNotFoundException(path);
+        try {
+            if (clientResponse.getType() == Response.ResponseType.CLIENT_ERROR ||
+                    clientResponse.getType() == Response.ResponseType.SERVER_ERROR) {
+                if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_FOUND) {
+                    cache.remove(cacheKey);
+                    throw new ResourceNotFoundException(path);
+                }
+                throw new RegistryException(clientResponse.getStatusText());
             }
-            abderaClient.teardown();
-            throw new RegistryException(clientResponse.getStatusText());
-        }
 
-        if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_MODIFIED) {
-            abderaClient.teardown();
-            /*do caching here */
-            log.debug(
-                    "Cached resource returned since no modification has been done on the resource");
-            return cache.getCachedResource(path);
-        }
-        String eTag = clientResponse.getHeader("ETag");
-        Element introspection = clientResponse.getDocument().getRoot();
-        ResourceImpl resource;
-        if (introspection instanceof Feed) {
-            // This is a collection
-            Feed feed = (Feed) introspection;
-            String state = feed.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.NAMESPACE_STATE));
-            if (state != null && state.equals("Deleted")) {
-                abderaClient.teardown();
-                throw new ResourceNotFoundException(path);
+            if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_MODIFIED && cachedResource != null) {
+                cache.recordHit();
+                log.debug(
+                        "Cached resource returned since no modification has been done on the resource");
+                return cachedResource.getResource();
+            }
+            cache.recordMiss();
+            String eTag = clientResponse.getHeader("ETag");
+            Element introspection = clientResponse.getDocument().getRoot();
+            ResourceImpl resource;
+            if (introspection instanceof Feed) {
+                // This is a collection
+                Feed feed = (Feed) introspection;
+                String state = feed.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.NAMESPACE_STATE));
+                if (state != null && state.equals("Deleted")) {
+                    cache.remove(cacheKey);
+                    throw new ResourceNotFoundException(path);
+                }
+                resource = createResourceFromFeed(feed);
+            } else {
+                Entry entry = (Entry) introspection;
+                resource = createResourceFromEntry(entry);
+            }
+            // the resource replaces its previous version in the cache, least recently used
+            // resources are evicted when the cache is full
+            if (eTag != null) {
+                cache.put(cacheKey, resource, eTag, estimateSize(clientResponse, introspection));
+            } else {
+                cache.remove(cacheKey);
             }
-            resource = createResourceFromFeed(feed);
-        } else {
-            Entry entry = (Entry) introspection;
-            resource = createResourceFromEntry(entry);
-        }
-        /* if the resource is not Get before  add it to cache before adding it check the max cache
-  or if the resource is modified then new resource is replacing the current resource in the cache
-   * size configured in registry.xml */
-        if (!cache.cacheResource(path, resource, eTag,
-                RegistryConstants.MAX_REG_CLIENT_CACHE_SIZE)) {
-            log.debug("Max Cache size exceeded the configured Cache size");
-        }
-
-
-        abderaClient.teardown();
 //        resource.setPath(path);
-        return resource;
+            return resource;
+        } finally {
+            clientResponse.release();
+        }
     }
 
     public Resource getMetaData(String path) throws RegistryException {
@@ -236,36 +237,35 @@ public class RemoteRegistry implements Registry {
     }
 
     public Collection get(String path, int start, int pageSize) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + "/atom" + encodeURL(path) +
                         "?start=" + start + "&pageLen=" + pageSize, getAuthorization());
-        if (clientResponse.getType() == Response.ResponseType.CLIENT_ERROR ||
-                clientResponse.getType() == Response.ResponseType.SERVER_ERROR) {
-            if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_FOUND) {
-                abderaClient.teardown();
+        try {
+            if (clientResponse.getType() == Response.ResponseType.CLIENT_ERROR ||
+                    clientResponse.getType() == Response.ResponseType.SERVER_ERROR) {
+                if (clientResponse.getStatus() == HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw new ResourceNotFoundException(path);
+                }
+                throw new RegistryException(clientResponse.getStatusText());
+            }
+            Element introspection = clientResponse.getDocument().getRoot();
+            if (!(introspection instanceof Feed)) {
+                throw new RegistryException("Got " + introspection.getQName() +
+                        " when expecting <feed>!");
+            }
+            CollectionImpl resource;
+            // This is a collection
+            Feed feed = (Feed) introspection;
+            String state = feed.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.NAMESPACE_STATE));
+            if (state != null && state.equals("Deleted")) {
                 throw new ResourceNotFoundException(path);
             }
-            abderaClient.teardown();
-            throw new RegistryException(clientResponse.getStatusText());
-        }
-        Element introspection = clientResponse.getDocument().getRoot();
-        if (!(introspection instanceof Feed)) {
-            abderaClient.teardown();
-            throw new RegistryException("Got " + introspection.getQName() +
-                    " when expecting <feed>!");
-        }
-        CollectionImpl resource;
-        // This is a collection
-        Feed feed = (Feed) introspection;
-        String state = feed.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.NAMESPACE_STATE));
-        if (state != null && state.equals("Deleted")) {
-            abderaClient.teardown();
-            throw new ResourceNotFoundException(path);
+            resource = createResourceFromFeed(feed);
+            return resource;
+        } finally {
+            clientResponse.release();
         }
-        resource = createResourceFromFeed(feed);
-        abderaClient.teardown();
-        return resource;
     }
 
     /**
@@ -444,12 +444,15 @@ public class RemoteRegistry implements Registry {
     }
 
     public boolean resourceExists(String path) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse response = abderaClient.head(baseURI + APPConstants.ATOM + encodeURL(path),
                 getAuthorization());
-        boolean exists = (response.getType() == Response.ResponseType.SUCCESS);
-        abderaClient.teardown();
-        return exists;
+        try {
+            boolean exists = (response.getType() == Response.ResponseType.SUCCESS);
+            return exists;
+        } finally {
+            response.release();
+        }
     }
 
     public String put(String suggestedPath, org.wso2.carbon.registry.api.Resource resource)
@@ -476,7 +479,7 @@ public class RemoteRegistry implements Registry {
          boolean alreadyExists = false; // Until the above fix is made, this is to make sure POST is called all the time.
 
 
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         final Factory factory = abdera.getFactory();
         boolean isCollection = resource instanceof Collection;
 
@@ -541,36 +544,37 @@ public class RemoteRegistry implements Registry {
             resp = abderaClient.put(baseURI + APPConstants.ATOM + encodeURL(suggestedPath),
                     element, requestOptions);
         }
-         if (resp.getStatus() == HttpURLConnection.HTTP_UNAUTHORIZED) {
-            abderaClient.teardown();
-            String msg = "User is not authorized to add the resource to " + suggestedPath;
-            log.error(msg);
-            throw new RegistryException(msg);
-        } else if(resp.getType() != Response.ResponseType.SUCCESS) {
-            String msg = "Add resource fail. Suggested Path: " + suggestedPath +
-                    ", Response Status: " + resp.getStatus() +
-                    ", Response Type: " + resp.getType();
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
-        }
+        try {
+            if (resp.getStatus() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                String msg = "User is not authorized to add the resource to " + suggestedPath;
+                log.error(msg);
+                throw new RegistryException(msg);
+            } else if(resp.getType() != Response.ResponseType.SUCCESS) {
+                String msg = "Add resource fail. Suggested Path: " + suggestedPath +
+                        ", Response Status: " + resp.getStatus() +
+                        ", Response Type: " + resp.getType();
+                log.error(msg);
+                throw new RegistryException(msg);
+            }
 //        ResourceImpl impl = (ResourceImpl)resource;
 //        impl.setPath(resultPath);
 //        // todo - fix this to use util routine?
 //        int i = resultPath.lastIndexOf('/');
 //        impl.setParentPath(i == 0 ? "/" : resultPath.substring(0, i));
-        abderaClient.teardown();
-        if (resp.getLocation() != null) {
-            String location = resp.getLocation().toString();
-            if (location != null) {
-                if (location.startsWith(baseURI)) {
-                    return location.substring(baseURI.length() +
-                            APPConstants.ATOM.length()).replace("+", " ");
+            if (resp.getLocation() != null) {
+                String location = resp.getLocation().toString();
+                if (location != null) {
+                    if (location.startsWith(baseURI)) {
+                        return location.substring(baseURI.length() +
+                                APPConstants.ATOM.length()).replace("+", " ");
+                    }
+                    return location.replace("+", " ");
                 }
-                return location.replace("+", " ");
             }
+            return suggestedPath;
+        } finally {
+            resp.release();
         }
-        return suggestedPath;
     }
 
     /**
@@ -655,7 +659,7 @@ public class RemoteRegistry implements Registry {
                 relativePath)) {
             throw new RegistryException("Invalid characters have been used in the resource name.");
         }
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         final Factory factory = abdera.getFactory();
         Entry entry = factory.newEntry();
         entry.setId(baseURI + APPConstants.ATOM + encodeURL(suggestedPath));
@@ -689,54 +693,58 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.IMPORT_MEDIA_TYPE),
                         entry,
                         opts);
-        if (response.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource at " + sourceURL + " imported." +
-                        ", Response Status: " + response.getStatus() +
-                        ", Response Type: " + response.getType());
-            }
-            abderaClient.teardown();
+        try {
+            if (response.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource at " + sourceURL + " imported." +
+                            ", Response Status: " + response.getStatus() +
+                            ", Response Type: " + response.getType());
+                }
 
-            String location = response.getLocation().toString();
-            if (location.startsWith(baseURI)) {
-                return location.substring(baseURI.length() +
-                        APPConstants.ATOM.length()).replace("+", " ");
+                String location = response.getLocation().toString();
+                if (location.startsWith(baseURI)) {
+                    return location.substring(baseURI.length() +
+                            APPConstants.ATOM.length()).replace("+", " ");
+                }
+                return location.replace("+", " ");
+            } else {
+                String msg = "failed to import resource at " + sourceURL + "." +
+                        ", Response Status: " + response.getStatus() +
+                        ", Response Type: " + response.getType();
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            return location.replace("+", " ");
-        } else {
-            String msg = "failed to import resource at " + sourceURL + "." +
-                    ", Response Status: " + response.getStatus() +
-                    ", Response Type: " + response.getType();
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            response.release();
         }
     }
 
     public void delete(String path) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse resp = abderaClient.delete(baseURI + APPConstants.ATOM + encodeURL(path),
                 getAuthorization());
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource at " + path + " deleted" +
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource at " + path + " deleted" +
+                            ", Response Status: " + resp.getStatus() +
+                            ", Response Type: " + resp.getType());
+                }
+            } else {
+                String msg = "resource at " + path + " delete failed" +
                         ", Response Status: " + resp.getStatus() +
-                        ", Response Type: " + resp.getType());
+                        ", Response Type: " + resp.getType();
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "resource at " + path + " delete failed" +
-                    ", Response Status: " + resp.getStatus() +
-                    ", Response Type: " + resp.getType();
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
 
     public String rename(String currentPath, String newPath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ByteArrayInputStream is = new ByteArrayInputStream(newPath.getBytes());
         ClientResponse resp =
                 abderaClient.post(baseURI + APPConstants.ATOM +
@@ -745,20 +753,22 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.PARAMETER_RENAME),
                         is,
                         getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource rename " + currentPath + " to " + newPath + "  succeeded" +
-                        getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource rename " + currentPath + " to " + newPath + "  succeeded" +
+                            getStatusAndType(resp));
+                }
+            } else {
+                String msg = "resource rename from " + currentPath + " to " + newPath + " failed" +
+                        getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "resource rename from " + currentPath + " to " + newPath + " failed" +
-                    getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+            return newPath;
+        } finally {
+            resp.release();
         }
-        return newPath;
     }
 
     private String getStatusAndType(ClientResponse resp) {
@@ -767,7 +777,7 @@ public class RemoteRegistry implements Registry {
     }
 
     public String move(String currentPath, String newPath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ByteArrayInputStream is = new ByteArrayInputStream(newPath.getBytes());
         ClientResponse resp =
                 abderaClient.post(baseURI + APPConstants.ATOM +
@@ -776,25 +786,27 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.PARAMETER_MOVE),
                         is,
                         getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource move  from " + currentPath + " to " + newPath + " succeeded" +
-                        getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource move  from " + currentPath + " to " + newPath + " succeeded" +
+                            getStatusAndType(resp));
+                }
+            } else {
+                String msg = "resource move from " + currentPath + " to " + newPath + " failed" +
+                              getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "resource move from " + currentPath + " to " + newPath + " failed" +
-                          getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+            // TODO - should pull real result path from the server response.
+            return newPath;
+        } finally {
+            resp.release();
         }
-        // TODO - should pull real result path from the server response.
-        return newPath;
     }
 
     public String copy(String sourcePath, String targetPath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ByteArrayInputStream is = new ByteArrayInputStream(targetPath.getBytes());
         ClientResponse resp =
                 abderaClient.post(baseURI + APPConstants.ATOM +
@@ -803,25 +815,27 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.PARAMETER_COPY),
                         is,
                         getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource copy from " + sourcePath + " to " + targetPath + " succeeded" +
-                            getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource copy from " + sourcePath + " to " + targetPath + " succeeded" +
+                                getStatusAndType(resp));
+                }
+            } else {
+                String msg = "resource copy from " + sourcePath + " to " + targetPath + "  failed" +
+                        getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "resource copy from " + sourcePath + " to " + targetPath + "  failed" +
-                    getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+            // TODO - should pull real result path from the server response.
+            return targetPath;
+        } finally {
+            resp.release();
         }
-        // TODO - should pull real result path from the server response.
-        return targetPath;
     }
 
     public void createVersion(String path) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ByteArrayInputStream is = new ByteArrayInputStream("createVersion".getBytes());
         ClientResponse clientResponse =
                 abderaClient.post(baseURI + APPConstants.ATOM +
@@ -829,47 +843,51 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.CHECKPOINT),
                         is,
                         getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        final int status = clientResponse.getStatus();
-        if (status < 200 || status > 299) {
-            RegistryException e;
-            if (status == HttpURLConnection.HTTP_NOT_FOUND) {
-                e = new ResourceNotFoundException(path);
-            } else {
-                e = new RegistryException("Response Status: " + clientResponse.getStatusText());
+        try {
+            final int status = clientResponse.getStatus();
+            if (status < 200 || status > 299) {
+                RegistryException e;
+                if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+                    e = new ResourceNotFoundException(path);
+                } else {
+                    e = new RegistryException("Response Status: " + clientResponse.getStatusText());
+                }
+                throw e;
             }
-            abderaClient.teardown();
-            throw e;
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
     }
 
     public String[] getVersions(String path) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + APPConstants.ATOM +
                         encodeURL(path +
                                 RegistryConstants.URL_SEPARATOR +
                                 APPConstants.PARAMETER_VERSION),
                         getAuthorization());
-        Document introspection = clientResponse.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        if (entries != null) {
-            String[] versions = new String[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                versions[i] = Utils.getLinkWithRel(entry, "versionLink").getHref().toString();
-                //versions[i] = entry.getLink("versionLink").getHref().toString();
+        try {
+            Document introspection = clientResponse.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            if (entries != null) {
+                String[] versions = new String[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    versions[i] = Utils.getLinkWithRel(entry, "versionLink").getHref().toString();
+                    //versions[i] = entry.getLink("versionLink").getHref().toString();
+                }
+                return versions;
             }
-            abderaClient.teardown();
-            return versions;
+            return new String[0];
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
-        return new String[0];
     }
 
     public void restoreVersion(String versionPath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         Entry entry = abdera.getFactory().newEntry();
         ClientResponse resp = abderaClient.post(baseURI + APPConstants.ATOM +
                 encodeURL(versionPath +
@@ -877,24 +895,26 @@ public class RemoteRegistry implements Registry {
                         APPConstants.PARAMETER_RESTORE),
                 entry,
                 getAuthorization());
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource restore to " + versionPath + " succeeded" +
-                       getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource restore to " + versionPath + " succeeded" +
+                           getStatusAndType(resp));
+                }
+            } else {
+                String msg = "resource restore " + versionPath + "  failed" +
+                        getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "resource restore " + versionPath + "  failed" +
-                    getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
     public void addAssociation(String sourcePath, String associationPaths, String associationType)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         final Factory factory = abdera.getFactory();
         Element el = factory.newElement(APPConstants.QN_ASSOC);
         el.setAttributeValue(APPConstants.ASSOC_TYPE, associationType);
@@ -905,20 +925,22 @@ public class RemoteRegistry implements Registry {
                         APPConstants.ASSOCIATIONS),
                 el,
                 getAuthorization());
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("associating " + sourcePath + " to " + associationPaths +
-                        " type " + associationType + " succeeded" +
-                        getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("associating " + sourcePath + " to " + associationPaths +
+                            " type " + associationType + " succeeded" +
+                            getStatusAndType(resp));
+                }
+            } else {
+                String msg = "associating " + sourcePath + " to " + associationPaths +
+                        " type " + associationType + "failed" +
+                       getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "associating " + sourcePath + " to " + associationPaths +
-                    " type " + associationType + "failed" +
-                   getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
@@ -926,7 +948,7 @@ public class RemoteRegistry implements Registry {
     public void removeAssociation(String sourcePath, String associationPaths,
                                   String associationType)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         final Factory factory = abdera.getFactory();
         Element el = factory.newElement(APPConstants.QN_ASSOC);
         el.setAttributeValue(APPConstants.ASSOC_TYPE, associationType);
@@ -939,42 +961,46 @@ public class RemoteRegistry implements Registry {
                         RegistryConstants.URL_SEPARATOR +
                         APPConstants.ASSOCIATIONS),
                 requestOptions);
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("remove association " + sourcePath + " to " + associationPaths +
-                        " type " + associationType + " succeeded" +
-                        getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("remove association " + sourcePath + " to " + associationPaths +
+                            " type " + associationType + " succeeded" +
+                            getStatusAndType(resp));
+                }
+            } else {
+                String msg = "remove association " + sourcePath + " to " + associationPaths +
+                        " type " + associationType + "failed" +
+                       getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "remove association " + sourcePath + " to " + associationPaths +
-                    " type " + associationType + "failed" +
-                   getStatusAndType(resp);
-            log.error(msg);
-            abderaClient.teardown();
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
     public Association[] getAllAssociations(String resourcePath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse resp = abderaClient.get(baseURI + APPConstants.ATOM +
                 encodeURL(resourcePath +
                         RegistryConstants.URL_SEPARATOR +
                         APPConstants.ASSOCIATIONS),
                 getAuthorization());
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            Document introspection = resp.getDocument();
-            Feed feed = (Feed) introspection.getRoot();
-            Association[] associations = getAssociationsFromFeed(feed);
-            abderaClient.teardown();
-            return associations;
-        } else {
-            String msg = "uanble to get all associations for path " + resourcePath +
-                    getStatusAndType(resp);
-            log.error(msg);
-            abderaClient.teardown();
-            throw new RegistryException(msg);
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                Document introspection = resp.getDocument();
+                Feed feed = (Feed) introspection.getRoot();
+                Association[] associations = getAssociationsFromFeed(feed);
+                return associations;
+            } else {
+                String msg = "uanble to get all associations for path " + resourcePath +
+                        getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
+            }
+        } finally {
+            resp.release();
         }
     }
 
@@ -998,34 +1024,37 @@ public class RemoteRegistry implements Registry {
 
     public Association[] getAssociations(String resourcePath, String associationType)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + APPConstants.ATOM +
                         encodeURL(resourcePath + RegistryConstants.URL_SEPARATOR +
                                 APPConstants.ASSOCIATIONS + ":" +
                                 associationType),
                         getAuthorization());
-        Document introspection = clientResponse.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        Association associations[] = null;
-        if (entries != null) {
-            associations = new Association[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                Association association = new Association();
-                association.setSourcePath(entry.getTitle());
-                association.setDestinationPath(entry.getContent());
-                association.setAssociationType(entry.getSummary());
-                associations[i] = association;
+        try {
+            Document introspection = clientResponse.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            Association associations[] = null;
+            if (entries != null) {
+                associations = new Association[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    Association association = new Association();
+                    association.setSourcePath(entry.getTitle());
+                    association.setDestinationPath(entry.getContent());
+                    association.setAssociationType(entry.getSummary());
+                    associations[i] = association;
+                }
             }
+            return associations;
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
-        return associations;
     }
 
     public void applyTag(String resourcePath, String tag) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         Entry entry = abdera.getFactory().newEntry();
         entry.setContent(tag);
         ClientResponse resp = abderaClient.post(baseURI + APPConstants.ATOM +
@@ -1034,92 +1063,97 @@ public class RemoteRegistry implements Registry {
                         APPConstants.PARAMETER_TAGS),
                 entry,
                 getAuthorization());
-
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("Applying tag: " + tag + " for resourcePath + " + resourcePath +
-                        " succeeded." +
-                       getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Applying tag: " + tag + " for resourcePath + " + resourcePath +
+                            " succeeded." +
+                           getStatusAndType(resp));
+                }
+            } else {
+                String msg =
+                        "Applying tag: " + tag + " for resourcePath + " + resourcePath + " failed." +
+                               getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg =
-                    "Applying tag: " + tag + " for resourcePath + " + resourcePath + " failed." +
-                           getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
     public TaggedResourcePath[] getResourcePathsWithTag(String tag) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse = abderaClient.get(baseURI + "/tags/" + tag,
                 getAuthorization());
-
-        Document introspection =
-                clientResponse.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        TaggedResourcePath taggedResourcePaths[] = null;
-        if (entries != null) {
-            taggedResourcePaths = new TaggedResourcePath[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                org.wso2.carbon.registry.app.Properties properties =
-                        entry.getExtension(PropertyExtensionFactory.TAGS);
-                List propertyList = properties.getExtensions(PropertyExtensionFactory.TAG);
-                Map<String, String> map = new HashMap<String, String>();
-                for (Object aPropertyList : propertyList) {
-                    Property property = (Property) aPropertyList;
-                    PropertyName pn = property.getExtension(PropertyExtensionFactory.PROPERTY_NAME);
-                    PropertyValue pv =
-                            property.getExtension(PropertyExtensionFactory.PROPERTY_VALUE);
-                    map.put(pn.getText(), pv.getText());
+        try {
+            Document introspection =
+                    clientResponse.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            TaggedResourcePath taggedResourcePaths[] = null;
+            if (entries != null) {
+                taggedResourcePaths = new TaggedResourcePath[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    org.wso2.carbon.registry.app.Properties properties =
+                            entry.getExtension(PropertyExtensionFactory.TAGS);
+                    List propertyList = properties.getExtensions(PropertyExtensionFactory.TAG);
+                    Map<String, String> map = new HashMap<String, String>();
+                    for (Object aPropertyList : propertyList) {
+                        Property property = (Property) aPropertyList;
+                        PropertyName pn = property.getExtension(PropertyExtensionFactory.PROPERTY_NAME);
+                        PropertyValue pv =
+                                property.getExtension(PropertyExtensionFactory.PROPERTY_VALUE);
+                        map.put(pn.getText(), pv.getText());
+                    }
+                    TaggedResourcePath tagPath = new TaggedResourcePath();
+                    tagPath.setResourcePath(entry.getTitle());
+                    tagPath.setTagCount(
+                            Long.parseLong(entry.getSimpleExtension(new QName(APPConstants.NAMESPACE,
+                                    "taggings"))));
+                    taggedResourcePaths[i] = tagPath;
+                    tagPath.setTagCounts(map);
                 }
-                TaggedResourcePath tagPath = new TaggedResourcePath();
-                tagPath.setResourcePath(entry.getTitle());
-                tagPath.setTagCount(
-                        Long.parseLong(entry.getSimpleExtension(new QName(APPConstants.NAMESPACE,
-                                "taggings"))));
-                taggedResourcePaths[i] = tagPath;
-                tagPath.setTagCounts(map);
             }
+            return taggedResourcePaths;
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
-        return taggedResourcePaths;
     }
 
     public Tag[] getTags(String resourcePath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse = abderaClient.get(baseURI + APPConstants.ATOM +
                 encodeURL(resourcePath +
                         RegistryConstants.URL_SEPARATOR +
                         APPConstants.PARAMETER_TAGS),
                 getAuthorization());
-
-        Document introspection =
-                clientResponse.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        Tag tags[] = null;
-        if (entries != null) {
-            tags = new Tag[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                Tag tag = new Tag();
-                tag.setTagCount(Long.parseLong(entry.getSimpleExtension(
-                        new QName(APPConstants.NAMESPACE, "taggings"))));
-                tag.setTagName(entry.getTitle());
-                tags[i] = tag;
+        try {
+            Document introspection =
+                    clientResponse.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            Tag tags[] = null;
+            if (entries != null) {
+                tags = new Tag[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    Tag tag = new Tag();
+                    tag.setTagCount(Long.parseLong(entry.getSimpleExtension(
+                            new QName(APPConstants.NAMESPACE, "taggings"))));
+                    tag.setTagName(entry.getTitle());
+                    tags[i] = tag;
+                }
             }
+            return tags;
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
-        return tags;
     }
 
     public void removeTag(String path, String tag) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         String encodedTag;
         try {
             encodedTag = URLEncoder.encode(tag, RegistryConstants.DEFAULT_CHARSET_ENCODING);
@@ -1132,19 +1166,20 @@ public class RemoteRegistry implements Registry {
                         RegistryConstants.URL_SEPARATOR) +
                         "tag:" + encodedTag,
                 getAuthorization());
-
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("Removing tag: " + tag + " for resourcePath + " + path + " succeeded." +
-                       getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Removing tag: " + tag + " for resourcePath + " + path + " succeeded." +
+                           getStatusAndType(resp));
+                }
+            } else {
+                String msg = "Removing tag: " + tag + " for resourcePath + " + path + " failed." +
+                       getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "Removing tag: " + tag + " for resourcePath + " + path + " failed." +
-                   getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
@@ -1155,7 +1190,7 @@ public class RemoteRegistry implements Registry {
 
     public String addComment(String resourcePath, org.wso2.carbon.registry.core.Comment comment)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         Entry entry = abdera.getFactory().newEntry();
         entry.setId("tag:commentID"); // TODO - generate real ID
         entry.setTitle("Comment");
@@ -1169,55 +1204,58 @@ public class RemoteRegistry implements Registry {
                                 APPConstants.PARAMETER_COMMENTS),
                         entry,
                         getAuthorization());
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("Adding comment for resourcePath + " + resourcePath + " succeeded." +
-                        getStatusAndType(resp));
-            }
-            abderaClient.teardown();
-            String location = resp.getLocation().toString();
-            if (location.startsWith(baseURI)) {
-                return location.substring(baseURI.length() +
-                        APPConstants.ATOM.length()).replace("+", " ");
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Adding comment for resourcePath + " + resourcePath + " succeeded." +
+                            getStatusAndType(resp));
+                }
+                String location = resp.getLocation().toString();
+                if (location.startsWith(baseURI)) {
+                    return location.substring(baseURI.length() +
+                            APPConstants.ATOM.length()).replace("+", " ");
+                }
+                return location.replace("+", " ");
+            } else {
+                String msg = "Adding comment for resourcePath + " + resourcePath + " failed." +
+                       getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            return location.replace("+", " ");
-        } else {
-            String msg = "Adding comment for resourcePath + " + resourcePath + " failed." +
-                   getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
 
     public void editComment(String commentPath, String text) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         Entry entry = abdera.getFactory().newEntry();
         entry.setContent(text);
         ClientResponse resp = abderaClient.put(baseURI + APPConstants.ATOM +
                 encodeURL(commentPath),
                 entry,
                 getAuthorization());
-
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("Editing comment for resourcePath + " + commentPath + " succeeded." +
-                       getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Editing comment for resourcePath + " + commentPath + " succeeded." +
+                           getStatusAndType(resp));
+                }
+            } else {
+                String msg = "Editing comment for resourcePath + " + commentPath + " failed." +
+                        getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "Editing comment for resourcePath + " + commentPath + " failed." +
-                    getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
     public org.wso2.carbon.registry.core.Comment[] getComments(String _resourcePath)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         String resourcePath = _resourcePath;
         resourcePath = encodeURL(resourcePath);
         if (resourcePath.contains(RegistryConstants.VERSION_SEPARATOR)) {
@@ -1232,13 +1270,16 @@ public class RemoteRegistry implements Registry {
                         resourcePath + RegistryConstants.URL_SEPARATOR +
                         APPConstants.PARAMETER_COMMENTS,
                         getAuthorization());
-        Document introspection = clientResponse.getDocument();
-        Element element = introspection.getRoot();
-        Feed feed = (Feed) element;
-        org.wso2.carbon.registry.core.Comment[] comments = getCommentsFromFeed(feed);
-        abderaClient.teardown();
+        try {
+            Document introspection = clientResponse.getDocument();
+            Element element = introspection.getRoot();
+            Feed feed = (Feed) element;
+            org.wso2.carbon.registry.core.Comment[] comments = getCommentsFromFeed(feed);
 
-        return comments;
+            return comments;
+        } finally {
+            clientResponse.release();
+        }
     }
 
     // method to obtain comments from feed.
@@ -1274,7 +1315,7 @@ public class RemoteRegistry implements Registry {
     }
 
     public void rateResource(String resourcePath, int rating) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ByteArrayInputStream is = new ByteArrayInputStream(Integer.toString(rating).getBytes());
         ClientResponse resp = abderaClient.post(baseURI + APPConstants.ATOM +
                 encodeURL(resourcePath +
@@ -1282,77 +1323,82 @@ public class RemoteRegistry implements Registry {
                         APPConstants.PARAMETER_RATINGS),
                 is,
                 getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("rating resource + " + resourcePath + " succeeded." +
-                       getStatusAndType(resp));
-            }
-            abderaClient.teardown();
-        } else {
-            String msg = "rating resource + " + resourcePath + " failed." +
-                    getStatusAndType(resp);
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("rating resource + " + resourcePath + " succeeded." +
+                           getStatusAndType(resp));
+                }
+            } else {
+                String msg = "rating resource + " + resourcePath + " failed." +
+                        getStatusAndType(resp);
 
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+                log.error(msg);
+                throw new RegistryException(msg);
+            }
+        } finally {
+            resp.release();
         }
     }
 
     public float getAverageRating(String resourcePath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + APPConstants.ATOM +
                         encodeURL(resourcePath +
                                 RegistryConstants.URL_SEPARATOR +
                                 APPConstants.PARAMETER_RATINGS),
                         getAuthorization());
+        try {
+            if (clientResponse.getStatus() != HttpURLConnection.HTTP_OK) {
+                // throw RegistryException
+                String msg = "Getting average rating failed. Path: " + resourcePath +
+                        ", Response Status: " + clientResponse.getStatus() +
+                        ", Response Type: " + clientResponse.getType();
+                log.error(msg);
+                throw new RegistryException(msg);
+            }
 
-        if (clientResponse.getStatus() != HttpURLConnection.HTTP_OK) {
-            // throw RegistryException
-            String msg = "Getting average rating failed. Path: " + resourcePath +
-                    ", Response Status: " + clientResponse.getStatus() +
-                    ", Response Type: " + clientResponse.getType();
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
-        }
-
-        Document introspection = clientResponse.getDocument();
-        if (introspection.getRoot() instanceof Feed) {
-            Feed feed = (Feed) introspection.getRoot();
-            String floatValue = feed.getSimpleExtension(APPConstants.QN_AVERAGE_RATING);
-            abderaClient.teardown();
-            return Float.parseFloat(floatValue);
+            Document introspection = clientResponse.getDocument();
+            if (introspection.getRoot() instanceof Feed) {
+                Feed feed = (Feed) introspection.getRoot();
+                String floatValue = feed.getSimpleExtension(APPConstants.QN_AVERAGE_RATING);
+                return Float.parseFloat(floatValue);
+            }
+            return 0;
+        } finally {
+            clientResponse.release();
         }
-        return 0;
     }
 
     public int getRating(String path, String userName) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + APPConstants.ATOM +
                         encodeURL(path + RegistryConstants.URL_SEPARATOR +
                                 APPConstants.PARAMETER_RATINGS + ":" + userName),
                         getAuthorization());
-        Document introspection =
-                clientResponse.getDocument();
-        if (introspection.getRoot() instanceof Feed) {
-            Feed feed = (Feed) introspection.getRoot();
-            List<Entry> entries = feed.getEntries();
-            if (entries.size() == 1) {
-                String intValue = entries.get(0).getContent();
-                abderaClient.teardown();
-                return Integer.parseInt(intValue);
+        try {
+            Document introspection =
+                    clientResponse.getDocument();
+            if (introspection.getRoot() instanceof Feed) {
+                Feed feed = (Feed) introspection.getRoot();
+                List<Entry> entries = feed.getEntries();
+                if (entries.size() == 1) {
+                    String intValue = entries.get(0).getContent();
+                    return Integer.parseInt(intValue);
+                }
             }
+            String msg = "Getting rating failed. Path: " + path;
+            log.error(msg);
+            throw new RegistryException(msg);
+        } finally {
+            clientResponse.release();
         }
-        String msg = "Getting rating failed. Path: " + path;
-        abderaClient.teardown();
-        log.error(msg);
-        throw new RegistryException(msg);
     }
 
     public Collection executeQuery(String path, Map parameters) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         RequestOptions requestOptions = getAuthorization();
         if (path == null) {
             path = "/";
@@ -1362,11 +1408,14 @@ public class RemoteRegistry implements Registry {
                         APPConstants.PARAMETER_QUERY) + "?" +
                 buildQueryString(parameters),
                 requestOptions);
-        Document introspection = resp.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        Collection c = createResourceFromFeed(feed);
-        abderaClient.teardown();
-        return c;
+        try {
+            Document introspection = resp.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            Collection c = createResourceFromFeed(feed);
+            return c;
+        } finally {
+            resp.release();
+        }
     }
 
     /**
@@ -1445,7 +1494,7 @@ public class RemoteRegistry implements Registry {
             resourcePath = "/";
         }
 
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         RequestOptions requestOptions = getAuthorization();
         requestOptions.addDateHeader("ToDate", to);
         requestOptions.addDateHeader("FromDate", from);
@@ -1456,28 +1505,31 @@ public class RemoteRegistry implements Registry {
                         RegistryConstants.URL_SEPARATOR +
                         APPConstants.PARAMETER_LOGS),
                 requestOptions);
-        Document introspection =
-                resp.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        LogEntry logs[] = null;
-        if (entries != null) {
-            logs = new LogEntry[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                LogEntry logEntry = new LogEntry();
-                logEntry.setDate(entry.getEdited());
-                logEntry.setActionData(entry.getContent());
-                logEntry.setUserName(entry.getAuthor().getName());
-                logEntry.setAction(Integer.parseInt(
-                        entry.getSimpleExtension(new QName(APPConstants.NAMESPACE, "action"))));
-                String path = entry.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.PARAMETER_PATH));
-                logEntry.setResourcePath(path);
-                logs[i] = logEntry;
+        try {
+            Document introspection =
+                    resp.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            LogEntry logs[] = null;
+            if (entries != null) {
+                logs = new LogEntry[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    LogEntry logEntry = new LogEntry();
+                    logEntry.setDate(entry.getEdited());
+                    logEntry.setActionData(entry.getContent());
+                    logEntry.setUserName(entry.getAuthor().getName());
+                    logEntry.setAction(Integer.parseInt(
+                            entry.getSimpleExtension(new QName(APPConstants.NAMESPACE, "action"))));
+                    String path = entry.getSimpleExtension(new QName(APPConstants.NAMESPACE, APPConstants.PARAMETER_PATH));
+                    logEntry.setResourcePath(path);
+                    logs[i] = logEntry;
+                }
             }
+            return logs;
+        } finally {
+            resp.release();
         }
-        abderaClient.teardown();
-        return logs;
     }
 
 
@@ -1501,13 +1553,41 @@ public class RemoteRegistry implements Registry {
         return requestOptions;
     }
 
-    private RequestOptions getAuthorizationForCaching(String path) {
+    private RequestOptions getAuthorizationForCaching(String eTag) {
         RequestOptions requestOptions = new RequestOptions();
         requestOptions.setAuthorization(authorizationString);
-        requestOptions.setHeader("if-none-match", cache.getETag(path));
+        requestOptions.setHeader("if-none-match", eTag);
         return requestOptions;
     }
 
+    /**
+     * Resources are cached per registry and per user, as users may not see the same resources.
+     */
+    private String getCacheKey(String path) {
+        return username + "@" + baseURI + path;
+    }
+
+    /**
+     * Estimates the memory taken by a cached resource from the length of the response, or from
+     * its content and children when the response is chunked.
+     */
+    private static long estimateSize(ClientResponse clientResponse, Element introspection) {
+        long contentLength = clientResponse.getContentLength();
+        if (contentLength > 0) {
+            return contentLength;
+        }
+        long size = CACHED_RESOURCE_SIZE;
+        if (introspection instanceof Feed) {
+            size += ((Feed) introspection).getEntries().size() * (long) CACHED_CHILD_SIZE;
+        } else {
+            String content = ((Entry) introspection).getContent();
+            if (content != null) {
+                size += content.length() * 2L;
+            }
+        }
+        return size;
+    }
+
     /**
      * Method to encode a registry path as a URL.
      *
@@ -1537,7 +1617,7 @@ public class RemoteRegistry implements Registry {
     }
 
     public void associateAspect(String resourcePath, String aspect) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         // POST as text to "<resource>;aspects"
         ByteArrayInputStream is = new ByteArrayInputStream(aspect.getBytes());
         ClientResponse resp = abderaClient.post(baseURI + APPConstants.ATOM +
@@ -1546,25 +1626,27 @@ public class RemoteRegistry implements Registry {
                         APPConstants.ASPECTS),
                 is,
                 getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    String msg = "Resource associated to aspect " +
+                                    getOnAppendedVal(aspect,resourcePath) + ".";
+                    log.debug(msg);
+                }
+            } else {
                 String msg = "Resource associated to aspect " +
-                                getOnAppendedVal(aspect,resourcePath) + ".";
-                log.debug(msg);
+                        getOnAppendedVal(aspect,resourcePath) + ".";
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "Resource associated to aspect " +
-                    getOnAppendedVal(aspect,resourcePath) + ".";
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
     public void invokeAspect(String resourcePath, String aspectName, String action)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
 
         // The content doesn't really matter here, so this is a placeholder for now.
         // Later on we'll likely want to support parameterized invocations, so we'll likely
@@ -1577,19 +1659,21 @@ public class RemoteRegistry implements Registry {
                 action,
                 is,
                 getAuthorization().setContentType(TEXT_PLAIN_MEDIA_TYPE));
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                String msg = "Succeeded in invoking aspect " + getOnAppendedVal(aspectName,resourcePath) +
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    String msg = "Succeeded in invoking aspect " + getOnAppendedVal(aspectName,resourcePath) +
+                            " action " + action + ".";
+                    log.debug(msg);
+                }
+            } else {
+                String msg = "Couldn't invoke aspect " + getOnAppendedVal(aspectName,resourcePath) +
                         " action " + action + ".";
-                log.debug(msg);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "Couldn't invoke aspect " + getOnAppendedVal(aspectName,resourcePath) +
-                    " action " + action + ".";
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
@@ -1626,27 +1710,29 @@ public class RemoteRegistry implements Registry {
 
     public String[] getAspectActions(String resourcePath, String aspectName)
             throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         ClientResponse clientResponse =
                 abderaClient.get(baseURI + APPConstants.ATOM +
                         encodeURL(resourcePath +
                         RegistryConstants.URL_SEPARATOR +
                         APPConstants.ASPECT) + "(" + encodeURL(aspectName) + ")",
                         getAuthorization());
-        Document introspection = clientResponse.getDocument();
-        Feed feed = (Feed) introspection.getRoot();
-        List entries = feed.getEntries();
-        if (entries != null) {
-            String[] aspectActions = new String[entries.size()];
-            for (int i = 0; i < entries.size(); i++) {
-                Entry entry = (Entry) entries.get(i);
-                aspectActions[i] = entry.getContent();
+        try {
+            Document introspection = clientResponse.getDocument();
+            Feed feed = (Feed) introspection.getRoot();
+            List entries = feed.getEntries();
+            if (entries != null) {
+                String[] aspectActions = new String[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = (Entry) entries.get(i);
+                    aspectActions[i] = entry.getContent();
+                }
+                return aspectActions;
             }
-            abderaClient.teardown();
-            return aspectActions;
+            return new String[0];
+        } finally {
+            clientResponse.release();
         }
-        abderaClient.teardown();
-        return new String[0];
     }
 
     public RegistryContext getRegistryContext() {
@@ -1674,12 +1760,12 @@ public class RemoteRegistry implements Registry {
     // check in, check out functionality
 
     public void restore(String path, Reader reader) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         restore(path, reader, abderaClient);
     }
 
     public void dump(String path, Writer writer) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         dump(path, abderaClient, writer);
     }
 
@@ -1695,10 +1781,9 @@ public class RemoteRegistry implements Registry {
      * @throws RegistryException if the operation failed.
      */
     public void restore(String path, Reader reader, int timeout) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         abderaClient.setSocketTimeout(timeout);
         restore(path, reader, abderaClient);
-        abderaClient.teardown();
     }
 
     /**
@@ -1711,10 +1796,9 @@ public class RemoteRegistry implements Registry {
      * @throws RegistryException if the operation failed.
      */
     public void dump(String path, int timeout, Writer writer) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         abderaClient.setSocketTimeout(timeout);
         dump(path, abderaClient, writer);
-        abderaClient.teardown();
     }
 
     // the implementation for dump
@@ -1728,14 +1812,18 @@ public class RemoteRegistry implements Registry {
                 is,
                 getAuthorization());
 
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("resource dump restored at " + path);
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("resource dump restored at " + path);
+                }
+            } else {
+                String msg = "Restoring to " + path + " failed.";
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-        } else {
-            String msg = "Restoring to " + path + " failed.";
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
     }
 
@@ -1748,21 +1836,25 @@ public class RemoteRegistry implements Registry {
                                 RegistryConstants.URL_SEPARATOR +
                                 APPConstants.PARAMETER_DUMP),
                         getAuthorization());
-        if (clientResponse.getType() == Response.ResponseType.SUCCESS) {
-            Document introspection = clientResponse.getDocument();
-            Element element = introspection.getRoot();
-            if (element instanceof OMElement) {
-                try {
-                    ((OMElement) element).serialize(writer);
-                } catch (XMLStreamException e) {
-                    throw new RegistryException("Failed to serialize the xml", e);
+        try {
+            if (clientResponse.getType() == Response.ResponseType.SUCCESS) {
+                Document introspection = clientResponse.getDocument();
+                Element element = introspection.getRoot();
+                if (element instanceof OMElement) {
+                    try {
+                        ((OMElement) element).serialize(writer);
+                    } catch (XMLStreamException e) {
+                        throw new RegistryException("Failed to serialize the xml", e);
+                    }
                 }
+            } else {
+                String msg = "Failed to serialize the xml. Received Response: " +
+                        clientResponse.getStatusText();
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-        } else {
-            String msg = "Failed to serialize the xml. Received Response: " +
-                    clientResponse.getStatusText();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            clientResponse.release();
         }
     }
 
@@ -1776,7 +1868,7 @@ public class RemoteRegistry implements Registry {
     }
 
     public void removeComment(String commentPath) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         String resourcePath = commentPath.substring(0, commentPath.indexOf(";comments:"));
         int commentId = Integer.parseInt(
                 commentPath.substring(commentPath.indexOf(";comments:") + ";comments:".length()));
@@ -1785,21 +1877,21 @@ public class RemoteRegistry implements Registry {
                         RegistryConstants.URL_SEPARATOR) +
                         "comment:" + commentId,
                 getAuthorization());
-
-        if (resp.getType() == Response.ResponseType.SUCCESS) {
-            if (log.isDebugEnabled()) {
-                log.debug("Removing comment: " + commentId + " for resourcePath + " + resourcePath +
-                        " succeeded." + getStatusAndType(resp));
+        try {
+            if (resp.getType() == Response.ResponseType.SUCCESS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Removing comment: " + commentId + " for resourcePath + " + resourcePath +
+                            " succeeded." + getStatusAndType(resp));
+                }
+            } else {
+                String msg = "Removing comment: " + commentId + " for resourcePath + " + resourcePath +
+                            " succeeded." + getStatusAndType(resp);
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-            abderaClient.teardown();
-        } else {
-            String msg = "Removing comment: " + commentId + " for resourcePath + " + resourcePath +
-                        " succeeded." + getStatusAndType(resp);
-            abderaClient.teardown();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            resp.release();
         }
-
     }
 
     public boolean removeVersionHistory(String path, long snapshotId)
@@ -1839,7 +1931,7 @@ public class RemoteRegistry implements Registry {
     
     @Override
     public void dumpLite(String path, Writer writer) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         dumpLite(path, abderaClient, writer);      
     }
     
@@ -1853,10 +1945,9 @@ public class RemoteRegistry implements Registry {
      * @throws RegistryException if the operation failed.
      */
     public void dumpLite(String path, int timeout, Writer writer) throws RegistryException {
-        AbderaClient abderaClient = new AbderaClient(abdera);
+        AbderaClient abderaClient = RemoteRegistryTransport.newClient(abdera);
         abderaClient.setSocketTimeout(timeout);
         dumpLite(path, abderaClient, writer);
-        abderaClient.teardown();
     }
     
  // the implementation for dump
@@ -1868,21 +1959,25 @@ public class RemoteRegistry implements Registry {
         						RegistryConstants.URL_SEPARATOR +
                                 APPConstants.PARAMETER_DUMP),
                         getAuthorization());
-        if (clientResponse.getType() == Response.ResponseType.SUCCESS) {
-            Document introspection = clientResponse.getDocument();
-            Element element = introspection.getRoot();
-            if (element instanceof OMElement) {
-                try {
-                    ((OMElement) element).serialize(writer);
-                } catch (XMLStreamException e) {
-                    throw new RegistryException("Failed to serialize the xml", e);
+        try {
+            if (clientResponse.getType() == Response.ResponseType.SUCCESS) {
+                Document introspection = clientResponse.getDocument();
+                Element element = introspection.getRoot();
+                if (element instanceof OMElement) {
+                    try {
+                        ((OMElement) element).serialize(writer);
+                    } catch (XMLStreamException e) {
+                        throw new RegistryException("Failed to serialize the xml", e);
+                    }
                 }
+            } else {
+                String msg = "Failed to serialize the xml. Received Response: " +
+                        clientResponse.getStatusText();
+                log.error(msg);
+                throw new RegistryException(msg);
             }
-        } else {
-        	String msg = "Failed to serialize the xml. Received Response: " +
-                    clientResponse.getStatusText();
-            log.error(msg);
-            throw new RegistryException(msg);
+        } finally {
+            clientResponse.release();
         }
     }
 
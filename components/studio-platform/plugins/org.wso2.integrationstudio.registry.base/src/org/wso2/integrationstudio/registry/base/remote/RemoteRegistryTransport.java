@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.registry.base.remote;
+
+import org.apache.abdera.Abdera;
+import org.apache.abdera.protocol.client.AbderaClient;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.cookie.CookiePolicy;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
+import org.apache.commons.httpclient.params.HttpMethodParams;
+import org.wso2.integrationstudio.registry.base.core.TrustEverythingTrustManager;
+
+/**
+ * HTTP transport shared by the remote registries.
+ *
+ * Every request of every remote registry goes through a single pool of keep-alive connections, so browsing a
+ * registry reuses the connections, and the TLS sessions, of the previous requests instead of opening a new
+ * connection each time. Each request still gets a client of its own, so cookies are not shared between requests as
+ * before. Responses have to be released once read, in a finally block, to give their connection back to the pool.
+ */
+public class RemoteRegistryTransport {
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 20;
+    private static final int MAX_CONNECTIONS = 100;
+    private static final long IDLE_CONNECTION_TIMEOUT = 60000;
+    private static final long CONNECTION_MANAGER_TIMEOUT = 30000;
+
+    private static MultiThreadedHttpConnectionManager connectionManager;
+
+    private RemoteRegistryTransport() {
+    }
+
+    /**
+     * Creates a client sending its requests through the shared connection pool.
+     *
+     * @param abdera Abdera instance of the client
+     * @return client, which does not need to be torn down
+     */
+    public static AbderaClient newClient(Abdera abdera) {
+        HttpClient httpClient = new HttpClient(getConnectionManager());
+        // The defaults the clients created by Abdera itself use
+        httpClient.getParams().setParameter(HttpMethodParams.USER_AGENT, AbderaClient.DEFAULT_USER_AGENT);
+        httpClient.getParams().setBooleanParameter(HttpMethodParams.USE_EXPECT_CONTINUE, true);
+        httpClient.getParams().setCookiePolicy(CookiePolicy.BROWSER_COMPATIBILITY);
+        // A request waiting for a connection fails rather than hangs if the pool stays exhausted
+        httpClient.getParams().setConnectionManagerTimeout(CONNECTION_MANAGER_TIMEOUT);
+        return new AbderaClient(abdera, httpClient);
+    }
+
+    /**
+     * Closes the connections of the pool. A new pool is created for the next request.
+     */
+    public static synchronized void shutdown() {
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+            connectionManager = null;
+        }
+    }
+
+    private static synchronized MultiThreadedHttpConnectionManager getConnectionManager() {
+        if (connectionManager == null) {
+            // Registering the trust manager creates a new socket factory, which would not resume the TLS sessions
+            // of the previous one
+            AbderaClient.registerTrustManager(new TrustEverythingTrustManager());
+            connectionManager = new MultiThreadedHttpConnectionManager();
+            HttpConnectionManagerParams params = connectionManager.getParams();
+            params.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+            params.setMaxTotalConnections(MAX_CONNECTIONS);
+            params.setStaleCheckingEnabled(true);
+        } else {
+            connectionManager.closeIdleConnections(IDLE_CONNECTION_TIMEOUT);
+        }
+        return connectionManager;
+    }
+}
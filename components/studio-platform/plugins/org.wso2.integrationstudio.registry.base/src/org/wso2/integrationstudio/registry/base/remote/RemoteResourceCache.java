@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.integrationstudio.registry.base.remote;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.registry.core.Resource;
+
+/**
+ * Resources fetched from remote registries along with their ETags, sent back in conditional requests so that the
+ * registry answers with HTTP_NOT_MODIFIED instead of the resource when it did not change.
+ *
+ * The cache holds at most a number of resources and an estimated number of bytes, and evicts the least recently used
+ * resources beyond these bounds. It counts its hits, misses and evictions to tell how well it works.
+ */
+public class RemoteResourceCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 5000;
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private static final RemoteResourceCache instance =
+            new RemoteResourceCache(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+
+    private final Log log = LogFactory.getLog(RemoteResourceCache.class);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<String, CachedResource> resources = new LinkedHashMap<String, CachedResource>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries maximum number of resources
+     * @param maxBytes maximum estimated size of the resources in bytes
+     */
+    public RemoteResourceCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return cache shared by the remote registries
+     */
+    public static RemoteResourceCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param key key of a resource
+     * @return cached resource, null if it is not cached
+     */
+    public synchronized CachedResource get(String key) {
+        return resources.get(key);
+    }
+
+    /**
+     * Caches a resource, replacing the previous version of it, and evicts the least recently used resources beyond
+     * the bounds of the cache. A resource larger than the cache is not cached.
+     *
+     * @param key key of the resource
+     * @param resource resource
+     * @param eTag ETag of the resource
+     * @param size estimated size of the resource in bytes
+     */
+    public synchronized void put(String key, Resource resource, String eTag, long size) {
+        remove(key);
+        if (size > maxBytes) {
+            return;
+        }
+        resources.put(key, new CachedResource(resource, eTag, size));
+        bytes += size;
+        Iterator<CachedResource> iterator = resources.values().iterator();
+        while ((resources.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            bytes -= iterator.next().size;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @param key key of a resource
+     */
+    public synchronized void remove(String key) {
+        CachedResource removed = resources.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    public synchronized void clear() {
+        resources.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Counts a resource returned from the cache since it did not change.
+     */
+    public synchronized void recordHit() {
+        hits++;
+        logStatistics();
+    }
+
+    /**
+     * Counts a resource fetched from the registry since it was not cached or changed.
+     */
+    public synchronized void recordMiss() {
+        misses++;
+        logStatistics();
+    }
+
+    public synchronized int getSize() {
+        return resources.size();
+    }
+
+    /**
+     * @return estimated size of the cached resources in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long requests = hits + misses;
+        return "Remote resource cache: " + resources.size() + " resources, " + bytes + " bytes, " + hits + " hits, "
+                + misses + " misses" + (requests == 0 ? "" : " (" + (hits * 100 / requests) + "% hits)") + ", "
+                + evictions + " evictions";
+    }
+
+    private void logStatistics() {
+        if (log.isDebugEnabled()) {
+            log.debug(toString());
+        }
+    }
+
+    /**
+     * Resource of the cache along with its ETag.
+     */
+    public static class CachedResource {
+
+        private final Resource resource;
+        private final String eTag;
+        private final long size;
+
+        CachedResource(Resource resource, String eTag, long size) {
+            this.resource = resource;
+            this.eTag = eTag;
+            this.size = size;
+        }
+
+        public Resource getResource() {
+            return resource;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -44,12 +44,9 @@ import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -542,49 +539,11 @@ public class FileUtils{
 		return false;
 	}
 	
+	/**
+	 * Lists the packages of each of the given jars, see {@link JarPackageIndex}.
+	 */
 	public static Map<File, ArrayList<String>> processJarList(File[] jarsList){
-		Map<File, ArrayList<String>> jarInfoMap = new HashMap<File, ArrayList<String>>();
-		for (File jarFile : jarsList) {
-			ArrayList<String> packages = getPackages(jarFile);
-			if(!jarInfoMap.containsKey(jarFile)){
-				jarInfoMap.put(jarFile, packages);
-			}
-		}
-		return jarInfoMap;
-	}
-	
-
-	@SuppressWarnings("resource")
-	private static ArrayList<String> getPackages(File jarFile) {
-
-		ArrayList<String> packages = new ArrayList<String>();
-
-		JarFile jar = null;
-		try {
-			jar = new JarFile(jarFile);
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-		if (jar != null) {
-		    Enumeration<? extends JarEntry> enumeration = jar.entries();
-		    // Iterates into the files in the jar file
-		    while (enumeration.hasMoreElements()) {
-		    	
-		        ZipEntry zipEntry = enumeration.nextElement();
-		        if (zipEntry.getName().endsWith(".class")) {
-		            // Relative path of file into the jar.
-		            String className = zipEntry.getName();
-		            String packageName = new File(className).getParent();
-		            packageName = packageName.replace(File.separatorChar, '.');
-		            if (!packages.contains(packageName)){
-		            	packages.add(packageName);
-		            }
-		        }
-		    }
-		}
-	    return packages;
+		return JarPackageIndex.getInstance().getPackages(jarsList);
 	}
 
 	public static String getContentAsString(URL url) throws IOException {
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.integrationstudio.utils.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.wso2.integrationstudio.logging.core.IIntegrationStudioLog;
+import org.wso2.integrationstudio.logging.core.Logger;
+
+/**
+ * Lists the packages of the classes of jar files.
+ *
+ * Only the central directory of a jar is read, nothing is decompressed, and the jars of a list are read in parallel.
+ * The packages of a jar are kept as long as the modification time and the size of the jar do not change, so a jar
+ * is read once however many times it is imported.
+ */
+public class JarPackageIndex {
+
+	private static IIntegrationStudioLog log = Logger.getLog(org.wso2.integrationstudio.utils.Activator.PLUGIN_ID);
+
+	private static final String CLASS_EXTENSION = ".class";
+	private static final int MAX_ENTRIES = 512;
+
+	private static final JarPackageIndex instance = new JarPackageIndex();
+
+	private final Map<String, IndexedJar> jars = new LinkedHashMap<String, IndexedJar>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IndexedJar> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private JarPackageIndex() {
+	}
+
+	public static JarPackageIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Lists the packages of each of the given jars.
+	 *
+	 * @param jarFiles jar files
+	 * @return packages of each jar, in the order they are first met in the jar
+	 */
+	public Map<File, ArrayList<String>> getPackages(File[] jarFiles) {
+		Map<File, ArrayList<String>> jarInfoMap = new HashMap<File, ArrayList<String>>();
+		if (jarFiles.length == 1) {
+			jarInfoMap.put(jarFiles[0], getPackages(jarFiles[0]));
+			return jarInfoMap;
+		}
+		int threads = Math.max(1, Math.min(jarFiles.length, Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			Map<File, Future<ArrayList<String>>> futures = new LinkedHashMap<File, Future<ArrayList<String>>>();
+			for (final File jarFile : jarFiles) {
+				if (!futures.containsKey(jarFile)) {
+					futures.put(jarFile, executor.submit(new Callable<ArrayList<String>>() {
+						@Override
+						public ArrayList<String> call() {
+							return getPackages(jarFile);
+						}
+					}));
+				}
+			}
+			for (Map.Entry<File, Future<ArrayList<String>>> future : futures.entrySet()) {
+				try {
+					jarInfoMap.put(future.getKey(), future.getValue().get());
+				} catch (ExecutionException e) {
+					log.error("Error while listing the packages of " + future.getKey(), e.getCause());
+					jarInfoMap.put(future.getKey(), new ArrayList<String>());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return jarInfoMap;
+	}
+
+	/**
+	 * Lists the packages of a jar. Classes of the default package are ignored.
+	 *
+	 * @param jarFile jar file
+	 * @return packages of the jar, in the order they are first met in the jar, empty if it cannot be read
+	 */
+	public ArrayList<String> getPackages(File jarFile) {
+		String key = jarFile.getAbsolutePath();
+		long lastModified = jarFile.lastModified();
+		long size = jarFile.length();
+		synchronized (jars) {
+			IndexedJar indexedJar = jars.get(key);
+			if (indexedJar != null && indexedJar.lastModified == lastModified && indexedJar.size == size) {
+				return new ArrayList<String>(indexedJar.packages);
+			}
+		}
+		Set<String> packages = new LinkedHashSet<String>();
+		try (ZipFile zipFile = new ZipFile(jarFile)) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				String name = entries.nextElement().getName();
+				int index = name.lastIndexOf('/');
+				if (index > 0 && name.endsWith(CLASS_EXTENSION)) {
+					packages.add(name.substring(0, index).replace('/', '.'));
+				}
+			}
+		} catch (IOException e) {
+			log.error("Error while reading " + jarFile, e);
+			return new ArrayList<String>();
+		}
+		List<String> packageList = Collections.unmodifiableList(new ArrayList<String>(packages));
+		synchronized (jars) {
+			jars.put(key, new IndexedJar(lastModified, size, packageList));
+		}
+		return new ArrayList<String>(packageList);
+	}
+
+	private static class IndexedJar {
+
+		private final long lastModified;
+		private final long size;
+		private final List<String> packages;
+
+		IndexedJar(long lastModified, long size, List<String> packages) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.packages = packages;
+		}
+	}
+}